@@ -0,0 +1,157 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.collection.ByteBitSet;
+import com.github.fmjsjx.libcommons.util.collection.ByteHashSet;
+
+import it.unimi.dsi.fastutil.bytes.ByteOpenHashSet;
+
+/**
+ * Compares {@code ByteHashSet} and {@code ByteBitSet} with fastutil and
+ * {@code HashSet<Byte>} as an opcode filter: a set of {@code size} opcodes
+ * probed with uniformly random bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ByteSetBenchmark {
+
+    private static final int PROBES = 1 << 12;
+
+    @Param({ "libcommons-hash", "libcommons-bitset", "fastutil", "jdk" })
+    private String impl;
+
+    @Param({ "8", "64", "256" })
+    private int size;
+
+    private byte[] probes;
+    private Filter filter;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        byte[] opcodes = new byte[size];
+        ByteBitSet distinct = new ByteBitSet();
+        for (int i = 0; i < size;) {
+            byte v = (byte) random.nextInt();
+            if (distinct.add(v)) {
+                opcodes[i++] = v;
+            }
+        }
+        probes = new byte[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = (byte) random.nextInt();
+        }
+        switch (impl) {
+        case "libcommons-hash":
+            filter = new HashFilter(new ByteHashSet(opcodes));
+            break;
+        case "libcommons-bitset":
+            filter = new BitSetFilter(new ByteBitSet(opcodes));
+            break;
+        case "fastutil":
+            filter = new FastutilFilter(new ByteOpenHashSet(opcodes));
+            break;
+        case "jdk":
+            HashSet<Byte> set = new HashSet<>();
+            for (byte v : opcodes) {
+                set.add(v);
+            }
+            filter = new JdkFilter(set);
+            break;
+        default:
+            throw new IllegalArgumentException("unknown implementation: " + impl);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return filter.contains(probes[cursor++ & (PROBES - 1)]);
+    }
+
+    private abstract static class Filter {
+
+        abstract boolean contains(byte v);
+
+    }
+
+    private static final class HashFilter extends Filter {
+
+        private final ByteHashSet set;
+
+        private HashFilter(ByteHashSet set) {
+            this.set = set;
+        }
+
+        @Override
+        boolean contains(byte v) {
+            return set.contains(v);
+        }
+
+    }
+
+    private static final class BitSetFilter extends Filter {
+
+        private final ByteBitSet set;
+
+        private BitSetFilter(ByteBitSet set) {
+            this.set = set;
+        }
+
+        @Override
+        boolean contains(byte v) {
+            return set.contains(v);
+        }
+
+    }
+
+    private static final class FastutilFilter extends Filter {
+
+        private final ByteOpenHashSet set;
+
+        private FastutilFilter(ByteOpenHashSet set) {
+            this.set = set;
+        }
+
+        @Override
+        boolean contains(byte v) {
+            return set.contains(v);
+        }
+
+    }
+
+    private static final class JdkFilter extends Filter {
+
+        private final HashSet<Byte> set;
+
+        private JdkFilter(HashSet<Byte> set) {
+            this.set = set;
+        }
+
+        @Override
+        boolean contains(byte v) {
+            return set.contains(v);
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.fmjsjx.libcommons.util.collection.ConcurrentIntHashSet;
+
+/**
+ * Compares {@code ConcurrentIntHashSet} with
+ * {@code ConcurrentHashMap.newKeySet()} under a mixed read/write load, such as
+ * an online-user set shared by event-loop threads.
+ * <p>
+ * Runs with 8 threads by default, use {@code -t} to pick another thread
+ * count. The full comparison from 1 to 64 threads, see {@link #THREADS}, is
+ * run by
+ * {@code java -cp benchmarks.jar com.github.fmjsjx.libcommons.benchmarks.collection.ConcurrentIntSetBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentIntSetBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    /**
+     * The thread counts of the sweep run by {@link #main(String[])}.
+     */
+    static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder().include(ConcurrentIntSetBenchmark.class.getName())
+                    .threads(threads).build();
+            new Runner(options).run();
+        }
+    }
+
+    @Param({ "libcommons", "jdk" })
+    private String impl;
+
+    @Param({ "90", "99" })
+    private int readPercent;
+
+    private ConcurrentIntHashSet libcommonsSet;
+    private Set<Integer> jdkSet;
+
+    @Setup
+    public void setup() {
+        if ("libcommons".equals(impl)) {
+            libcommonsSet = new ConcurrentIntHashSet(SIZE * 2);
+        } else {
+            jdkSet = ConcurrentHashMap.newKeySet(SIZE * 2);
+        }
+        for (int i = 0; i < SIZE * 2; i += 2) {
+            add(i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private long seed = System.nanoTime();
+
+        int next() {
+            // xorshift64*, cheap enough not to dominate the measured operation
+            long x = seed;
+            x ^= x >>> 12;
+            x ^= x << 25;
+            x ^= x >>> 27;
+            seed = x;
+            return (int) ((x * 0x2545F4914F6CDD1DL) >>> 32) & Integer.MAX_VALUE;
+        }
+
+    }
+
+    private boolean contains(int v) {
+        return libcommonsSet != null ? libcommonsSet.contains(v) : jdkSet.contains(v);
+    }
+
+    private boolean add(int v) {
+        return libcommonsSet != null ? libcommonsSet.add(v) : jdkSet.add(v);
+    }
+
+    private boolean remove(int v) {
+        return libcommonsSet != null ? libcommonsSet.remove(v) : jdkSet.remove(v);
+    }
+
+    @Benchmark
+    public boolean mixed(ThreadState state) {
+        int r = state.next();
+        int key = r % (SIZE * 2);
+        if ((r >>> 8) % 100 < readPercent) {
+            return contains(key);
+        }
+        return (r & 1) == 0 ? add(key) : remove(key);
+    }
+
+}
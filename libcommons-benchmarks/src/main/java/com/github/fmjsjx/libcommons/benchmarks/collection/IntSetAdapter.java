@@ -0,0 +1,222 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.HashSet;
+
+import com.carrotsearch.hppc.cursors.IntCursor;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+/**
+ * A thin uniform view over the {@code int} set implementations under test.
+ * <p>
+ * Every JMH fork only ever loads one implementation, so the virtual calls on
+ * this class stay monomorphic and are inlined.
+ */
+abstract class IntSetAdapter {
+
+    static final String[] IMPLS = { "libcommons", "fastutil", "eclipse", "hppc", "jdk" };
+
+    static IntSetAdapter create(String impl) {
+        switch (impl) {
+        case "libcommons":
+            return new Libcommons();
+        case "fastutil":
+            return new Fastutil();
+        case "eclipse":
+            return new Eclipse();
+        case "hppc":
+            return new Hppc();
+        case "jdk":
+            return new Jdk();
+        default:
+            throw new IllegalArgumentException("unknown implementation: " + impl);
+        }
+    }
+
+    abstract boolean add(int v);
+
+    abstract boolean contains(int v);
+
+    abstract boolean remove(int v);
+
+    abstract long sum();
+
+    abstract Object unwrap();
+
+    private static final class Libcommons extends IntSetAdapter {
+
+        private final com.github.fmjsjx.libcommons.util.collection.IntHashSet set = new com.github.fmjsjx.libcommons.util.collection.IntHashSet();
+
+        @Override
+        boolean add(int v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(int v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(int v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (var it = set.iterator(); it.hasNext();) {
+                sum += it.nextInt();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Fastutil extends IntSetAdapter {
+
+        private final IntOpenHashSet set = new IntOpenHashSet();
+
+        @Override
+        boolean add(int v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(int v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(int v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (IntIterator it = set.iterator(); it.hasNext();) {
+                sum += it.nextInt();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Eclipse extends IntSetAdapter {
+
+        private final org.eclipse.collections.impl.set.mutable.primitive.IntHashSet set = new org.eclipse.collections.impl.set.mutable.primitive.IntHashSet();
+
+        @Override
+        boolean add(int v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(int v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(int v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (var it = set.intIterator(); it.hasNext();) {
+                sum += it.next();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Hppc extends IntSetAdapter {
+
+        private final com.carrotsearch.hppc.IntHashSet set = new com.carrotsearch.hppc.IntHashSet();
+
+        @Override
+        boolean add(int v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(int v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(int v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (IntCursor c : set) {
+                sum += c.value;
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Jdk extends IntSetAdapter {
+
+        private final HashSet<Integer> set = new HashSet<>();
+
+        @Override
+        boolean add(int v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(int v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(int v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (Integer v : set) {
+                sum += v;
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+}
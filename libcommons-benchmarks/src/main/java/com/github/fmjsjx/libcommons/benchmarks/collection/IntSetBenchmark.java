@@ -0,0 +1,111 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.collection.IntHashSet;
+
+/**
+ * Compares {@code IntHashSet} with the primitive sets of fastutil, Eclipse
+ * Collections and HPPC and with {@code HashSet<Integer>}.
+ * <p>
+ * {@code contains} probes a mix of present and absent keys given by
+ * {@code hitPercent}; {@code fill} and {@code iterate} report the time for the
+ * whole set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntSetBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({ "libcommons", "fastutil", "eclipse", "hppc", "jdk" })
+    private String impl;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "0", "50", "100" })
+    private int hitPercent;
+
+    private int[] keys;
+    private int[] probes;
+    private IntSetAdapter set;
+    private int cursor;
+    private int removeCursor;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntHashSet distinct = new IntHashSet(size);
+        keys = new int[size];
+        for (int i = 0; i < size;) {
+            int v = random.nextInt();
+            if (distinct.add(v)) {
+                keys[i++] = v;
+            }
+        }
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            if (random.nextInt(100) < hitPercent) {
+                probes[i] = keys[random.nextInt(size)];
+            } else {
+                int v;
+                do {
+                    v = random.nextInt();
+                } while (distinct.contains(v));
+                probes[i] = v;
+            }
+        }
+        set = IntSetAdapter.create(impl);
+        for (int v : keys) {
+            set.add(v);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(probes[cursor++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean removeAndAdd() {
+        int i = removeCursor;
+        removeCursor = i + 1 == size ? 0 : i + 1;
+        int v = keys[i];
+        return set.remove(v) & set.add(v);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object fill() {
+        IntSetAdapter s = IntSetAdapter.create(impl);
+        for (int v : keys) {
+            s.add(v);
+        }
+        return s;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long iterate() {
+        return set.sum();
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.HashSet;
+
+import com.carrotsearch.hppc.cursors.LongCursor;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * A thin uniform view over the {@code long} set implementations under test.
+ * <p>
+ * Every JMH fork only ever loads one implementation, so the virtual calls on
+ * this class stay monomorphic and are inlined.
+ */
+abstract class LongSetAdapter {
+
+    static final String[] IMPLS = { "libcommons", "fastutil", "eclipse", "hppc", "jdk" };
+
+    static LongSetAdapter create(String impl) {
+        switch (impl) {
+        case "libcommons":
+            return new Libcommons();
+        case "fastutil":
+            return new Fastutil();
+        case "eclipse":
+            return new Eclipse();
+        case "hppc":
+            return new Hppc();
+        case "jdk":
+            return new Jdk();
+        default:
+            throw new IllegalArgumentException("unknown implementation: " + impl);
+        }
+    }
+
+    abstract boolean add(long v);
+
+    abstract boolean contains(long v);
+
+    abstract boolean remove(long v);
+
+    abstract long sum();
+
+    abstract Object unwrap();
+
+    private static final class Libcommons extends LongSetAdapter {
+
+        private final com.github.fmjsjx.libcommons.util.collection.LongHashSet set = new com.github.fmjsjx.libcommons.util.collection.LongHashSet();
+
+        @Override
+        boolean add(long v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(long v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(long v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (var it = set.iterator(); it.hasNext();) {
+                sum += it.nextLong();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Fastutil extends LongSetAdapter {
+
+        private final LongOpenHashSet set = new LongOpenHashSet();
+
+        @Override
+        boolean add(long v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(long v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(long v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (LongIterator it = set.iterator(); it.hasNext();) {
+                sum += it.nextLong();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Eclipse extends LongSetAdapter {
+
+        private final org.eclipse.collections.impl.set.mutable.primitive.LongHashSet set = new org.eclipse.collections.impl.set.mutable.primitive.LongHashSet();
+
+        @Override
+        boolean add(long v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(long v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(long v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (var it = set.longIterator(); it.hasNext();) {
+                sum += it.next();
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Hppc extends LongSetAdapter {
+
+        private final com.carrotsearch.hppc.LongHashSet set = new com.carrotsearch.hppc.LongHashSet();
+
+        @Override
+        boolean add(long v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(long v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(long v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (LongCursor c : set) {
+                sum += c.value;
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+    private static final class Jdk extends LongSetAdapter {
+
+        private final HashSet<Long> set = new HashSet<>();
+
+        @Override
+        boolean add(long v) {
+            return set.add(v);
+        }
+
+        @Override
+        boolean contains(long v) {
+            return set.contains(v);
+        }
+
+        @Override
+        boolean remove(long v) {
+            return set.remove(v);
+        }
+
+        @Override
+        long sum() {
+            long sum = 0;
+            for (Long v : set) {
+                sum += v;
+            }
+            return sum;
+        }
+
+        @Override
+        Object unwrap() {
+            return set;
+        }
+
+    }
+
+}
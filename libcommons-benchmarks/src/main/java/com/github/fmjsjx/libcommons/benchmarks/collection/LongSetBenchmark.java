@@ -0,0 +1,111 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.collection.LongHashSet;
+
+/**
+ * Compares {@code LongHashSet} with the primitive sets of fastutil, Eclipse
+ * Collections and HPPC and with {@code HashSet<Long>}.
+ * <p>
+ * {@code contains} probes a mix of present and absent keys given by
+ * {@code hitPercent}; {@code fill} and {@code iterate} report the time for the
+ * whole set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LongSetBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({ "libcommons", "fastutil", "eclipse", "hppc", "jdk" })
+    private String impl;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "0", "50", "100" })
+    private int hitPercent;
+
+    private long[] keys;
+    private long[] probes;
+    private LongSetAdapter set;
+    private int cursor;
+    private int removeCursor;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        LongHashSet distinct = new LongHashSet(size);
+        keys = new long[size];
+        for (int i = 0; i < size;) {
+            long v = random.nextLong();
+            if (distinct.add(v)) {
+                keys[i++] = v;
+            }
+        }
+        probes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            if (random.nextInt(100) < hitPercent) {
+                probes[i] = keys[random.nextInt(size)];
+            } else {
+                long v;
+                do {
+                    v = random.nextLong();
+                } while (distinct.contains(v));
+                probes[i] = v;
+            }
+        }
+        set = LongSetAdapter.create(impl);
+        for (long v : keys) {
+            set.add(v);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(probes[cursor++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean removeAndAdd() {
+        int i = removeCursor;
+        removeCursor = i + 1 == size ? 0 : i + 1;
+        long v = keys[i];
+        return set.remove(v) & set.add(v);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object fill() {
+        LongSetAdapter s = LongSetAdapter.create(impl);
+        for (long v : keys) {
+            s.add(v);
+        }
+        return s;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long iterate() {
+        return set.sum();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.fmjsjx.libcommons.benchmarks.collection;
+
+import java.util.SplittableRandom;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.github.fmjsjx.libcommons.util.collection.ImmutableIntSet;
+import com.github.fmjsjx.libcommons.util.collection.IntHashSet;
+import com.github.fmjsjx.libcommons.util.collection.RoaringIntSet;
+
+/**
+ * Prints the retained heap size per element of the {@code int} and
+ * {@code long} sets under test, measured with JOL.
+ * <p>
+ * Run with
+ * {@code java -cp benchmarks.jar com.github.fmjsjx.libcommons.benchmarks.collection.SetFootprint}.
+ */
+public class SetFootprint {
+
+    private static final int[] SIZES = { 1_000, 100_000, 1_000_000 };
+
+    public static void main(String[] args) {
+        System.out.printf("%-24s %10s %16s %12s%n", "set", "size", "total bytes", "bytes/elem");
+        for (int size : SIZES) {
+            SplittableRandom random = new SplittableRandom(42);
+            IntHashSet distinct = new IntHashSet(size);
+            while (distinct.size() < size) {
+                distinct.add(random.nextInt());
+            }
+            int[] keys = distinct.toIntArray();
+            for (String impl : IntSetAdapter.IMPLS) {
+                IntSetAdapter set = IntSetAdapter.create(impl);
+                LongSetAdapter longSet = LongSetAdapter.create(impl);
+                for (int v : keys) {
+                    set.add(v);
+                    longSet.add((long) v << 16);
+                }
+                print("int/" + impl, size, set.unwrap());
+                print("long/" + impl, size, longSet.unwrap());
+            }
+            print("int/libcommons-immutable", size, ImmutableIntSet.of(keys));
+            print("int/libcommons-roaring", size, new RoaringIntSet(keys));
+        }
+    }
+
+    private static void print(String name, int size, Object set) {
+        long total = GraphLayout.parseInstance(set).totalSize();
+        System.out.printf("%-24s %10d %16d %12.2f%n", name, size, total, (double) total / size);
+    }
+
+}
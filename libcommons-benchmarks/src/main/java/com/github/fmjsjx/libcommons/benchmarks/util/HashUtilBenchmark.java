@@ -0,0 +1,100 @@
+package com.github.fmjsjx.libcommons.benchmarks.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.CrcUtil;
+import com.github.fmjsjx.libcommons.util.DigestUtil;
+import com.github.fmjsjx.libcommons.util.HashUtil;
+
+/**
+ * Compares the hash functions of {@code HashUtil} with {@code DigestUtil.md5}
+ * and {@code CrcUtil.crc32c} over keys of {@code size} bytes, and over
+ * {@code String} keys of {@code size / 2} chars.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashUtilBenchmark {
+
+    @Param({ "16", "64", "1024" })
+    private int size;
+
+    private byte[] bytes;
+    private String string;
+    private final long[] out = new long[2];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        bytes = new byte[size];
+        random.nextBytes(bytes);
+        char[] chars = new char[size / 2];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('0' + random.nextInt(75));
+        }
+        string = new String(chars);
+    }
+
+    @Benchmark
+    public byte[] md5() {
+        return DigestUtil.md5(bytes);
+    }
+
+    @Benchmark
+    public byte[] md5String() {
+        return DigestUtil.md5(string);
+    }
+
+    @Benchmark
+    public long crc32c() {
+        return CrcUtil.crc32c(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    public long xxHash64() {
+        return HashUtil.xxHash64(bytes);
+    }
+
+    @Benchmark
+    public long xxHash64String() {
+        return HashUtil.xxHash64(string);
+    }
+
+    @Benchmark
+    public int murmur3_32() {
+        return HashUtil.murmur3_32(bytes);
+    }
+
+    @Benchmark
+    public long[] murmur3_128() {
+        HashUtil.murmur3_128(bytes, out);
+        return out;
+    }
+
+    @Benchmark
+    public long wyhash() {
+        return HashUtil.wyhash(bytes);
+    }
+
+    @Benchmark
+    public long wyhashString() {
+        return HashUtil.wyhash(string);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.fmjsjx.libcommons.benchmarks.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.RandomUtil;
+import com.github.fmjsjx.libcommons.util.XoshiroRandom;
+
+/**
+ * Compares the default source of {@code RandomUtil} with a single shared
+ * {@code java.util.Random} when many threads roll at once, and the seeded
+ * per-thread engines used for reproducible rolls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RandomUtilBenchmark {
+
+    private final Random shared = new Random();
+
+    @Benchmark
+    public int sharedRandom() {
+        return RandomUtil.randomInRange(shared, 1, 100);
+    }
+
+    @Benchmark
+    public int defaultSource() {
+        return RandomUtil.randomInRange(1, 100);
+    }
+
+    @State(Scope.Thread)
+    public static class Seeded {
+
+        final Random random = new Random(2020);
+
+        final XoshiroRandom xoshiro = new XoshiroRandom(2020);
+
+    }
+
+    @Benchmark
+    public int seededRandom(Seeded seeded) {
+        return RandomUtil.randomInRange(seeded.random, 1, 100);
+    }
+
+    @Benchmark
+    public int seededXoshiro(Seeded seeded) {
+        return RandomUtil.randomInRange(seeded.xoshiro, 1, 100);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.github.fmjsjx.libcommons.benchmarks.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fmjsjx.libcommons.util.RandomUtil;
+import com.github.fmjsjx.libcommons.util.WeightedSampler;
+
+/**
+ * Compares a precomputed {@code WeightedSampler} with the linear scans of
+ * {@code RandomUtil.randomIndex} and {@code RandomUtil.randomOneWeighted}
+ * over a loot table of {@code size} entries with random weights.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightedSamplerBenchmark {
+
+    static final class Loot implements RandomUtil.Weighted {
+
+        private final int id;
+        private final int weight;
+
+        Loot(int id, int weight) {
+            this.id = id;
+            this.weight = weight;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+    }
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int size;
+
+    private int[] weights;
+    private List<Loot> loots;
+    private WeightedSampler<Loot> sampler;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        Random seed = new Random(42);
+        weights = new int[size];
+        loots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1 + seed.nextInt(1000);
+            loots.add(new Loot(i, weights[i]));
+        }
+        sampler = WeightedSampler.of(loots);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public int randomIndex() {
+        return RandomUtil.randomIndex(random, weights);
+    }
+
+    @Benchmark
+    public int randomOneWeighted() {
+        return RandomUtil.randomOneWeighted(random, loots).id;
+    }
+
+    @Benchmark
+    public int samplerIndex() {
+        return sampler.sampleIndex(random);
+    }
+
+    @Benchmark
+    public int sampler() {
+        return sampler.sample(random).id;
+    }
+
+    /**
+     * Builds the alias table, to tell after how many draws it pays off.
+     */
+    @Benchmark
+    public WeightedSampler<Loot> build() {
+        return WeightedSampler.of(loots);
+    }
+
+}
@@ -0,0 +1,375 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A Bloom filter over {@code int}, {@code long}, {@code byte[]} and
+ * {@code String} keys: a compact probabilistic set answering "definitely
+ * not present" or "possibly present".
+ * <p>
+ * Each key sets {@code k} bits chosen by double hashing of a single 64-bit
+ * hash, see {@link SketchHashing}. Since the hashes do not depend on the JVM,
+ * a filter can be built offline, serialized by {@link #writeTo(OutputStream)}
+ * and shipped to other nodes, and filters with the same bit size and number
+ * of hash functions can be merged by {@link #merge(BloomFilter)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see CountingBloomFilter
+ */
+public class BloomFilter {
+
+    static final int MAGIC = 'L' | 'C' << 8 | 'B' << 16 | 'F' << 24;
+
+    static final byte VERSION = 1;
+
+    /**
+     * The maximum number of hash functions.
+     */
+    static final int MAX_HASHES = 255;
+
+    private static final double LN2 = Math.log(2);
+
+    /**
+     * Returns the number of bits needed to hold the given number of keys with
+     * the given false positive probability.
+     */
+    static final long optimalNumBits(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be > 0: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be > 0 and < 1: " + fpp);
+        }
+        return Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2)));
+    }
+
+    /**
+     * Returns the number of hash functions minimizing the false positive
+     * probability.
+     */
+    static final int optimalNumHashes(long expectedInsertions, long numBits) {
+        long k = Math.round((double) numBits / expectedInsertions * LN2);
+        return (int) Math.max(1, Math.min(MAX_HASHES, k));
+    }
+
+    static final int checkNumHashes(int numHashes) {
+        if (numHashes <= 0 || numHashes > MAX_HASHES) {
+            throw new IllegalArgumentException("numHashes must be > 0 and <= " + MAX_HASHES + ": " + numHashes);
+        }
+        return numHashes;
+    }
+
+    /**
+     * Returns the {@code i}-th position of the given hash, in
+     * {@code [0, size)}.
+     */
+    static final long index(long hash, int i, long size) {
+        // Kirsch-Mitzenmacher double hashing, the second hash is the rotated first
+        // one made odd, so that the positions never all collapse onto one
+        long combined = hash + i * (Long.rotateLeft(hash, 32) | 1);
+        return (combined & Long.MAX_VALUE) % size;
+    }
+
+    /**
+     * Creates a new filter sized for the given number of keys and false
+     * positive probability.
+     *
+     * @param expectedInsertions the expected number of keys
+     * @param fpp                the desired false positive probability, such
+     *                           as {@code 0.01}
+     * @return a new {@code BloomFilter}
+     */
+    public static final BloomFilter create(long expectedInsertions, double fpp) {
+        long numBits = optimalNumBits(expectedInsertions, fpp);
+        return new BloomFilter(numBits, optimalNumHashes(expectedInsertions, numBits));
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in the input stream
+     * @return the filter
+     * @throws IOException if an I/O error occurs or the data is not a filter
+     */
+    public static final BloomFilter readFrom(InputStream in) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        if (Integer.reverseBytes(input.readInt()) != MAGIC) {
+            throw new IOException("not a bloom filter (bad magic)");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported bloom filter version " + version);
+        }
+        int numHashes = input.readUnsignedByte();
+        int words = input.readInt();
+        if (numHashes == 0 || words <= 0) {
+            throw new IOException("corrupted bloom filter (hashes " + numHashes + ", words " + words + ")");
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = input.readLong();
+        }
+        return new BloomFilter(bits, numHashes);
+    }
+
+    /**
+     * Reads a filter from the result of {@link #toByteArray()}.
+     *
+     * @param bytes the serialized filter
+     * @return the filter
+     * @throws IllegalArgumentException if the data is not a filter
+     */
+    public static final BloomFilter fromByteArray(byte[] bytes) {
+        try {
+            return readFrom(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param numBits   the number of bits, rounded up to a multiple of 64
+     * @param numHashes the number of hash functions
+     */
+    public BloomFilter(long numBits, int numHashes) {
+        this(new long[checkWords(numBits)], checkNumHashes(numHashes));
+    }
+
+    private BloomFilter(long[] bits, int numHashes) {
+        this.bits = bits;
+        this.numBits = (long) bits.length << 6;
+        this.numHashes = numHashes;
+    }
+
+    static final int checkWords(long numBits) {
+        if (numBits <= 0) {
+            throw new IllegalArgumentException("numBits must be > 0: " + numBits);
+        }
+        long words = (numBits + 63) >>> 6;
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("numBits too large: " + numBits);
+        }
+        return (int) words;
+    }
+
+    public long bitSize() {
+        return numBits;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    private boolean putHash(long hash) {
+        final long[] bits = this.bits;
+        boolean changed = false;
+        for (int i = 0; i < numHashes; i++) {
+            long index = index(hash, i, numBits);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean mightContainHash(long hash) {
+        final long[] bits = this.bits;
+        for (int i = 0; i < numHashes; i++) {
+            long index = index(hash, i, numBits);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the given key.
+     *
+     * @param key the key
+     * @return {@code true} if any bit changed, which means the key was
+     *         definitely not present before
+     */
+    public boolean put(int key) {
+        return putHash(SketchHashing.hash64(key));
+    }
+
+    public boolean put(long key) {
+        return putHash(SketchHashing.hash64(key));
+    }
+
+    public boolean put(byte[] key) {
+        return putHash(SketchHashing.hash64(key));
+    }
+
+    public boolean put(String key) {
+        return putHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Returns {@code false} if the given key is definitely not present, or
+     * {@code true} if it might be present.
+     *
+     * @param key the key
+     * @return {@code false} if the key is definitely not present
+     */
+    public boolean mightContain(int key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(long key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(byte[] key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(String key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Returns the number of bits set.
+     *
+     * @return the number of bits set
+     */
+    public long bitCount() {
+        long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns an estimate of the number of distinct keys added, derived from
+     * the number of bits set.
+     *
+     * @return the estimated number of keys
+     */
+    public long approximateElementCount() {
+        double fractionOfBitsSet = (double) bitCount() / numBits;
+        return Math.round(-Math.log1p(-fractionOfBitsSet) * numBits / numHashes);
+    }
+
+    /**
+     * Returns the probability that {@link #mightContain} returns {@code true}
+     * for a key never added, given the bits currently set.
+     *
+     * @return the expected false positive probability
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / numBits, numHashes);
+    }
+
+    /**
+     * Returns {@code true} if the given filter can be merged into this one.
+     *
+     * @param other the other filter
+     * @return {@code true} if both filters have the same bit size and number
+     *         of hash functions
+     */
+    public boolean isCompatible(BloomFilter other) {
+        return other.numBits == numBits && other.numHashes == numHashes;
+    }
+
+    /**
+     * Adds all keys of the given filter to this one.
+     *
+     * @param other the other filter
+     * @throws IllegalArgumentException if the filters are not compatible
+     */
+    public void merge(BloomFilter other) {
+        if (!isCompatible(other)) {
+            throw new IllegalArgumentException("incompatible bloom filters: " + this + ", " + other);
+        }
+        or(other.bits);
+    }
+
+    void or(long[] otherBits) {
+        final long[] bits = this.bits;
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= otherBits[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(bits, 0);
+    }
+
+    /**
+     * Writes this filter to the given output stream.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(Integer.reverseBytes(MAGIC));
+        output.writeByte(VERSION);
+        output.writeByte(numHashes);
+        output.writeInt(bits.length);
+        for (long word : bits) {
+            output.writeLong(word);
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the serialized form of this filter, as written by
+     * {@link #writeTo(OutputStream)}.
+     *
+     * @return the serialized filter
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(10 + (bits.length << 3));
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof BloomFilter)) {
+            return false;
+        }
+        BloomFilter other = (BloomFilter) o;
+        return other.numHashes == numHashes && Arrays.equals(other.bits, bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numHashes + Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter(bitSize=" + numBits + ", numHashes=" + numHashes + ")";
+    }
+
+}
@@ -0,0 +1,377 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.github.fmjsjx.libcommons.util.function.ByteConsumer;
+
+/**
+ * A {@link ByteSet} implementation backed by a fixed 256-bit mask, one bit for
+ * every {@code byte} value.
+ * <p>
+ * All single value operations are O(1), {@link #size()} is a popcount over
+ * four words, and the bulk operations against another {@code ByteBitSet} are
+ * word-wise. Iteration order is ascending.
+ */
+public class ByteBitSet implements ByteSet {
+
+    private static final int WORDS = 4;
+
+    /**
+     * Returns a new set containing the values of both sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the union
+     */
+    public static final ByteBitSet or(ByteBitSet a, ByteBitSet b) {
+        ByteBitSet r = new ByteBitSet();
+        for (int i = 0; i < WORDS; i++) {
+            r.words[i] = a.words[i] | b.words[i];
+        }
+        return r;
+    }
+
+    /**
+     * Returns a new set containing the values contained in both sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the intersection
+     */
+    public static final ByteBitSet and(ByteBitSet a, ByteBitSet b) {
+        ByteBitSet r = new ByteBitSet();
+        for (int i = 0; i < WORDS; i++) {
+            r.words[i] = a.words[i] & b.words[i];
+        }
+        return r;
+    }
+
+    /**
+     * Returns a new set containing the values of the first set that are not
+     * contained in the second set.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the difference
+     */
+    public static final ByteBitSet andNot(ByteBitSet a, ByteBitSet b) {
+        ByteBitSet r = new ByteBitSet();
+        for (int i = 0; i < WORDS; i++) {
+            r.words[i] = a.words[i] & ~b.words[i];
+        }
+        return r;
+    }
+
+    /**
+     * Returns a new set containing the values contained in exactly one of the
+     * two sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the symmetric difference
+     */
+    public static final ByteBitSet xor(ByteBitSet a, ByteBitSet b) {
+        ByteBitSet r = new ByteBitSet();
+        for (int i = 0; i < WORDS; i++) {
+            r.words[i] = a.words[i] ^ b.words[i];
+        }
+        return r;
+    }
+
+    /**
+     * Maps {@code -128..127} onto bit {@code 0..255}, so that ascending bit
+     * order is ascending value order.
+     */
+    private static final int bit(byte v) {
+        return v + 128;
+    }
+
+    private static final byte value(int bit) {
+        return (byte) (bit - 128);
+    }
+
+    private final long[] words = new long[WORDS];
+
+    public ByteBitSet() {
+    }
+
+    public ByteBitSet(Collection<? extends Byte> c) {
+        addAll(c);
+    }
+
+    public ByteBitSet(byte... array) {
+        for (byte v : array) {
+            add(v);
+        }
+    }
+
+    @Override
+    public boolean contains(byte v) {
+        int bit = bit(v);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    @Override
+    public boolean add(byte v) {
+        int bit = bit(v);
+        long w = words[bit >>> 6];
+        long m = 1L << bit;
+        words[bit >>> 6] = w | m;
+        return (w & m) == 0;
+    }
+
+    @Override
+    public boolean remove(byte v) {
+        int bit = bit(v);
+        long w = words[bit >>> 6];
+        long m = 1L << bit;
+        words[bit >>> 6] = w & ~m;
+        return (w & m) != 0;
+    }
+
+    @Override
+    public ByteIterator iterator() {
+        return new BitIterator();
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] a = new byte[size()];
+        int n = 0;
+        for (int i = 0; i < WORDS; i++) {
+            for (long w = words[i]; w != 0; w &= w - 1) {
+                a[n++] = value((i << 6) + Long.numberOfTrailingZeros(w));
+            }
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(ByteConsumer action) {
+        for (int i = 0; i < WORDS; i++) {
+            for (long w = words[i]; w != 0; w &= w - 1) {
+                action.accept(value((i << 6) + Long.numberOfTrailingZeros(w)));
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        final long[] words = this.words;
+        return Long.bitCount(words[0]) + Long.bitCount(words[1]) + Long.bitCount(words[2])
+                + Long.bitCount(words[3]);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final long[] words = this.words;
+        return (words[0] | words[1] | words[2] | words[3]) == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Byte && contains(((Byte) o).byteValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        byte[] values = toByteArray();
+        Object[] r = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            r[i] = values[i];
+        }
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        byte[] values = toByteArray();
+        int size = values.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Byte.valueOf(values[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Byte e) {
+        return add(e.byteValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Byte && remove(((Byte) o).byteValue());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof ByteBitSet) {
+            final long[] words = this.words;
+            final long[] other = ((ByteBitSet) c).words;
+            for (int i = 0; i < WORDS; i++) {
+                if ((other[i] & ~words[i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        if (c instanceof ByteBitSet) {
+            final long[] words = this.words;
+            final long[] other = ((ByteBitSet) c).words;
+            long changed = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long w = words[i];
+                changed |= other[i] & ~w;
+                words[i] = w | other[i];
+            }
+            return changed != 0;
+        }
+        return ByteSet.super.addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof ByteBitSet) {
+            final long[] words = this.words;
+            final long[] other = ((ByteBitSet) c).words;
+            long changed = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long w = words[i];
+                changed |= w & ~other[i];
+                words[i] = w & other[i];
+            }
+            return changed != 0;
+        }
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.next())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c instanceof ByteBitSet) {
+            final long[] words = this.words;
+            final long[] other = ((ByteBitSet) c).words;
+            long changed = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long w = words[i];
+                changed |= w & other[i];
+                words[i] = w & ~other[i];
+            }
+            return changed != 0;
+        }
+        return ByteSet.super.removeAll(c);
+    }
+
+    @Override
+    public void clear() {
+        final long[] words = this.words;
+        words[0] = words[1] = words[2] = words[3] = 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof ByteBitSet) {
+            final long[] words = this.words;
+            final long[] other = ((ByteBitSet) o).words;
+            return words[0] == other[0] && words[1] == other[1] && words[2] == other[2] && words[3] == other[3];
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size()) {
+            return false;
+        }
+        return containsAll(s);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < WORDS; i++) {
+            for (long w = words[i]; w != 0; w &= w - 1) {
+                h += value((i << 6) + Long.numberOfTrailingZeros(w));
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        forEach((byte v) -> b.append(v).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
+    }
+
+    private final class BitIterator implements ByteIterator {
+
+        private int word;
+        private long remaining = words[0];
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (remaining == 0) {
+                if (++word == WORDS) {
+                    word--;
+                    return false;
+                }
+                remaining = words[word];
+            }
+            return true;
+        }
+
+        @Override
+        public byte nextByte() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long w = remaining;
+            remaining = w & (w - 1);
+            last = (word << 6) + Long.numberOfTrailingZeros(w);
+            return value(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            words[last >>> 6] &= ~(1L << last);
+            last = -1;
+        }
+
+    }
+
+}
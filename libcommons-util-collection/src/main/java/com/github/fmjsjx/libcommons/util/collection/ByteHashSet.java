@@ -1,128 +1,419 @@
 package com.github.fmjsjx.libcommons.util.collection;
 
-import static com.github.fmjsjx.libcommons.util.collection.IntHashSet.PRESENT;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkLoadFactor;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import com.github.fmjsjx.libcommons.util.function.ByteConsumer;
 
-import io.netty.util.collection.ByteObjectHashMap;
-import io.netty.util.collection.ByteObjectMap.PrimitiveEntry;
-
+/**
+ * A {@link ByteSet} implementation backed by an open-addressing hash table of
+ * primitive {@code byte} keys.
+ */
 public class ByteHashSet implements ByteSet {
 
-    private final ByteObjectHashMap<Object> map;
+    private final float loadFactor;
+    private byte[] keys;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int size;
 
     public ByteHashSet() {
-        map = new ByteObjectHashMap<Object>();
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ByteHashSet(Collection<? extends Byte> c) {
+        this(arraySize(c.size(), DEFAULT_LOAD_FACTOR));
+        addAll(c);
+    }
+
+    public ByteHashSet(byte... array) {
+        this(arraySize(array.length, DEFAULT_LOAD_FACTOR));
+        for (byte v : array) {
+            add(v);
+        }
     }
 
     public ByteHashSet(int initialCapacity) {
-        map = new ByteObjectHashMap<>(initialCapacity);
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
     }
 
     public ByteHashSet(int initialCapacity, float loadFactor) {
-        map = new ByteObjectHashMap<>(initialCapacity, loadFactor);
+        this.loadFactor = checkLoadFactor(loadFactor);
+        int capacity = tableSizeFor(checkInitialCapacity(initialCapacity));
+        keys = new byte[capacity];
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, loadFactor);
     }
 
-    public ByteHashSet(byte... array) {
-        this(Math.max((int) (array.length / .75f) + 1, 16));
-        for (byte v : array) {
-            add(v);
+    @Override
+    public boolean contains(byte v) {
+        if (v == 0) {
+            return containsZero;
+        }
+        final byte[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (byte k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                return true;
+            }
         }
+        return false;
     }
 
-    public ByteHashSet(Collection<? extends Byte> c) {
-        this(Math.max((int) (c.size() / .75f) + 1, 16));
-        addAll(c);
+    @Override
+    public boolean add(byte v) {
+        if (v == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+        } else {
+            final byte[] keys = this.keys;
+            final int mask = this.mask;
+            int pos = mix(v) & mask;
+            for (byte k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+                if (k == v) {
+                    return false;
+                }
+            }
+            keys[pos] = v;
+        }
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(byte v) {
+        if (v == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        final byte[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (byte k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                shiftKeys(pos);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void shiftKeys(int pos) {
+        final byte[] keys = this.keys;
+        final int mask = this.mask;
+        int last, slot;
+        for (byte k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final byte[] keys = this.keys;
+        final int newMask = newCapacity - 1;
+        final byte[] newKeys = new byte[newCapacity];
+        for (int i = keys.length; i-- > 0;) {
+            byte k = keys[i];
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (newKeys[pos] != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+            }
+        }
+        this.keys = newKeys;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, loadFactor);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] a = new byte[size];
+        int i = 0;
+        if (containsZero) {
+            i++;
+        }
+        for (byte k : keys) {
+            if (k != 0) {
+                a[i++] = k;
+            }
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(ByteConsumer action) {
+        if (containsZero) {
+            action.accept((byte) 0);
+        }
+        for (byte k : keys) {
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
     }
 
     @Override
     public int size() {
-        return map.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return map.isEmpty();
+        return size == 0;
     }
 
     @Override
     public boolean contains(Object o) {
-        return map.containsKey(o);
+        return o instanceof Byte && contains(((Byte) o).byteValue());
     }
 
     @Override
-    public Iterator<Byte> iterator() {
-        return map.keySet().iterator();
+    public ByteIterator iterator() {
+        return new KeyIterator();
     }
 
     @Override
     public Object[] toArray() {
-        return map.keySet().toArray();
+        Object[] a = new Object[size];
+        int i = 0;
+        if (containsZero) {
+            a[i++] = (byte) 0;
+        }
+        for (byte k : keys) {
+            if (k != 0) {
+                a[i++] = k;
+            }
+        }
+        return a;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> T[] toArray(T[] a) {
-        return map.keySet().toArray(a);
+        int size = this.size;
+        T[] r = a.length >= size ? a
+                : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        int i = 0;
+        if (containsZero) {
+            r[i++] = (T) Byte.valueOf((byte) 0);
+        }
+        for (byte k : keys) {
+            if (k != 0) {
+                r[i++] = (T) Byte.valueOf(k);
+            }
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
     }
 
     @Override
     public boolean add(Byte e) {
-        return map.put(e, PRESENT) == null;
+        return add(e.byteValue());
     }
 
     @Override
     public boolean remove(Object o) {
-        return map.remove(o) == PRESENT;
+        return o instanceof Byte && remove(((Byte) o).byteValue());
     }
 
     @Override
     public boolean containsAll(Collection<?> c) {
-        return map.keySet().containsAll(c);
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        return map.keySet().retainAll(c);
+        var r = false;
+        for (var it = new KeyIterator(); it.hasNext();) {
+            if (!c.contains(it.nextByte())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
     }
 
     @Override
     public void clear() {
-        map.clear();
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        containsZero = false;
+        Arrays.fill(keys, (byte) 0);
     }
 
     @Override
-    public boolean contains(byte v) {
-        return map.containsKey(v);
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size) {
+            return false;
+        }
+        return containsAll(s);
     }
 
     @Override
-    public boolean add(byte v) {
-        return map.put(v, PRESENT) == null;
+    public int hashCode() {
+        int h = 0;
+        for (byte k : keys) {
+            h += k;
+        }
+        return h;
     }
 
     @Override
-    public boolean remove(byte v) {
-        return map.remove(v) == PRESENT;
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        if (containsZero) {
+            b.append(0).append(", ");
+        }
+        for (byte k : keys) {
+            if (k != 0) {
+                b.append(k).append(", ");
+            }
+        }
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
     }
 
-    @Override
-    public byte[] toByteArray() {
-        byte[] b = new byte[size()];
-        int i = 0;
-        for (Byte v : map.keySet()) {
-            b[i] = v.byteValue();
-            i++;
+    private final class KeyIterator implements ByteIterator {
+
+        // Walks the table backwards so that the backward shift caused by remove()
+        // only ever moves already-visited keys, except for the keys wrapping around
+        // from the head of the table, which are collected into wrapped.
+        private int pos = keys.length;
+        private int last = -1;
+        private int remaining = size;
+        private boolean mustReturnZero = containsZero;
+        private byte[] wrapped;
+        private int wrappedSize;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
         }
-        return b;
-    }
 
-    @Override
-    public void forEach(ByteConsumer action) {
-        for (PrimitiveEntry<Object> entry : map.entries()) {
-            action.accept(entry.key());
+        @Override
+        public byte nextByte() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                last = keys.length;
+                return 0;
+            }
+            final byte[] keys = ByteHashSet.this.keys;
+            for (;;) {
+                if (--pos < 0) {
+                    last = Integer.MIN_VALUE;
+                    return wrapped[-pos - 1];
+                }
+                if (keys[pos] != 0) {
+                    return keys[last = pos];
+                }
+            }
         }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (last == keys.length) {
+                containsZero = false;
+                size--;
+            } else if (pos >= 0) {
+                shiftKeys(last);
+                size--;
+            } else {
+                ByteHashSet.this.remove(wrapped[-pos - 1]);
+            }
+            last = -1;
+        }
+
+        private void shiftKeys(int pos) {
+            final byte[] keys = ByteHashSet.this.keys;
+            final int mask = ByteHashSet.this.mask;
+            int last, slot;
+            for (byte k;;) {
+                pos = ((last = pos) + 1) & mask;
+                for (;;) {
+                    if ((k = keys[pos]) == 0) {
+                        keys[last] = 0;
+                        return;
+                    }
+                    slot = mix(k) & mask;
+                    if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                        break;
+                    }
+                    pos = (pos + 1) & mask;
+                }
+                if (pos < last) {
+                    if (wrapped == null) {
+                        wrapped = new byte[2];
+                    } else if (wrappedSize == wrapped.length) {
+                        wrapped = Arrays.copyOf(wrapped, wrappedSize << 1);
+                    }
+                    wrapped[wrappedSize++] = k;
+                }
+                keys[last] = k;
+            }
+        }
+
     }
 
 }
@@ -0,0 +1,36 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+import com.github.fmjsjx.libcommons.util.function.ByteConsumer;
+
+/**
+ * An iterator over primitive {@code byte} values.
+ */
+public interface ByteIterator extends Iterator<Byte> {
+
+    byte nextByte();
+
+    @Override
+    default Byte next() {
+        return nextByte();
+    }
+
+    /**
+     * Performs the given action for each remaining value without boxing.
+     * <p>
+     * Named apart from {@link #forEachRemaining(java.util.function.Consumer)}
+     * since there is no {@code PrimitiveIterator.OfByte}, so that a lambda
+     * argument is never ambiguous between the two.
+     *
+     * @param action the action
+     */
+    default void forEachRemainingByte(ByteConsumer action) {
+        Objects.requireNonNull(action);
+        while (hasNext()) {
+            action.accept(nextByte());
+        }
+    }
+
+}
@@ -7,12 +7,37 @@ import com.github.fmjsjx.libcommons.util.function.ByteConsumer;
 
 public interface ByteSet extends Set<Byte> {
 
+    /**
+     * Returns an immutable set containing the given values.
+     *
+     * @param values the values
+     * @return an immutable {@code ByteSet}
+     * @see ImmutableByteSet
+     */
+    static ByteSet of(byte... values) {
+        return ImmutableByteSet.of(values);
+    }
+
+    /**
+     * Returns an immutable set containing the values of the given collection.
+     *
+     * @param c the collection
+     * @return an immutable {@code ByteSet}
+     * @see ImmutableByteSet
+     */
+    static ByteSet copyOf(Collection<? extends Byte> c) {
+        return ImmutableByteSet.copyOf(c);
+    }
+
 	boolean contains(byte v);
 
     boolean add(byte v);
 
     boolean remove(byte v);
 
+    @Override
+    ByteIterator iterator();
+
     byte[] toByteArray();
     
     void forEach(ByteConsumer action);
@@ -0,0 +1,455 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A thread-safe {@link IntSet} implementation.
+ * <p>
+ * The keys are spread over a fixed number of sections, each one an
+ * open-addressing hash table guarded by its own {@link StampedLock}.
+ * {@link #contains(int)} runs as an optimistic read and only falls back to a
+ * read lock when it races with a writer on the same section, while updates
+ * lock and resize one section at a time.
+ * <p>
+ * Iterators and {@link #forEach(IntConsumer)} are weakly consistent: they
+ * traverse a snapshot of each section taken at the time it is reached.
+ */
+public class ConcurrentIntHashSet implements IntSet {
+
+    static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final Section[] sections;
+    private final int sectionShift;
+    private final AtomicBoolean containsZero = new AtomicBoolean();
+
+    public ConcurrentIntHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ConcurrentIntHashSet(int expectedItems) {
+        this(expectedItems, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentIntHashSet(int expectedItems, int concurrencyLevel) {
+        checkInitialCapacity(expectedItems);
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+        }
+        int numSections = Math.min(tableSizeFor(concurrencyLevel), 1 << 16);
+        int perSection = arraySize((expectedItems + numSections - 1) / numSections, DEFAULT_LOAD_FACTOR);
+        sections = new Section[numSections];
+        for (int i = 0; i < numSections; i++) {
+            sections[i] = new Section(perSection);
+        }
+        sectionShift = 32 - Integer.numberOfTrailingZeros(numSections);
+    }
+
+    private Section section(int h) {
+        return sections[h >>> sectionShift];
+    }
+
+    @Override
+    public boolean contains(int v) {
+        if (v == 0) {
+            return containsZero.get();
+        }
+        int h = mix(v);
+        return section(h).contains(v, h);
+    }
+
+    @Override
+    public boolean add(int v) {
+        if (v == 0) {
+            return containsZero.compareAndSet(false, true);
+        }
+        int h = mix(v);
+        return section(h).add(v, h);
+    }
+
+    @Override
+    public boolean remove(int v) {
+        if (v == 0) {
+            return containsZero.compareAndSet(true, false);
+        }
+        int h = mix(v);
+        return section(h).remove(v, h);
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new SnapshotIterator(toIntArray());
+    }
+
+    @Override
+    public IntStream intStream() {
+        return IntStream.of(toIntArray());
+    }
+
+    @Override
+    public int[] toIntArray() {
+        int[] a = new int[size()];
+        int n = 0;
+        if (containsZero.get()) {
+            a = ensureCapacity(a, 1);
+            n = 1;
+        }
+        for (Section section : sections) {
+            long stamp = section.readLock();
+            try {
+                a = ensureCapacity(a, n + section.size);
+                for (int k : section.keys) {
+                    if (k != 0) {
+                        a[n++] = k;
+                    }
+                }
+            } finally {
+                section.unlockRead(stamp);
+            }
+        }
+        return n == a.length ? a : Arrays.copyOf(a, n);
+    }
+
+    private static int[] ensureCapacity(int[] a, int length) {
+        return a.length >= length ? a : Arrays.copyOf(a, Math.max(length, a.length + (a.length >> 1)));
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        if (containsZero.get()) {
+            action.accept(0);
+        }
+        for (Section section : sections) {
+            for (int k : section.snapshot()) {
+                if (k != 0) {
+                    action.accept(k);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = containsZero.get() ? 1 : 0;
+        for (Section section : sections) {
+            size += section.size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (containsZero.get()) {
+            return false;
+        }
+        for (Section section : sections) {
+            if (section.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        int[] a = toIntArray();
+        Object[] r = new Object[a.length];
+        for (int i = 0; i < a.length; i++) {
+            r[i] = a[i];
+        }
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        int[] values = toIntArray();
+        int size = values.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Integer.valueOf(values[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Integer e) {
+        return add(e.intValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Integer && remove(((Integer) o).intValue());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return containsAll((IntSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return retainAll((IntSet) c);
+        }
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.nextInt())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public void clear() {
+        containsZero.set(false);
+        for (Section section : sections) {
+            section.clear();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        int[] a = toIntArray();
+        if (s.size() != a.length) {
+            return false;
+        }
+        for (int v : a) {
+            if (!s.contains(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int v : toIntArray()) {
+            h += v;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toIntArray());
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Section extends StampedLock {
+
+        private volatile int[] keys;
+        private volatile int size;
+        private int maxFill;
+
+        private Section(int capacity) {
+            keys = new int[capacity];
+            maxFill = maxFill(capacity, DEFAULT_LOAD_FACTOR);
+        }
+
+        private boolean contains(int key, int h) {
+            long stamp = tryOptimisticRead();
+            if (stamp != 0) {
+                boolean found = probe(keys, key, h);
+                if (validate(stamp)) {
+                    return found;
+                }
+            }
+            stamp = readLock();
+            try {
+                return probe(keys, key, h);
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+        private static boolean probe(int[] keys, int key, int h) {
+            final int mask = keys.length - 1;
+            // bounded, an optimistic read may observe a table in the middle of a shift
+            for (int pos = h & mask, i = 0; i <= mask; pos = (pos + 1) & mask, i++) {
+                int k = keys[pos];
+                if (k == key) {
+                    return true;
+                }
+                if (k == 0) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean add(int key, int h) {
+            long stamp = writeLock();
+            try {
+                // grow before inserting so that no reader ever sees a full table
+                if (size >= maxFill) {
+                    rehash(keys.length << 1);
+                }
+                final int[] keys = this.keys;
+                final int mask = keys.length - 1;
+                int pos = h & mask;
+                for (int k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+                    if (k == key) {
+                        return false;
+                    }
+                }
+                keys[pos] = key;
+                size++;
+                return true;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        private boolean remove(int key, int h) {
+            long stamp = writeLock();
+            try {
+                final int[] keys = this.keys;
+                final int mask = keys.length - 1;
+                for (int pos = h & mask, k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+                    if (k == key) {
+                        shiftKeys(keys, pos);
+                        size--;
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        private static void shiftKeys(int[] keys, int pos) {
+            final int mask = keys.length - 1;
+            for (int last, slot, k;;) {
+                pos = ((last = pos) + 1) & mask;
+                for (;;) {
+                    if ((k = keys[pos]) == 0) {
+                        keys[last] = 0;
+                        return;
+                    }
+                    slot = mix(k) & mask;
+                    if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                        break;
+                    }
+                    pos = (pos + 1) & mask;
+                }
+                keys[last] = k;
+            }
+        }
+
+        private void rehash(int newCapacity) {
+            final int[] keys = this.keys;
+            final int newMask = newCapacity - 1;
+            final int[] newKeys = new int[newCapacity];
+            for (int i = keys.length; i-- > 0;) {
+                int k = keys[i];
+                if (k != 0) {
+                    int pos = mix(k) & newMask;
+                    while (newKeys[pos] != 0) {
+                        pos = (pos + 1) & newMask;
+                    }
+                    newKeys[pos] = k;
+                }
+            }
+            this.maxFill = maxFill(newCapacity, DEFAULT_LOAD_FACTOR);
+            this.keys = newKeys;
+        }
+
+        private void clear() {
+            long stamp = writeLock();
+            try {
+                Arrays.fill(keys, 0);
+                size = 0;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        private int[] snapshot() {
+            long stamp = readLock();
+            try {
+                return keys.clone();
+            } finally {
+                unlockRead(stamp);
+            }
+        }
+
+    }
+
+    private final class SnapshotIterator implements IntIterator {
+
+        private final int[] values;
+        private int index;
+        private int last = -1;
+
+        private SnapshotIterator(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return values[last = index++];
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            ConcurrentIntHashSet.this.remove(values[last]);
+            last = -1;
+        }
+
+    }
+
+}
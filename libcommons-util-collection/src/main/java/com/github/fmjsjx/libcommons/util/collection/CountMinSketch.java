@@ -0,0 +1,314 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A Count-Min sketch estimating the frequencies of {@code int}, {@code long},
+ * {@code byte[]} and {@code String} keys in constant memory.
+ * <p>
+ * The sketch keeps {@code depth} rows of {@code width} counters. Each key
+ * adds its count to one counter per row and is estimated by the minimum of
+ * them, so estimates never undercount, and overcount by at most
+ * {@code epsilon * totalCount} with probability {@code 1 - delta} for a
+ * sketch created by {@link #create(double, double)}.
+ * <p>
+ * Sketches with the same dimensions can be merged by
+ * {@link #merge(CountMinSketch)}. Since the hashes do not depend on the JVM,
+ * see {@link SketchHashing}, sketches serialized by
+ * {@link #writeTo(OutputStream)} on different nodes can be merged anywhere.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CountMinSketch {
+
+    static final int MAGIC = 'L' | 'C' << 8 | 'C' << 16 | 'M' << 24;
+
+    static final byte VERSION = 1;
+
+    /**
+     * Creates a new sketch with the given error bounds.
+     *
+     * @param epsilon the relative error against the total count, such as
+     *                {@code 0.001}
+     * @param delta   the probability of exceeding the error, such as
+     *                {@code 0.01}
+     * @return a new {@code CountMinSketch}
+     */
+    public static final CountMinSketch create(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be > 0 and < 1: " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta must be > 0 and < 1: " + delta);
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / delta));
+        return new CountMinSketch(depth, width);
+    }
+
+    /**
+     * Reads a sketch written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in the input stream
+     * @return the sketch
+     * @throws IOException if an I/O error occurs or the data is not a sketch
+     */
+    public static final CountMinSketch readFrom(InputStream in) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        if (Integer.reverseBytes(input.readInt()) != MAGIC) {
+            throw new IOException("not a count-min sketch (bad magic)");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported count-min sketch version " + version);
+        }
+        int depth = input.readInt();
+        int width = input.readInt();
+        long totalCount = input.readLong();
+        if (depth <= 0 || width <= 0 || (long) depth * width > Integer.MAX_VALUE - 8 || totalCount < 0) {
+            throw new IOException("corrupted count-min sketch (depth " + depth + ", width " + width + ")");
+        }
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        final long[] table = sketch.table;
+        for (int i = 0; i < table.length; i++) {
+            table[i] = input.readLong();
+        }
+        sketch.totalCount = totalCount;
+        return sketch;
+    }
+
+    /**
+     * Reads a sketch from the result of {@link #toByteArray()}.
+     *
+     * @param bytes the serialized sketch
+     * @return the sketch
+     * @throws IllegalArgumentException if the data is not a sketch
+     */
+    public static final CountMinSketch fromByteArray(byte[] bytes) {
+        try {
+            return readFrom(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private final int depth;
+    private final int width;
+    private final long[] table;
+    private long totalCount;
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param depth the number of rows
+     * @param width the number of counters per row
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be > 0: " + depth);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("width must be > 0: " + width);
+        }
+        if ((long) depth * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("depth * width too large: " + depth + " * " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.table = new long[depth * width];
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the sum of all counts added.
+     *
+     * @return the total count
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    private void addHash(long hash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0: " + count);
+        }
+        final long[] table = this.table;
+        final int width = this.width;
+        for (int i = 0, offset = 0; i < depth; i++, offset += width) {
+            table[offset + (int) BloomFilter.index(hash, i, width)] += count;
+        }
+        totalCount += count;
+    }
+
+    private long estimateHash(long hash) {
+        final long[] table = this.table;
+        final int width = this.width;
+        long min = Long.MAX_VALUE;
+        for (int i = 0, offset = 0; i < depth; i++, offset += width) {
+            min = Math.min(min, table[offset + (int) BloomFilter.index(hash, i, width)]);
+        }
+        return min;
+    }
+
+    /**
+     * Adds {@code 1} to the count of the given key.
+     *
+     * @param key the key
+     */
+    public void add(int key) {
+        addHash(SketchHashing.hash64(key), 1);
+    }
+
+    /**
+     * Adds the given count to the count of the given key.
+     *
+     * @param key   the key
+     * @param count the count, must not be negative
+     */
+    public void add(int key, long count) {
+        addHash(SketchHashing.hash64(key), count);
+    }
+
+    public void add(long key) {
+        addHash(SketchHashing.hash64(key), 1);
+    }
+
+    public void add(long key, long count) {
+        addHash(SketchHashing.hash64(key), count);
+    }
+
+    public void add(byte[] key) {
+        addHash(SketchHashing.hash64(key), 1);
+    }
+
+    public void add(byte[] key, long count) {
+        addHash(SketchHashing.hash64(key), count);
+    }
+
+    public void add(String key) {
+        addHash(SketchHashing.hash64(key), 1);
+    }
+
+    public void add(String key, long count) {
+        addHash(SketchHashing.hash64(key), count);
+    }
+
+    /**
+     * Returns the estimated count of the given key, which is never less than
+     * its true count.
+     *
+     * @param key the key
+     * @return the estimated count
+     */
+    public long estimateCount(int key) {
+        return estimateHash(SketchHashing.hash64(key));
+    }
+
+    public long estimateCount(long key) {
+        return estimateHash(SketchHashing.hash64(key));
+    }
+
+    public long estimateCount(byte[] key) {
+        return estimateHash(SketchHashing.hash64(key));
+    }
+
+    public long estimateCount(String key) {
+        return estimateHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Adds the counts of the given sketch to this one.
+     *
+     * @param other the other sketch
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("incompatible count-min sketches: " + this + ", " + other);
+        }
+        final long[] table = this.table;
+        final long[] otherTable = other.table;
+        for (int i = 0; i < table.length; i++) {
+            table[i] += otherTable[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        totalCount = 0;
+    }
+
+    /**
+     * Writes this sketch to the given output stream.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(Integer.reverseBytes(MAGIC));
+        output.writeByte(VERSION);
+        output.writeInt(depth);
+        output.writeInt(width);
+        output.writeLong(totalCount);
+        for (long count : table) {
+            output.writeLong(count);
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the serialized form of this sketch, as written by
+     * {@link #writeTo(OutputStream)}.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(21 + (table.length << 3));
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CountMinSketch)) {
+            return false;
+        }
+        CountMinSketch other = (CountMinSketch) o;
+        return other.depth == depth && other.totalCount == totalCount && Arrays.equals(other.table, table);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * depth + Arrays.hashCode(table);
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch(depth=" + depth + ", width=" + width + ", totalCount=" + totalCount + ")";
+    }
+
+}
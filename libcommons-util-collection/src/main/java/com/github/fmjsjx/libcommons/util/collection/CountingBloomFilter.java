@@ -0,0 +1,361 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.BloomFilter.checkNumHashes;
+import static com.github.fmjsjx.libcommons.util.collection.BloomFilter.index;
+import static com.github.fmjsjx.libcommons.util.collection.BloomFilter.optimalNumBits;
+import static com.github.fmjsjx.libcommons.util.collection.BloomFilter.optimalNumHashes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A counting Bloom filter, which supports removing keys at the cost of 4
+ * times the memory of a {@link BloomFilter} with the same false positive
+ * probability.
+ * <p>
+ * Each position holds a 4-bit counter, 16 of them packed in a {@code long}.
+ * A counter reaching {@value #MAX_COUNT} saturates and is never decremented
+ * any more, so removing keys can never cause false negatives, only a stuck
+ * position. Only keys that were added must be removed. Filters with the same
+ * number of counters and hash functions can be merged by
+ * {@link #merge(CountingBloomFilter)}, and {@link #toBloomFilter()} turns a
+ * filter into a plain compatible {@link BloomFilter} for shipping.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CountingBloomFilter {
+
+    static final int MAGIC = 'L' | 'C' << 8 | 'C' << 16 | 'B' << 24;
+
+    static final byte VERSION = 1;
+
+    /**
+     * The value at which a counter saturates.
+     */
+    public static final int MAX_COUNT = 15;
+
+    /**
+     * Creates a new filter sized for the given number of keys and false
+     * positive probability.
+     *
+     * @param expectedInsertions the expected number of keys
+     * @param fpp                the desired false positive probability, such
+     *                           as {@code 0.01}
+     * @return a new {@code CountingBloomFilter}
+     */
+    public static final CountingBloomFilter create(long expectedInsertions, double fpp) {
+        long numCounters = optimalNumBits(expectedInsertions, fpp);
+        return new CountingBloomFilter(numCounters, optimalNumHashes(expectedInsertions, numCounters));
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in the input stream
+     * @return the filter
+     * @throws IOException if an I/O error occurs or the data is not a filter
+     */
+    public static final CountingBloomFilter readFrom(InputStream in) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        if (Integer.reverseBytes(input.readInt()) != MAGIC) {
+            throw new IOException("not a counting bloom filter (bad magic)");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported counting bloom filter version " + version);
+        }
+        int numHashes = input.readUnsignedByte();
+        int words = input.readInt();
+        if (numHashes == 0 || words <= 0 || (words & 3) != 0) {
+            throw new IOException(
+                    "corrupted counting bloom filter (hashes " + numHashes + ", words " + words + ")");
+        }
+        long[] counters = new long[words];
+        for (int i = 0; i < words; i++) {
+            counters[i] = input.readLong();
+        }
+        return new CountingBloomFilter(counters, numHashes);
+    }
+
+    /**
+     * Reads a filter from the result of {@link #toByteArray()}.
+     *
+     * @param bytes the serialized filter
+     * @return the filter
+     * @throws IllegalArgumentException if the data is not a filter
+     */
+    public static final CountingBloomFilter fromByteArray(byte[] bytes) {
+        try {
+            return readFrom(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private final long[] counters;
+    private final long numCounters;
+    private final int numHashes;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param numCounters the number of counters, rounded up to a multiple of
+     *                    64
+     * @param numHashes   the number of hash functions
+     */
+    public CountingBloomFilter(long numCounters, int numHashes) {
+        // 16 counters per word, the counter count stays a multiple of 64 like the bits of a BloomFilter
+        this(new long[Math.multiplyExact(BloomFilter.checkWords(numCounters), 4)], checkNumHashes(numHashes));
+    }
+
+    private CountingBloomFilter(long[] counters, int numHashes) {
+        this.counters = counters;
+        this.numCounters = (long) counters.length << 4;
+        this.numHashes = numHashes;
+    }
+
+    public long counterSize() {
+        return numCounters;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    private int count(long index) {
+        return (int) (counters[(int) (index >>> 4)] >>> ((index & 15) << 2)) & 15;
+    }
+
+    private void putHash(long hash) {
+        final long[] counters = this.counters;
+        for (int i = 0; i < numHashes; i++) {
+            long index = index(hash, i, numCounters);
+            int word = (int) (index >>> 4);
+            int shift = (int) (index & 15) << 2;
+            if ((counters[word] >>> shift & 15) != MAX_COUNT) {
+                counters[word] += 1L << shift;
+            }
+        }
+    }
+
+    private boolean removeHash(long hash) {
+        if (!mightContainHash(hash)) {
+            return false;
+        }
+        final long[] counters = this.counters;
+        for (int i = 0; i < numHashes; i++) {
+            long index = index(hash, i, numCounters);
+            int word = (int) (index >>> 4);
+            int shift = (int) (index & 15) << 2;
+            long count = counters[word] >>> shift & 15;
+            // a saturated counter has lost its true count
+            if (count != MAX_COUNT && count != 0) {
+                counters[word] -= 1L << shift;
+            }
+        }
+        return true;
+    }
+
+    private boolean mightContainHash(long hash) {
+        for (int i = 0; i < numHashes; i++) {
+            if (count(index(hash, i, numCounters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(int key) {
+        putHash(SketchHashing.hash64(key));
+    }
+
+    public void put(long key) {
+        putHash(SketchHashing.hash64(key));
+    }
+
+    public void put(byte[] key) {
+        putHash(SketchHashing.hash64(key));
+    }
+
+    public void put(String key) {
+        putHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Removes the given key, which must have been added before.
+     *
+     * @param key the key
+     * @return {@code false} if the key was definitely not present, in which
+     *         case nothing changes
+     */
+    public boolean remove(int key) {
+        return removeHash(SketchHashing.hash64(key));
+    }
+
+    public boolean remove(long key) {
+        return removeHash(SketchHashing.hash64(key));
+    }
+
+    public boolean remove(byte[] key) {
+        return removeHash(SketchHashing.hash64(key));
+    }
+
+    public boolean remove(String key) {
+        return removeHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Returns {@code false} if the given key is definitely not present, or
+     * {@code true} if it might be present.
+     *
+     * @param key the key
+     * @return {@code false} if the key is definitely not present
+     */
+    public boolean mightContain(int key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(long key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(byte[] key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    public boolean mightContain(String key) {
+        return mightContainHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Returns {@code true} if the given filter can be merged into this one.
+     *
+     * @param other the other filter
+     * @return {@code true} if both filters have the same number of counters
+     *         and hash functions
+     */
+    public boolean isCompatible(CountingBloomFilter other) {
+        return other.numCounters == numCounters && other.numHashes == numHashes;
+    }
+
+    /**
+     * Adds the counters of the given filter to this one, saturating at
+     * {@value #MAX_COUNT}.
+     *
+     * @param other the other filter
+     * @throws IllegalArgumentException if the filters are not compatible
+     */
+    public void merge(CountingBloomFilter other) {
+        if (!isCompatible(other)) {
+            throw new IllegalArgumentException("incompatible counting bloom filters: " + this + ", " + other);
+        }
+        final long[] counters = this.counters;
+        final long[] otherCounters = other.counters;
+        for (int i = 0; i < counters.length; i++) {
+            long a = counters[i];
+            long b = otherCounters[i];
+            if (b == 0) {
+                continue;
+            }
+            long sum = 0;
+            for (int shift = 0; shift < 64; shift += 4) {
+                long c = (a >>> shift & 15) + (b >>> shift & 15);
+                sum |= Math.min(c, MAX_COUNT) << shift;
+            }
+            counters[i] = sum;
+        }
+    }
+
+    /**
+     * Returns a plain {@link BloomFilter} with the bits set at the non-zero
+     * counters of this filter, which answers {@code mightContain} exactly like
+     * this filter.
+     *
+     * @return a new {@code BloomFilter}
+     */
+    public BloomFilter toBloomFilter() {
+        BloomFilter filter = new BloomFilter(numCounters, numHashes);
+        final long[] counters = this.counters;
+        long[] bits = new long[counters.length >>> 2];
+        for (int i = 0; i < counters.length; i++) {
+            long w = counters[i];
+            // folds each counter into its lowest bit, then gathers the 16 bits
+            w = (w | w >>> 1 | w >>> 2 | w >>> 3) & 0x1111111111111111L;
+            long packed = 0;
+            for (int j = 0; j < 16; j++) {
+                packed |= (w >>> (j << 2) & 1) << j;
+            }
+            bits[i >>> 2] |= packed << ((i & 3) << 4);
+        }
+        filter.or(bits);
+        return filter;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    /**
+     * Writes this filter to the given output stream.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(Integer.reverseBytes(MAGIC));
+        output.writeByte(VERSION);
+        output.writeByte(numHashes);
+        output.writeInt(counters.length);
+        for (long word : counters) {
+            output.writeLong(word);
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the serialized form of this filter, as written by
+     * {@link #writeTo(OutputStream)}.
+     *
+     * @return the serialized filter
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(10 + (counters.length << 3));
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CountingBloomFilter)) {
+            return false;
+        }
+        CountingBloomFilter other = (CountingBloomFilter) o;
+        return other.numHashes == numHashes && Arrays.equals(other.counters, counters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numHashes + Arrays.hashCode(counters);
+    }
+
+    @Override
+    public String toString() {
+        return "CountingBloomFilter(counterSize=" + numCounters + ", numHashes=" + numHashes + ")";
+    }
+
+}
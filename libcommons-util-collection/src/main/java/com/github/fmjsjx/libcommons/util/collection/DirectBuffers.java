@@ -0,0 +1,60 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Allocation and explicit release of direct (and mapped) byte buffers.
+ * <p>
+ * The JDK only frees the memory behind a direct buffer once the buffer itself
+ * has been garbage collected. {@link #free(ByteBuffer)} releases it right away
+ * through {@code sun.misc.Unsafe.invokeCleaner} when that is accessible, and
+ * otherwise leaves it to the garbage collector.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class DirectBuffers {
+
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private static final MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Allocates a new zeroed direct buffer in native byte order.
+     */
+    static final ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of the given direct buffer. The buffer must not be
+     * accessed afterwards.
+     */
+    static final void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null && buffer.isDirect()) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                // slices and duplicates can not be cleaned, leave them to the GC
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Common constants and functions shared by the open-addressing hash tables in
+ * this package.
+ * <p>
+ * All tables use linear probing over a power-of-two sized key array. The
+ * primitive value {@code 0} marks a free slot, so the key {@code 0} itself is
+ * never stored in the probe sequence and is tracked by a separate flag instead.
+ * Removal uses backward-shift deletion, so no tombstones are ever left behind.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class HashCommon {
+
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    static final float DEFAULT_LOAD_FACTOR = .75f;
+
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    static final int mix(int x) {
+        int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    static final int mix(long x) {
+        long h = x * LONG_PHI;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static final float checkLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor <= 1)) {
+            throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);
+        }
+        return loadFactor;
+    }
+
+    static final int checkInitialCapacity(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        return initialCapacity;
+    }
+
+    /**
+     * Returns the smallest power of two that is not less than the given value,
+     * with a lower bound of {@code 2}.
+     */
+    static final int tableSizeFor(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        if (capacity <= 2) {
+            return 2;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Returns the table size needed to hold the given number of elements without
+     * rehashing.
+     */
+    static final int arraySize(int expected, float loadFactor) {
+        long s = Math.max(2, (long) Math.ceil(expected / loadFactor));
+        if (s > MAX_CAPACITY) {
+            throw new IllegalArgumentException("too large (" + expected + " expected elements with load factor "
+                    + loadFactor + ")");
+        }
+        return tableSizeFor((int) s);
+    }
+
+    /**
+     * Returns the maximum number of elements before rehashing. At least one slot
+     * is always kept free so that probe loops terminate.
+     */
+    static final int maxFill(int capacity, float loadFactor) {
+        return Math.min((int) Math.ceil(capacity * loadFactor), capacity - 1);
+    }
+
+}
@@ -0,0 +1,364 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct {@code int},
+ * {@code long}, {@code byte[]} and {@code String} keys in constant memory.
+ * <p>
+ * With a precision of {@code p} the sketch has {@code m = 2^p} registers and
+ * a relative standard error of about {@code 1.04 / sqrt(m)}, that is
+ * {@code 0.81%} for the default precision of {@value #DEFAULT_PRECISION}.
+ * A new sketch starts sparse, keeping only the non-zero registers in an
+ * {@link IntIntHashMap}, and switches to a dense array of {@code m} byte
+ * registers once that stops saving memory, so small sets cost little. Both
+ * encodings give the same estimates.
+ * <p>
+ * Sketches with the same precision can be merged by
+ * {@link #merge(HyperLogLog)}, which gives the sketch of the union. Since the
+ * hashes do not depend on the JVM, see {@link SketchHashing}, sketches
+ * serialized by {@link #writeTo(OutputStream)} on different nodes can be
+ * merged anywhere.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class HyperLogLog {
+
+    static final int MAGIC = 'L' | 'C' << 8 | 'H' << 16 | 'L' << 24;
+
+    static final byte VERSION = 1;
+
+    private static final byte SPARSE = 0;
+
+    private static final byte DENSE = 1;
+
+    public static final int MIN_PRECISION = 4;
+
+    public static final int MAX_PRECISION = 18;
+
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final double ALPHA_INF = 0.5 / Math.log(2);
+
+    /**
+     * Reads a sketch written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in the input stream
+     * @return the sketch
+     * @throws IOException if an I/O error occurs or the data is not a sketch
+     */
+    public static final HyperLogLog readFrom(InputStream in) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        if (Integer.reverseBytes(input.readInt()) != MAGIC) {
+            throw new IOException("not a hyperloglog (bad magic)");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported hyperloglog version " + version);
+        }
+        int precision = input.readUnsignedByte();
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IOException("corrupted hyperloglog (precision " + precision + ")");
+        }
+        HyperLogLog hll = new HyperLogLog(precision);
+        byte encoding = input.readByte();
+        if (encoding == DENSE) {
+            byte[] registers = new byte[1 << precision];
+            input.readFully(registers);
+            hll.registers = registers;
+            hll.sparse = null;
+        } else if (encoding == SPARSE) {
+            int size = input.readInt();
+            if (size < 0 || size > 1 << precision) {
+                throw new IOException("corrupted hyperloglog (sparse size " + size + ")");
+            }
+            for (int i = 0; i < size; i++) {
+                int entry = input.readInt();
+                int index = entry >>> 8;
+                int rank = entry & 0xff;
+                if (index >= 1 << precision || rank == 0 || rank > 65 - precision) {
+                    throw new IOException("corrupted hyperloglog (sparse entry " + entry + ")");
+                }
+                hll.update(index, rank);
+            }
+        } else {
+            throw new IOException("corrupted hyperloglog (encoding " + encoding + ")");
+        }
+        return hll;
+    }
+
+    /**
+     * Reads a sketch from the result of {@link #toByteArray()}.
+     *
+     * @param bytes the serialized sketch
+     * @return the sketch
+     * @throws IllegalArgumentException if the data is not a sketch
+     */
+    public static final HyperLogLog fromByteArray(byte[] bytes) {
+        try {
+            return readFrom(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private final int precision;
+    private final int sparseLimit;
+    /**
+     * The non-zero registers while sparse, {@code null} once dense.
+     */
+    private IntIntHashMap sparse;
+    /**
+     * The registers once dense, {@code null} while sparse.
+     */
+    private byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param precision the number of index bits, from {@value #MIN_PRECISION}
+     *                  to {@value #MAX_PRECISION}
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "precision must be >= " + MIN_PRECISION + " and <= " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        // a sparse entry costs about 10 bytes against 1 byte per dense register
+        this.sparseLimit = 1 << (precision - 4);
+        this.sparse = new IntIntHashMap();
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public boolean isSparse() {
+        return sparse != null;
+    }
+
+    /**
+     * Returns the relative standard error of the estimates of this sketch.
+     *
+     * @return the relative standard error
+     */
+    public double relativeError() {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    private boolean addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the guard bit bounds the rank to 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros(hash << precision | 1L << (precision - 1)) + 1;
+        return update(index, rank);
+    }
+
+    private boolean update(int index, int rank) {
+        final byte[] registers = this.registers;
+        if (registers != null) {
+            if (registers[index] < rank) {
+                registers[index] = (byte) rank;
+                return true;
+            }
+            return false;
+        }
+        final IntIntHashMap sparse = this.sparse;
+        if (sparse.get(index) >= rank) {
+            return false;
+        }
+        sparse.put(index, rank);
+        if (sparse.size() > sparseLimit) {
+            toDense();
+        }
+        return true;
+    }
+
+    private void toDense() {
+        byte[] registers = new byte[1 << precision];
+        sparse.forEach((index, rank) -> registers[index] = (byte) rank);
+        this.registers = registers;
+        this.sparse = null;
+    }
+
+    /**
+     * Adds the given key.
+     *
+     * @param key the key
+     * @return {@code true} if a register changed
+     */
+    public boolean add(int key) {
+        return addHash(SketchHashing.hash64(key));
+    }
+
+    public boolean add(long key) {
+        return addHash(SketchHashing.hash64(key));
+    }
+
+    public boolean add(byte[] key) {
+        return addHash(SketchHashing.hash64(key));
+    }
+
+    public boolean add(String key) {
+        return addHash(SketchHashing.hash64(key));
+    }
+
+    /**
+     * Returns the estimated number of distinct keys added.
+     *
+     * @return the estimated cardinality
+     */
+    public long cardinality() {
+        final int m = 1 << precision;
+        final int q = 64 - precision;
+        // the histogram of the register values, from 0 to q + 1
+        int[] counts = new int[q + 2];
+        if (registers == null) {
+            sparse.forEach((index, rank) -> counts[rank]++);
+            counts[0] = m - sparse.size();
+        } else {
+            for (byte rank : registers) {
+                counts[rank]++;
+            }
+        }
+        // the improved estimator of Otmar Ertl, "New cardinality estimation
+        // algorithms for HyperLogLog sketches", which needs neither bias
+        // correction tables nor a switch to linear counting for small values
+        double z = m * tau(1 - (double) counts[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + counts[k]);
+        }
+        z += m * sigma((double) counts[0] / m);
+        return Math.round(ALPHA_INF * m * m / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double prev;
+        do {
+            x *= x;
+            prev = z;
+            z += x * y;
+            y += y;
+        } while (z != prev);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double prev;
+        do {
+            x = Math.sqrt(x);
+            prev = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != prev);
+        return z / 3;
+    }
+
+    /**
+     * Merges the given sketch into this one, which then estimates the union of
+     * both.
+     *
+     * @param other the other sketch
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "precision mismatch, expected " + precision + " but was " + other.precision);
+        }
+        if (other.registers == null) {
+            other.sparse.forEach(this::update);
+            return;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        final byte[] registers = this.registers;
+        final byte[] otherRegisters = other.registers;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < otherRegisters[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+    }
+
+    public void clear() {
+        registers = null;
+        sparse = new IntIntHashMap();
+    }
+
+    /**
+     * Writes this sketch to the given output stream, in its current encoding.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(Integer.reverseBytes(MAGIC));
+        output.writeByte(VERSION);
+        output.writeByte(precision);
+        if (registers != null) {
+            output.writeByte(DENSE);
+            output.write(registers);
+        } else {
+            output.writeByte(SPARSE);
+            int[] entries = new int[sparse.size()];
+            int[] n = { 0 };
+            sparse.forEach((index, rank) -> entries[n[0]++] = index << 8 | rank);
+            // sorted, so that equal sketches serialize equally
+            Arrays.sort(entries);
+            output.writeInt(entries.length);
+            for (int entry : entries) {
+                output.writeInt(entry);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the serialized form of this sketch, as written by
+     * {@link #writeTo(OutputStream)}.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                registers != null ? 7 + registers.length : 11 + (sparse.size() << 2));
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog(precision=" + precision + ", sparse=" + isSparse() + ", cardinality=" + cardinality()
+                + ")";
+    }
+
+}
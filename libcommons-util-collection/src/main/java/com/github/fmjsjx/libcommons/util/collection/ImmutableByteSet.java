@@ -0,0 +1,288 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.github.fmjsjx.libcommons.util.function.ByteConsumer;
+
+/**
+ * An immutable {@link ByteSet} implementation backed by a sorted array of
+ * distinct primitive {@code byte} values.
+ * <p>
+ * Lookups are binary searches over the array, which costs no more memory
+ * than the values themselves. Iteration is in ascending order. All mutating
+ * methods throw {@link UnsupportedOperationException}.
+ */
+public final class ImmutableByteSet implements ByteSet {
+
+    private static final ImmutableByteSet EMPTY = new ImmutableByteSet(new byte[0]);
+
+    /**
+     * Returns an immutable set containing the given values.
+     *
+     * @param values the values, may contain duplicates
+     * @return an {@code ImmutableByteSet}
+     */
+    public static final ImmutableByteSet of(byte... values) {
+        return fromSorted(values.clone());
+    }
+
+    /**
+     * Returns an immutable set containing the values of the given collection.
+     *
+     * @param c the collection
+     * @return an {@code ImmutableByteSet}
+     */
+    public static final ImmutableByteSet copyOf(Collection<? extends Byte> c) {
+        if (c instanceof ImmutableByteSet) {
+            return (ImmutableByteSet) c;
+        }
+        if (c instanceof ByteSet) {
+            return fromSorted(((ByteSet) c).toByteArray());
+        }
+        byte[] values = new byte[c.size()];
+        int n = 0;
+        for (Byte e : c) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, Math.max(8, n << 1));
+            }
+            values[n++] = e;
+        }
+        return fromSorted(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+
+    private static ImmutableByteSet fromSorted(byte[] values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(values);
+        int n = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[n - 1]) {
+                values[n++] = values[i];
+            }
+        }
+        return new ImmutableByteSet(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+
+    private final byte[] values;
+
+    private ImmutableByteSet(byte[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the position of the given value in ascending order, or
+     * {@code -1} if this set does not contain it.
+     *
+     * @param v the value
+     * @return the index of the value, or {@code -1}
+     */
+    public int indexOf(byte v) {
+        final byte[] values = this.values;
+        int len = values.length;
+        if (len == 0) {
+            return -1;
+        }
+        // branch-free lower bound: the loop body compiles to a conditional move
+        int base = 0;
+        while (len > 1) {
+            int half = len >>> 1;
+            base = values[base + half] <= v ? base + half : base;
+            len -= half;
+        }
+        return values[base] == v ? base : -1;
+    }
+
+    /**
+     * Returns the value at the given position in ascending order.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public byte get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean contains(byte v) {
+        return indexOf(v) >= 0;
+    }
+
+    @Override
+    public boolean add(byte v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(byte v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteIterator iterator() {
+        return new ValueIterator();
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return values.clone();
+    }
+
+    @Override
+    public void forEach(ByteConsumer action) {
+        for (byte v : values) {
+            action.accept(v);
+        }
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Byte && contains(((Byte) o).byteValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        final byte[] values = this.values;
+        Object[] r = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            r[i] = values[i];
+        }
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        final byte[] values = this.values;
+        int size = values.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Byte.valueOf(values[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Byte e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Byte> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof ImmutableByteSet) {
+            return Arrays.equals(values, ((ImmutableByteSet) o).values);
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != values.length) {
+            return false;
+        }
+        return s.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (byte v : values) {
+            h += v;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+
+    private final class ValueIterator implements ByteIterator {
+
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public byte nextByte() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return values[index++];
+        }
+
+        @Override
+        public void forEachRemainingByte(ByteConsumer action) {
+            final byte[] values = ImmutableByteSet.this.values;
+            for (int i = index; i < values.length; i++) {
+                action.accept(values[i]);
+            }
+            index = values.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable {@link IntSet} implementation backed by a sorted array of
+ * distinct primitive {@code int} values.
+ * <p>
+ * Lookups are binary searches over the array, which costs no more memory
+ * than the values themselves. Iteration is in ascending order. All mutating
+ * methods throw {@link UnsupportedOperationException}.
+ */
+public final class ImmutableIntSet implements IntSet {
+
+    private static final ImmutableIntSet EMPTY = new ImmutableIntSet(new int[0]);
+
+    /**
+     * Returns an immutable set containing the given values.
+     *
+     * @param values the values, may contain duplicates
+     * @return an {@code ImmutableIntSet}
+     */
+    public static final ImmutableIntSet of(int... values) {
+        return fromSorted(values.clone());
+    }
+
+    /**
+     * Returns an immutable set containing the values of the given collection.
+     *
+     * @param c the collection
+     * @return an {@code ImmutableIntSet}
+     */
+    public static final ImmutableIntSet copyOf(Collection<? extends Integer> c) {
+        if (c instanceof ImmutableIntSet) {
+            return (ImmutableIntSet) c;
+        }
+        if (c instanceof IntSet) {
+            return fromSorted(((IntSet) c).toIntArray());
+        }
+        int[] values = new int[c.size()];
+        int n = 0;
+        for (Integer e : c) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, Math.max(8, n << 1));
+            }
+            values[n++] = e;
+        }
+        return fromSorted(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+
+    private static ImmutableIntSet fromSorted(int[] values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(values);
+        int n = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[n - 1]) {
+                values[n++] = values[i];
+            }
+        }
+        return new ImmutableIntSet(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+
+    private final int[] values;
+
+    private ImmutableIntSet(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the position of the given value in ascending order, or
+     * {@code -1} if this set does not contain it.
+     *
+     * @param v the value
+     * @return the index of the value, or {@code -1}
+     */
+    public int indexOf(int v) {
+        final int[] values = this.values;
+        int len = values.length;
+        if (len == 0) {
+            return -1;
+        }
+        // branch-free lower bound: the loop body compiles to a conditional move
+        int base = 0;
+        while (len > 1) {
+            int half = len >>> 1;
+            base = values[base + half] <= v ? base + half : base;
+            len -= half;
+        }
+        return values[base] == v ? base : -1;
+    }
+
+    /**
+     * Returns the value at the given position in ascending order.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public int get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean contains(int v) {
+        return indexOf(v) >= 0;
+    }
+
+    @Override
+    public boolean add(int v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(int v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new ValueIterator();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(values, 0, values.length,
+                Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return values.clone();
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int v : values) {
+            action.accept(v);
+        }
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        final int[] values = this.values;
+        Object[] r = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            r[i] = values[i];
+        }
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        final int[] values = this.values;
+        int size = values.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Integer.valueOf(values[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Integer e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return containsAll((IntSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(IntSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(IntSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(IntSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Integer> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Integer> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof ImmutableIntSet) {
+            return Arrays.equals(values, ((ImmutableIntSet) o).values);
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != values.length) {
+            return false;
+        }
+        return s.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int v : values) {
+            h += v;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+
+    private final class ValueIterator implements IntIterator {
+
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return values[index++];
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            final int[] values = ImmutableIntSet.this.values;
+            for (int i = index; i < values.length; i++) {
+                action.accept(values[i]);
+            }
+            index = values.length;
+        }
+
+    }
+
+}
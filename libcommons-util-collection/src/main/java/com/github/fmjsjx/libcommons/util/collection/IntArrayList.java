@@ -0,0 +1,389 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An {@link IntList} implementation backed by a growable primitive
+ * {@code int} array.
+ */
+public class IntArrayList implements IntList, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Returns a new list containing the given values.
+     *
+     * @param values the values
+     * @return a new {@code IntArrayList}
+     */
+    public static final IntArrayList of(int... values) {
+        return new IntArrayList(values.clone(), values.length);
+    }
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        elements = initialCapacity == 0 ? EMPTY_ELEMENTS : new int[initialCapacity];
+    }
+
+    public IntArrayList(Collection<? extends Integer> c) {
+        this(c.size());
+        for (Integer e : c) {
+            addInt(e);
+        }
+    }
+
+    public IntArrayList(IntList c) {
+        this(c.toIntArray(), c.size());
+    }
+
+    private IntArrayList(int[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * Makes sure this list can hold at least the given number of values without
+     * growing.
+     *
+     * @param minCapacity the minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the size of this list.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY_ELEMENTS : Arrays.copyOf(elements, size);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("required array size too large: " + Integer.toUnsignedString(minCapacity));
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+            newCapacity = MAX_ARRAY_SIZE;
+        }
+        elements = Arrays.copyOf(elements, Math.max(newCapacity, Math.max(minCapacity, DEFAULT_CAPACITY)));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean addInt(int v) {
+        int s = size;
+        if (s == elements.length) {
+            grow(s + 1);
+        }
+        elements[s] = v;
+        size = s + 1;
+        return true;
+    }
+
+    @Override
+    public void addInt(int index, int v) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int s = size;
+        if (s == elements.length) {
+            grow(s + 1);
+        }
+        final int[] elements = this.elements;
+        System.arraycopy(elements, index, elements, index + 1, s - index);
+        elements[index] = v;
+        size = s + 1;
+    }
+
+    @Override
+    public boolean addAll(IntList c) {
+        int n = c.size();
+        if (n == 0) {
+            return false;
+        }
+        ensureCapacity(size + n);
+        if (c instanceof IntArrayList) {
+            System.arraycopy(((IntArrayList) c).elements, 0, elements, size, n);
+            size += n;
+        } else {
+            for (var it = c.iterator(); it.hasNext();) {
+                elements[size++] = it.nextInt();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    @Override
+    public int setInt(int index, int v) {
+        checkIndex(index);
+        int old = elements[index];
+        elements[index] = v;
+        return old;
+    }
+
+    @Override
+    public int removeAt(int index) {
+        checkIndex(index);
+        final int[] elements = this.elements;
+        int old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        return old;
+    }
+
+    @Override
+    public int indexOf(int v) {
+        final int[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            if (elements[i] == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(int v) {
+        final int[] elements = this.elements;
+        for (int i = size; i-- > 0;) {
+            if (elements[i] == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    @Override
+    public int binarySearch(int v) {
+        return Arrays.binarySearch(elements, 0, size, v);
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new ElementIterator();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        final int[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    @Override
+    public List<Integer> asList() {
+        return new ListView();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntList)) {
+            return false;
+        }
+        IntList other = (IntList) o;
+        int s = size;
+        if (other.size() != s) {
+            return false;
+        }
+        if (other instanceof IntArrayList) {
+            return Arrays.equals(elements, 0, s, ((IntArrayList) other).elements, 0, s);
+        }
+        final int[] elements = this.elements;
+        for (int i = 0; i < s; i++) {
+            if (elements[i] != other.getInt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this list, which is the same as the hash code of
+     * a {@code List<Integer>} containing the same values.
+     */
+    @Override
+    public int hashCode() {
+        final int[] elements = this.elements;
+        int h = 1;
+        for (int i = 0, s = size; i < s; i++) {
+            h = 31 * h + elements[i];
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        final int[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            b.append(elements[i]).append(", ");
+        }
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
+    }
+
+    private final class ElementIterator implements IntIterator {
+
+        private int cursor;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements[last = cursor++];
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            cursor = last;
+            last = -1;
+        }
+
+    }
+
+    private final class ListView extends AbstractList<Integer> implements RandomAccess {
+
+        @Override
+        public Integer get(int index) {
+            return getInt(index);
+        }
+
+        @Override
+        public Integer set(int index, Integer element) {
+            return setInt(index, element);
+        }
+
+        @Override
+        public void add(int index, Integer element) {
+            addInt(index, element);
+        }
+
+        @Override
+        public Integer remove(int index) {
+            return removeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && IntArrayList.this.contains(((Integer) o).intValue());
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Integer ? IntArrayList.this.indexOf(((Integer) o).intValue()) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return o instanceof Integer ? IntArrayList.this.lastIndexOf(((Integer) o).intValue()) : -1;
+        }
+
+        @Override
+        public void clear() {
+            IntArrayList.this.clear();
+        }
+
+    }
+
+}
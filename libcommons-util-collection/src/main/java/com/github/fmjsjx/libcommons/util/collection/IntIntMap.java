@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.function.IntUnaryOperator;
+
+import com.github.fmjsjx.libcommons.util.function.IntIntConsumer;
+
+/**
+ * A map from primitive {@code int} keys to primitive {@code int} values.
+ * <p>
+ * Absent keys are reported as value {@code 0} by {@link #get(int)},
+ * {@link #put(int, int)} and {@link #remove(int)}; use
+ * {@link #containsKey(int)} or {@link #getOrDefault(int, int)} to tell them
+ * apart from a stored {@code 0}.
+ */
+public interface IntIntMap {
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(int key);
+
+    int get(int key);
+
+    int getOrDefault(int key, int defaultValue);
+
+    int put(int key, int value);
+
+    int remove(int key);
+
+    /**
+     * Adds the given increment to the value mapped to the key, treating an
+     * absent key as {@code 0}.
+     *
+     * @param key       the key
+     * @param increment the increment
+     * @return the new value
+     */
+    int addTo(int key, int increment);
+
+    int computeIfAbsent(int key, IntUnaryOperator mappingFunction);
+
+    void forEach(IntIntConsumer action);
+
+    void clear();
+
+}
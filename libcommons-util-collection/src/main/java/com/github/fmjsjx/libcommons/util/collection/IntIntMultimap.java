@@ -0,0 +1,628 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import com.github.fmjsjx.libcommons.util.function.IntIntConsumer;
+
+/**
+ * A multimap from primitive {@code int} keys to sets of primitive
+ * {@code int} values, such as a reverse index from guild ids to member ids.
+ * <p>
+ * The keys are stored in the same open-addressing hash table layout as
+ * {@link IntHashSet}. Each group of values starts inline in a small
+ * {@code int} array, with the number of values in its first element, and is
+ * only upgraded to an {@link IntHashSet} when it grows beyond
+ * {@value #INLINE_CAPACITY} values. A set shrinking to a quarter of that is
+ * moved back inline. Keys without values are removed.
+ */
+public class IntIntMultimap {
+
+    /**
+     * The maximum number of values of a group stored inline.
+     */
+    static final int INLINE_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = DEFAULT_LOAD_FACTOR;
+
+    private int[] keys;
+    /**
+     * The groups, either an {@code int[]} or an {@link IntHashSet}; the group
+     * of the key {@code 0} is stored in the extra last slot.
+     */
+    private Object[] groups;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int keyCount;
+    private int size;
+
+    public IntIntMultimap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new multimap.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    public IntIntMultimap(int expectedKeys) {
+        int capacity = tableSizeFor(arraySize(checkInitialCapacity(expectedKeys), LOAD_FACTOR));
+        keys = new int[capacity];
+        groups = new Object[capacity + 1];
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, LOAD_FACTOR);
+    }
+
+    private int find(int key) {
+        if (key == 0) {
+            return containsZero ? keys.length : -1;
+        }
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        for (int pos = mix(key) & mask, k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the key if it is present, or {@code -(slot + 1)} after
+     * claiming a free slot for it. The caller must store the group and call
+     * {@link #afterInsert()} for new keys.
+     */
+    private int insert(int key) {
+        if (key == 0) {
+            if (containsZero) {
+                return keys.length;
+            }
+            containsZero = true;
+            return -keys.length - 1;
+        }
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        for (int k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        keys[pos] = key;
+        return -pos - 1;
+    }
+
+    private void afterInsert() {
+        if (++keyCount > maxFill) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void removeAt(int pos) {
+        groups[pos] = null;
+        if (pos == keys.length) {
+            containsZero = false;
+        } else {
+            shiftKeys(pos);
+        }
+        keyCount--;
+    }
+
+    private void shiftKeys(int pos) {
+        final int[] keys = this.keys;
+        final Object[] groups = this.groups;
+        final int mask = this.mask;
+        for (int last, slot, k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    groups[last] = null;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            groups[last] = groups[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final int[] keys = this.keys;
+        final Object[] groups = this.groups;
+        final int newMask = newCapacity - 1;
+        final int[] newKeys = new int[newCapacity];
+        final Object[] newGroups = new Object[newCapacity + 1];
+        for (int i = keys.length; i-- > 0;) {
+            int k = keys[i];
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (newKeys[pos] != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+                newGroups[pos] = groups[i];
+            }
+        }
+        newGroups[newCapacity] = groups[keys.length];
+        this.keys = newKeys;
+        this.groups = newGroups;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, LOAD_FACTOR);
+    }
+
+    private static int groupSize(Object group) {
+        return group instanceof int[] ? ((int[]) group)[0] : ((IntHashSet) group).size();
+    }
+
+    private static boolean groupContains(Object group, int value) {
+        if (group instanceof int[]) {
+            int[] a = (int[]) group;
+            for (int i = 1, n = a[0]; i <= n; i++) {
+                if (a[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return ((IntHashSet) group).contains(value);
+    }
+
+    private static void forEachInGroup(Object group, IntConsumer action) {
+        if (group instanceof int[]) {
+            int[] a = (int[]) group;
+            for (int i = 1, n = a[0]; i <= n; i++) {
+                action.accept(a[i]);
+            }
+        } else {
+            ((IntHashSet) group).forEach(action);
+        }
+    }
+
+    private static void forEachInGroup(int key, Object group, IntIntConsumer action) {
+        if (group instanceof int[]) {
+            int[] a = (int[]) group;
+            for (int i = 1, n = a[0]; i <= n; i++) {
+                action.accept(key, a[i]);
+            }
+        } else {
+            ((IntHashSet) group).forEach((int v) -> action.accept(key, v));
+        }
+    }
+
+    /**
+     * Returns the total number of key-value pairs.
+     *
+     * @return the number of key-value pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public int keyCount() {
+        return keyCount;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    public boolean containsEntry(int key, int value) {
+        int pos = find(key);
+        return pos >= 0 && groupContains(groups[pos], value);
+    }
+
+    /**
+     * Returns the number of values mapped to the given key.
+     *
+     * @param key the key
+     * @return the number of values, {@code 0} if the key is absent
+     */
+    public int valueCount(int key) {
+        int pos = find(key);
+        return pos < 0 ? 0 : groupSize(groups[pos]);
+    }
+
+    /**
+     * Adds the given value to the values mapped to the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return {@code true} if the pair was not already present
+     */
+    public boolean put(int key, int value) {
+        int pos = insert(key);
+        if (pos < 0) {
+            groups[-pos - 1] = new int[] { 1, value };
+            afterInsert();
+            size++;
+            return true;
+        }
+        Object group = groups[pos];
+        if (group instanceof int[]) {
+            int[] a = (int[]) group;
+            int n = a[0];
+            for (int i = 1; i <= n; i++) {
+                if (a[i] == value) {
+                    return false;
+                }
+            }
+            if (n == INLINE_CAPACITY) {
+                IntHashSet set = new IntHashSet(INLINE_CAPACITY << 2);
+                for (int i = 1; i <= n; i++) {
+                    set.add(a[i]);
+                }
+                set.add(value);
+                groups[pos] = set;
+            } else {
+                if (n + 1 == a.length) {
+                    groups[pos] = a = Arrays.copyOf(a, Math.min(n << 1, INLINE_CAPACITY) + 1);
+                }
+                a[n + 1] = value;
+                a[0] = n + 1;
+            }
+        } else if (!((IntHashSet) group).add(value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds all the given values to the values mapped to the key.
+     *
+     * @param key    the key
+     * @param values the values
+     * @return the number of pairs added
+     */
+    public int putAll(int key, int... values) {
+        int added = 0;
+        for (int value : values) {
+            if (put(key, value)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Removes the given value from the values mapped to the key, and the key
+     * if no value is left.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return {@code true} if the pair was present
+     */
+    public boolean remove(int key, int value) {
+        int pos = find(key);
+        if (pos < 0) {
+            return false;
+        }
+        Object group = groups[pos];
+        if (group instanceof int[]) {
+            int[] a = (int[]) group;
+            int n = a[0];
+            for (int i = 1; i <= n; i++) {
+                if (a[i] == value) {
+                    a[i] = a[n];
+                    a[0] = n - 1;
+                    if (n == 1) {
+                        removeAt(pos);
+                    }
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+        IntHashSet set = (IntHashSet) group;
+        if (!set.remove(value)) {
+            return false;
+        }
+        size--;
+        if (set.isEmpty()) {
+            // may have been shrunk by the iterator of a view
+            removeAt(pos);
+        } else if (set.size() <= INLINE_CAPACITY >> 2) {
+            int[] a = new int[INLINE_CAPACITY >> 1];
+            a[0] = set.size();
+            int[] i = { 1 };
+            set.forEach((int v) -> a[i[0]++] = v);
+            groups[pos] = a;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given key and all values mapped to it.
+     *
+     * @param key the key
+     * @return the number of values removed
+     */
+    public int removeAll(int key) {
+        int pos = find(key);
+        if (pos < 0) {
+            return 0;
+        }
+        int n = groupSize(groups[pos]);
+        removeAt(pos);
+        size -= n;
+        return n;
+    }
+
+    /**
+     * Returns a view of the values mapped to the given key.
+     * <p>
+     * The view reads through to this multimap, so it is empty while the key is
+     * absent and sees later changes; adding to or removing from the view
+     * changes this multimap. Iterators of the view only support concurrent
+     * changes through their own {@code remove}.
+     *
+     * @param key the key
+     * @return a view of the values
+     */
+    public IntSet get(int key) {
+        return new GroupView(key);
+    }
+
+    /**
+     * Performs the given action for each value mapped to the given key.
+     *
+     * @param key    the key
+     * @param action the action
+     */
+    public void forEach(int key, IntConsumer action) {
+        int pos = find(key);
+        if (pos >= 0) {
+            forEachInGroup(groups[pos], action);
+        }
+    }
+
+    /**
+     * Performs the given action for each key-value pair.
+     *
+     * @param action the action
+     */
+    public void forEach(IntIntConsumer action) {
+        final int[] keys = this.keys;
+        final Object[] groups = this.groups;
+        if (containsZero) {
+            forEachInGroup(0, groups[keys.length], action);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int k = keys[i];
+            if (k != 0) {
+                forEachInGroup(k, groups[i], action);
+            }
+        }
+    }
+
+    /**
+     * Performs the given action for each key.
+     *
+     * @param action the action
+     */
+    public void forEachKey(IntConsumer action) {
+        final int[] keys = this.keys;
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int k = keys[i];
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        keyCount = 0;
+        containsZero = false;
+        Arrays.fill(keys, 0);
+        Arrays.fill(groups, null);
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+        StringBuilder b = new StringBuilder().append('{');
+        forEachKey(k -> b.append(k).append('=').append(get(k)).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append('}').toString();
+    }
+
+    private final class GroupView extends AbstractSet<Integer> implements IntSet {
+
+        private final int key;
+
+        private GroupView(int key) {
+            this.key = key;
+        }
+
+        private Object group() {
+            int pos = find(key);
+            return pos < 0 ? null : groups[pos];
+        }
+
+        @Override
+        public int size() {
+            return valueCount(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !containsKey(key);
+        }
+
+        @Override
+        public boolean contains(int v) {
+            return containsEntry(key, v);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && contains(((Integer) o).intValue());
+        }
+
+        @Override
+        public boolean add(int v) {
+            return put(key, v);
+        }
+
+        @Override
+        public boolean add(Integer e) {
+            return put(key, e);
+        }
+
+        @Override
+        public boolean remove(int v) {
+            return IntIntMultimap.this.remove(key, v);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Integer && remove(((Integer) o).intValue());
+        }
+
+        @Override
+        public void clear() {
+            IntIntMultimap.this.removeAll(key);
+        }
+
+        @Override
+        public IntIterator iterator() {
+            return new GroupIterator(key, group());
+        }
+
+        @Override
+        public Spliterator.OfInt spliterator() {
+            return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        @Override
+        public IntStream intStream() {
+            return StreamSupport.intStream(spliterator(), false);
+        }
+
+        @Override
+        public int[] toIntArray() {
+            Object group = group();
+            if (group == null) {
+                return new int[0];
+            }
+            if (group instanceof int[]) {
+                int[] a = (int[]) group;
+                return Arrays.copyOfRange(a, 1, a[0] + 1);
+            }
+            return ((IntHashSet) group).toIntArray();
+        }
+
+        @Override
+        public void forEach(IntConsumer action) {
+            IntIntMultimap.this.forEach(key, action);
+        }
+
+    }
+
+    private final class GroupIterator implements IntIterator {
+
+        private final int key;
+        private final int[] inline;
+        private final IntIterator setIterator;
+        private int cursor = 1;
+        private int last = -1;
+
+        private GroupIterator(int key, Object group) {
+            this.key = key;
+            if (group instanceof IntHashSet) {
+                inline = null;
+                setIterator = ((IntHashSet) group).iterator();
+            } else {
+                inline = group == null ? new int[1] : (int[]) group;
+                setIterator = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return setIterator == null ? cursor <= inline[0] : setIterator.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            if (setIterator != null) {
+                int v = setIterator.nextInt();
+                last = 0;
+                return v;
+            }
+            if (cursor > inline[0]) {
+                throw new NoSuchElementException();
+            }
+            return inline[last = cursor++];
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (setIterator != null) {
+                // the set is kept as is while iterating, even if it gets small
+                setIterator.remove();
+                size--;
+                int pos = find(key);
+                if (pos >= 0 && groupSize(groups[pos]) == 0) {
+                    removeAt(pos);
+                }
+            } else {
+                // moves the last value into the removed slot, which is visited next
+                int[] a = inline;
+                int n = a[0];
+                a[last] = a[n];
+                a[0] = n - 1;
+                size--;
+                if (n == 1) {
+                    removeAt(find(key));
+                }
+                cursor = last;
+            }
+            last = -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An ordered sequence of primitive {@code int} values.
+ * <p>
+ * Unlike {@link IntSet}, this interface does not extend {@link List}, so that
+ * positional and value based removal can not be confused. Use
+ * {@link #asList()} where a {@code List<Integer>} is required.
+ */
+public interface IntList extends Iterable<Integer> {
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Appends the given value to the end of this list.
+     *
+     * @param v the value
+     * @return {@code true}
+     */
+    boolean addInt(int v);
+
+    /**
+     * Inserts the given value at the given position, shifting the subsequent
+     * values to the right.
+     *
+     * @param index the index
+     * @param v     the value
+     */
+    void addInt(int index, int v);
+
+    int getInt(int index);
+
+    /**
+     * Replaces the value at the given position.
+     *
+     * @param index the index
+     * @param v     the new value
+     * @return the previous value
+     */
+    int setInt(int index, int v);
+
+    /**
+     * Removes the value at the given position, shifting the subsequent values
+     * to the left.
+     *
+     * @param index the index
+     * @return the removed value
+     */
+    int removeAt(int index);
+
+    /**
+     * Removes the first occurrence of the given value.
+     *
+     * @param v the value
+     * @return {@code true} if this list contained the value
+     */
+    default boolean removeInt(int v) {
+        int index = indexOf(v);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    int indexOf(int v);
+
+    int lastIndexOf(int v);
+
+    default boolean contains(int v) {
+        return indexOf(v) >= 0;
+    }
+
+    default boolean addAll(IntList c) {
+        for (var it = c.iterator(); it.hasNext();) {
+            addInt(it.nextInt());
+        }
+        return !c.isEmpty();
+    }
+
+    void clear();
+
+    /**
+     * Sorts this list into ascending order in place.
+     */
+    void sort();
+
+    /**
+     * Searches this list for the given value using the binary search
+     * algorithm. The list must be sorted, see {@link #sort()}.
+     *
+     * @param v the value
+     * @return the index of the value if it is contained in this list, otherwise
+     *         {@code (-(insertion point) - 1)}
+     * @see java.util.Arrays#binarySearch(int[], int)
+     */
+    int binarySearch(int v);
+
+    @Override
+    IntIterator iterator();
+
+    @Override
+    Spliterator.OfInt spliterator();
+
+    IntStream intStream();
+
+    int[] toIntArray();
+
+    void forEach(IntConsumer action);
+
+    /**
+     * Returns a {@code List<Integer>} view of this list. Changes to either are
+     * visible in the other.
+     *
+     * @return a {@code List<Integer>} view
+     */
+    List<Integer> asList();
+
+}
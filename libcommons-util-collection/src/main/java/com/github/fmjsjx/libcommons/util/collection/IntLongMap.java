@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.function.IntToLongFunction;
+
+import com.github.fmjsjx.libcommons.util.function.IntLongConsumer;
+
+/**
+ * A map from primitive {@code int} keys to primitive {@code long} values.
+ * <p>
+ * Absent keys are reported as value {@code 0} by {@link #get(int)},
+ * {@link #put(int, long)} and {@link #remove(int)}; use
+ * {@link #containsKey(int)} or {@link #getOrDefault(int, long)} to tell them
+ * apart from a stored {@code 0}.
+ */
+public interface IntLongMap {
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(int key);
+
+    long get(int key);
+
+    long getOrDefault(int key, long defaultValue);
+
+    long put(int key, long value);
+
+    long remove(int key);
+
+    /**
+     * Adds the given increment to the value mapped to the key, treating an
+     * absent key as {@code 0}.
+     *
+     * @param key       the key
+     * @param increment the increment
+     * @return the new value
+     */
+    long addTo(int key, long increment);
+
+    long computeIfAbsent(int key, IntToLongFunction mappingFunction);
+
+    void forEach(IntLongConsumer action);
+
+    void clear();
+
+}
@@ -0,0 +1,297 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkLoadFactor;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+import com.github.fmjsjx.libcommons.util.function.IntObjectConsumer;
+
+/**
+ * An {@link IntObjectMap} implementation backed by the same open-addressing hash
+ * table layout as {@link IntHashSet}, with a parallel array of values.
+ * <p>
+ * The value of the key {@code 0} is stored in the extra last slot of the
+ * values array.
+ *
+ * @param <V> the type of mapped values
+ */
+public class IntObjectHashMap<V> implements IntObjectMap<V> {
+
+    private final float loadFactor;
+    private int[] keys;
+    private V[] values;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int size;
+
+    public IntObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public IntObjectHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        int capacity = tableSizeFor(checkInitialCapacity(initialCapacity));
+        keys = new int[capacity];
+        values = newValues(capacity + 1);
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, loadFactor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V[] newValues(int length) {
+        return (V[]) new Object[length];
+    }
+
+    private int find(int key) {
+        if (key == 0) {
+            return containsZero ? keys.length : -1;
+        }
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        for (int pos = mix(key) & mask, k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the key if it is present, or {@code -(slot + 1)} after
+     * claiming a free slot for it. The caller must store the value and call
+     * {@link #afterInsert()} for new keys.
+     */
+    private int insert(int key) {
+        if (key == 0) {
+            if (containsZero) {
+                return keys.length;
+            }
+            containsZero = true;
+            return -keys.length - 1;
+        }
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        for (int k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        keys[pos] = key;
+        return -pos - 1;
+    }
+
+    private void afterInsert() {
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private V removeAt(int pos) {
+        V oldValue = values[pos];
+        values[pos] = null;
+        if (pos == keys.length) {
+            containsZero = false;
+        } else {
+            shiftKeys(pos);
+        }
+        size--;
+        return oldValue;
+    }
+
+    private void shiftKeys(int pos) {
+        final int[] keys = this.keys;
+        final V[] values = this.values;
+        final int mask = this.mask;
+        for (int last, slot, k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final int[] keys = this.keys;
+        final V[] values = this.values;
+        final int newMask = newCapacity - 1;
+        final int[] newKeys = new int[newCapacity];
+        final V[] newValues = newValues(newCapacity + 1);
+        for (int i = keys.length; i-- > 0;) {
+            int k = keys[i];
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (newKeys[pos] != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+                newValues[pos] = values[i];
+            }
+        }
+        newValues[newCapacity] = values[keys.length];
+        this.keys = newKeys;
+        this.values = newValues;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, loadFactor);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(int key, V defaultValue) {
+        int pos = find(key);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    @Override
+    public V put(int key, V value) {
+        int pos = insert(key);
+        if (pos >= 0) {
+            V oldValue = values[pos];
+            values[pos] = value;
+            return oldValue;
+        }
+        values[-pos - 1] = value;
+        afterInsert();
+        return null;
+    }
+
+    @Override
+    public V remove(int key) {
+        int pos = find(key);
+        return pos < 0 ? null : removeAt(pos);
+    }
+
+    @Override
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        int pos = find(key);
+        if (pos >= 0 && values[pos] != null) {
+            return values[pos];
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void forEach(IntObjectConsumer<? super V> action) {
+        final int[] keys = this.keys;
+        final V[] values = this.values;
+        if (containsZero) {
+            action.accept(0, values[keys.length]);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int k = keys[i];
+            if (k != 0) {
+                action.accept(k, values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        containsZero = false;
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntObjectMap)) {
+            return false;
+        }
+        IntObjectMap<?> m = (IntObjectMap<?>) o;
+        if (m.size() != size) {
+            return false;
+        }
+        final int[] keys = this.keys;
+        final V[] values = this.values;
+        if (containsZero && (!m.containsKey(0) || !Objects.equals(m.get(0), values[keys.length]))) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int k = keys[i];
+            if (k != 0 && (!m.containsKey(k) || !Objects.equals(m.get(k), values[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] keys = this.keys;
+        final V[] values = this.values;
+        int h = containsZero ? Objects.hashCode(values[keys.length]) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            int k = keys[i];
+            if (k != 0) {
+                h += k ^ Objects.hashCode(values[i]);
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+        StringBuilder b = new StringBuilder().append('{');
+        forEach((k, v) -> b.append(k).append('=').append(v).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append('}').toString();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.function.IntFunction;
+
+import com.github.fmjsjx.libcommons.util.function.IntObjectConsumer;
+
+/**
+ * A map from primitive {@code int} keys to object values.
+ * <p>
+ * Absent keys are reported as {@code null} by {@link #get(int)},
+ * {@link #put(int, Object)} and {@link #remove(int)}.
+ *
+ * @param <V> the type of mapped values
+ */
+public interface IntObjectMap<V> {
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(int key);
+
+    V get(int key);
+
+    V getOrDefault(int key, V defaultValue);
+
+    V put(int key, V value);
+
+    V remove(int key);
+
+    /**
+     * If the key is not already associated with a non-null value, attempts to
+     * compute its value using the given mapping function and enters it into this
+     * map unless {@code null}.
+     *
+     * @param key             the key
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with the key,
+     *         or {@code null} if the computed value is {@code null}
+     */
+    V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction);
+
+    void forEach(IntObjectConsumer<? super V> action);
+
+    void clear();
+
+}
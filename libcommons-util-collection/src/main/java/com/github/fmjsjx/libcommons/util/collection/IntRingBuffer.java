@@ -0,0 +1,317 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A fixed-capacity ring buffer of primitive {@code int} values, such as a
+ * sliding window of the latest latencies of a connection.
+ * <p>
+ * In overwrite mode a full buffer drops the value at the opposite end to make
+ * room, so {@link #addLast(int)} always keeps the latest {@code capacity}
+ * values; otherwise adding to a full buffer is rejected. Adding and removing
+ * at both ends is O(1) and never allocates. {@link #sum()} is maintained on
+ * every update, {@link #min()} and {@link #max()} scan the window without
+ * allocating.
+ */
+public class IntRingBuffer implements Iterable<Integer> {
+
+    private final int[] elements;
+    private final boolean overwrite;
+    private int head;
+    private int size;
+    private long sum;
+
+    /**
+     * Creates a new ring buffer in overwrite mode.
+     *
+     * @param capacity the capacity
+     */
+    public IntRingBuffer(int capacity) {
+        this(capacity, true);
+    }
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity  the capacity
+     * @param overwrite {@code true} to drop the value at the opposite end when
+     *                  adding to a full buffer, {@code false} to reject the
+     *                  new value instead
+     */
+    public IntRingBuffer(int capacity, boolean overwrite) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        }
+        this.elements = new int[capacity];
+        this.overwrite = overwrite;
+    }
+
+    private int index(int i) {
+        int index = head + i;
+        int length = elements.length;
+        return index >= length ? index - length : index;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public boolean isOverwrite() {
+        return overwrite;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        sum = 0;
+    }
+
+    /**
+     * Adds the given value as the last (newest) value.
+     *
+     * @param v the value
+     * @return {@code false} if this buffer is full and not in overwrite mode,
+     *         otherwise {@code true}
+     */
+    public boolean addLast(int v) {
+        final int[] elements = this.elements;
+        if (size == elements.length) {
+            if (!overwrite) {
+                return false;
+            }
+            // the new value takes the slot of the oldest one
+            sum += (long) v - elements[head];
+            elements[head] = v;
+            int h = head + 1;
+            head = h == elements.length ? 0 : h;
+            return true;
+        }
+        elements[index(size)] = v;
+        size++;
+        sum += v;
+        return true;
+    }
+
+    /**
+     * Adds the given value as the first (oldest) value.
+     *
+     * @param v the value
+     * @return {@code false} if this buffer is full and not in overwrite mode,
+     *         otherwise {@code true}
+     */
+    public boolean addFirst(int v) {
+        final int[] elements = this.elements;
+        if (size == elements.length) {
+            if (!overwrite) {
+                return false;
+            }
+            // the new value takes the slot of the newest one
+            int h = head - 1;
+            head = h < 0 ? h + elements.length : h;
+            sum += (long) v - elements[head];
+            elements[head] = v;
+            return true;
+        }
+        int h = head - 1;
+        head = h < 0 ? h + elements.length : h;
+        elements[head] = v;
+        size++;
+        sum += v;
+        return true;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Removes and returns the first (oldest) value.
+     *
+     * @return the first value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int removeFirst() {
+        checkNotEmpty();
+        int v = elements[head];
+        int h = head + 1;
+        head = h == elements.length ? 0 : h;
+        size--;
+        sum -= v;
+        return v;
+    }
+
+    /**
+     * Removes and returns the last (newest) value.
+     *
+     * @return the last value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int removeLast() {
+        checkNotEmpty();
+        int v = elements[index(--size)];
+        sum -= v;
+        return v;
+    }
+
+    /**
+     * Returns the first (oldest) value.
+     *
+     * @return the first value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int getFirst() {
+        checkNotEmpty();
+        return elements[head];
+    }
+
+    /**
+     * Returns the last (newest) value.
+     *
+     * @return the last value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int getLast() {
+        checkNotEmpty();
+        return elements[index(size - 1)];
+    }
+
+    /**
+     * Returns the value at the given position, counted from the first (oldest)
+     * value.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return elements[index(index)];
+    }
+
+    /**
+     * Returns the sum of all values in the window, in O(1).
+     *
+     * @return the sum, {@code 0} if this buffer is empty
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value in the window.
+     *
+     * @return the smallest value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int min() {
+        checkNotEmpty();
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, elements[index(i)]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value in the window.
+     *
+     * @return the largest value
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public int max() {
+        checkNotEmpty();
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, elements[index(i)]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values in the window.
+     *
+     * @return the mean
+     * @throws NoSuchElementException if this buffer is empty
+     */
+    public double average() {
+        checkNotEmpty();
+        return (double) sum / size;
+    }
+
+    /**
+     * Returns an iterator from the first (oldest) to the last (newest) value.
+     */
+    @Override
+    public IntIterator iterator() {
+        return new ElementIterator();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public int[] toIntArray() {
+        int[] a = new int[size];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, first);
+        System.arraycopy(elements, 0, a, first, size - first);
+        return a;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[index(i)]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toIntArray());
+    }
+
+    private final class ElementIterator implements IntIterator {
+
+        private int cursor;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements[index(cursor++)];
+        }
+
+    }
+
+}
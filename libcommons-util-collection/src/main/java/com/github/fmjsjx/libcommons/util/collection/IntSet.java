@@ -1,5 +1,8 @@
 package com.github.fmjsjx.libcommons.util.collection;
 
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+
 import java.util.Collection;
 import java.util.Set;
 import java.util.function.IntConsumer;
@@ -7,12 +10,71 @@ import java.util.stream.IntStream;
 
 public interface IntSet extends Set<Integer> {
 
+    /**
+     * Returns a new set containing all values of the two sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the union
+     */
+    static IntSet union(IntSet a, IntSet b) {
+        IntHashSet r = new IntHashSet(arraySize(a.size() + b.size(), DEFAULT_LOAD_FACTOR));
+        r.addAll(a);
+        r.addAll(b);
+        return r;
+    }
+
+    /**
+     * Returns a new set containing the values contained in both sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the intersection
+     */
+    static IntSet intersect(IntSet a, IntSet b) {
+        IntSet smaller = a.size() <= b.size() ? a : b;
+        IntSet larger = smaller == a ? b : a;
+        IntHashSet r = new IntHashSet(arraySize(smaller.size(), DEFAULT_LOAD_FACTOR));
+        for (var it = smaller.iterator(); it.hasNext();) {
+            int v = it.nextInt();
+            if (larger.contains(v)) {
+                r.add(v);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns an immutable set containing the given values.
+     *
+     * @param values the values
+     * @return an immutable {@code IntSet}
+     * @see ImmutableIntSet
+     */
+    static IntSet of(int... values) {
+        return ImmutableIntSet.of(values);
+    }
+
+    /**
+     * Returns an immutable set containing the values of the given collection.
+     *
+     * @param c the collection
+     * @return an immutable {@code IntSet}
+     * @see ImmutableIntSet
+     */
+    static IntSet copyOf(Collection<? extends Integer> c) {
+        return ImmutableIntSet.copyOf(c);
+    }
+
     boolean contains(int v);
 
     boolean add(int v);
 
     boolean remove(int v);
 
+    @Override
+    IntIterator iterator();
+
     IntStream intStream();
 
     default int[] toIntArray() {
@@ -21,8 +83,75 @@ public interface IntSet extends Set<Integer> {
 
     void forEach(IntConsumer action);
 
+    default boolean containsAll(IntSet c) {
+        for (var it = c.iterator(); it.hasNext();) {
+            if (!contains(it.nextInt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    default boolean addAll(IntSet c) {
+        var r = false;
+        for (var it = c.iterator(); it.hasNext();) {
+            r = add(it.nextInt()) || r;
+        }
+        return r;
+    }
+
+    default boolean retainAll(IntSet c) {
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.nextInt())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    default boolean removeAll(IntSet c) {
+        var r = false;
+        if (c.size() < size()) {
+            for (var it = c.iterator(); it.hasNext();) {
+                r = remove(it.nextInt()) || r;
+            }
+        } else {
+            for (var it = iterator(); it.hasNext();) {
+                if (c.contains(it.nextInt())) {
+                    it.remove();
+                    r = true;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the number of values contained in both this set and the given set,
+     * probing the larger set with the values of the smaller one.
+     *
+     * @param c the other set
+     * @return the size of the intersection
+     */
+    default int intersectionSize(IntSet c) {
+        IntSet smaller = size() <= c.size() ? this : c;
+        IntSet larger = smaller == this ? c : this;
+        var n = 0;
+        for (var it = smaller.iterator(); it.hasNext();) {
+            if (larger.contains(it.nextInt())) {
+                n++;
+            }
+        }
+        return n;
+    }
+
     @Override
     default boolean addAll(Collection<? extends Integer> c) {
+        if (c instanceof IntSet) {
+            return addAll((IntSet) c);
+        }
         var r = false;
         for (Integer e : c) {
             r = add(e) || r;
@@ -32,6 +161,9 @@ public interface IntSet extends Set<Integer> {
 
     @Override
     default boolean removeAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return removeAll((IntSet) c);
+        }
         var r = false;
         for (Object e : c) {
             r = remove(e) || r;
@@ -0,0 +1,276 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A double-ended queue of primitive {@code long} values backed by a growable
+ * circular array.
+ * <p>
+ * Adding and removing at both ends is O(1). {@link #sum()} is maintained on
+ * every update, {@link #min()} and {@link #max()} scan the values without
+ * allocating.
+ *
+ * @see LongRingBuffer
+ */
+public class LongArrayDeque implements Iterable<Long> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private long[] elements;
+    private int head;
+    private int size;
+    private long sum;
+
+    public LongArrayDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        elements = new long[Math.max(1, initialCapacity)];
+    }
+
+    private int index(int i) {
+        int index = head + i;
+        int length = elements.length;
+        return index >= length ? index - length : index;
+    }
+
+    private void grow() {
+        final long[] elements = this.elements;
+        int oldCapacity = elements.length;
+        if (oldCapacity == MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("deque is full");
+        }
+        int newCapacity = oldCapacity + Math.max(oldCapacity >> 1, 1);
+        if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+            newCapacity = MAX_ARRAY_SIZE;
+        }
+        long[] a = new long[newCapacity];
+        int first = Math.min(size, oldCapacity - head);
+        System.arraycopy(elements, head, a, 0, first);
+        System.arraycopy(elements, 0, a, first, size - first);
+        this.elements = a;
+        head = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        sum = 0;
+    }
+
+    public void addFirst(long v) {
+        if (size == elements.length) {
+            grow();
+        }
+        int h = head - 1;
+        head = h < 0 ? h + elements.length : h;
+        elements[head] = v;
+        size++;
+        sum += v;
+    }
+
+    public void addLast(long v) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[index(size)] = v;
+        size++;
+        sum += v;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Removes and returns the first value.
+     *
+     * @return the first value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long removeFirst() {
+        checkNotEmpty();
+        long v = elements[head];
+        int h = head + 1;
+        head = h == elements.length ? 0 : h;
+        size--;
+        sum -= v;
+        return v;
+    }
+
+    /**
+     * Removes and returns the last value.
+     *
+     * @return the last value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long removeLast() {
+        checkNotEmpty();
+        long v = elements[index(--size)];
+        sum -= v;
+        return v;
+    }
+
+    /**
+     * Returns the first value.
+     *
+     * @return the first value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long getFirst() {
+        checkNotEmpty();
+        return elements[head];
+    }
+
+    /**
+     * Returns the last value.
+     *
+     * @return the last value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long getLast() {
+        checkNotEmpty();
+        return elements[index(size - 1)];
+    }
+
+    /**
+     * Returns the value at the given position, counted from the first value.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return elements[index(index)];
+    }
+
+    /**
+     * Returns the sum of all values, in O(1).
+     *
+     * @return the sum, {@code 0} if this deque is empty
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the smallest value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long min() {
+        checkNotEmpty();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, elements[index(i)]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the largest value
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public long max() {
+        checkNotEmpty();
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, elements[index(i)]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of all values.
+     *
+     * @return the mean
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public double average() {
+        checkNotEmpty();
+        return (double) sum / size;
+    }
+
+    /**
+     * Returns an iterator from the first to the last value.
+     */
+    @Override
+    public LongIterator iterator() {
+        return new ElementIterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    public LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    public long[] toLongArray() {
+        long[] a = new long[size];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, first);
+        System.arraycopy(elements, 0, a, first, size - first);
+        return a;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[index(i)]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toLongArray());
+    }
+
+    private final class ElementIterator implements LongIterator {
+
+        private int cursor;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements[index(cursor++)];
+        }
+
+    }
+
+}
@@ -0,0 +1,389 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An {@link LongList} implementation backed by a growable primitive
+ * {@code long} array.
+ */
+public class LongArrayList implements LongList, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final long[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Returns a new list containing the given values.
+     *
+     * @param values the values
+     * @return a new {@code LongArrayList}
+     */
+    public static final LongArrayList of(long... values) {
+        return new LongArrayList(values.clone(), values.length);
+    }
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        elements = initialCapacity == 0 ? EMPTY_ELEMENTS : new long[initialCapacity];
+    }
+
+    public LongArrayList(Collection<? extends Long> c) {
+        this(c.size());
+        for (Long e : c) {
+            addLong(e);
+        }
+    }
+
+    public LongArrayList(LongList c) {
+        this(c.toLongArray(), c.size());
+    }
+
+    private LongArrayList(long[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * Makes sure this list can hold at least the given number of values without
+     * growing.
+     *
+     * @param minCapacity the minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the size of this list.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY_ELEMENTS : Arrays.copyOf(elements, size);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("required array size too large: " + Integer.toUnsignedString(minCapacity));
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+            newCapacity = MAX_ARRAY_SIZE;
+        }
+        elements = Arrays.copyOf(elements, Math.max(newCapacity, Math.max(minCapacity, DEFAULT_CAPACITY)));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean addLong(long v) {
+        int s = size;
+        if (s == elements.length) {
+            grow(s + 1);
+        }
+        elements[s] = v;
+        size = s + 1;
+        return true;
+    }
+
+    @Override
+    public void addLong(int index, long v) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int s = size;
+        if (s == elements.length) {
+            grow(s + 1);
+        }
+        final long[] elements = this.elements;
+        System.arraycopy(elements, index, elements, index + 1, s - index);
+        elements[index] = v;
+        size = s + 1;
+    }
+
+    @Override
+    public boolean addAll(LongList c) {
+        int n = c.size();
+        if (n == 0) {
+            return false;
+        }
+        ensureCapacity(size + n);
+        if (c instanceof LongArrayList) {
+            System.arraycopy(((LongArrayList) c).elements, 0, elements, size, n);
+            size += n;
+        } else {
+            for (var it = c.iterator(); it.hasNext();) {
+                elements[size++] = it.nextLong();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getLong(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    @Override
+    public long setLong(int index, long v) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = v;
+        return old;
+    }
+
+    @Override
+    public long removeAt(int index) {
+        checkIndex(index);
+        final long[] elements = this.elements;
+        long old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        return old;
+    }
+
+    @Override
+    public int indexOf(long v) {
+        final long[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            if (elements[i] == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(long v) {
+        final long[] elements = this.elements;
+        for (int i = size; i-- > 0;) {
+            if (elements[i] == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    @Override
+    public int binarySearch(long v) {
+        return Arrays.binarySearch(elements, 0, size, v);
+    }
+
+    @Override
+    public LongIterator iterator() {
+        return new ElementIterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    @Override
+    public long[] toLongArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        final long[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    @Override
+    public List<Long> asList() {
+        return new ListView();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LongList)) {
+            return false;
+        }
+        LongList other = (LongList) o;
+        int s = size;
+        if (other.size() != s) {
+            return false;
+        }
+        if (other instanceof LongArrayList) {
+            return Arrays.equals(elements, 0, s, ((LongArrayList) other).elements, 0, s);
+        }
+        final long[] elements = this.elements;
+        for (int i = 0; i < s; i++) {
+            if (elements[i] != other.getLong(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this list, which is the same as the hash code of
+     * a {@code List<Long>} containing the same values.
+     */
+    @Override
+    public int hashCode() {
+        final long[] elements = this.elements;
+        int h = 1;
+        for (int i = 0, s = size; i < s; i++) {
+            h = 31 * h + Long.hashCode(elements[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        final long[] elements = this.elements;
+        for (int i = 0, s = size; i < s; i++) {
+            b.append(elements[i]).append(", ");
+        }
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
+    }
+
+    private final class ElementIterator implements LongIterator {
+
+        private int cursor;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements[last = cursor++];
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            cursor = last;
+            last = -1;
+        }
+
+    }
+
+    private final class ListView extends AbstractList<Long> implements RandomAccess {
+
+        @Override
+        public Long get(int index) {
+            return getLong(index);
+        }
+
+        @Override
+        public Long set(int index, Long element) {
+            return setLong(index, element);
+        }
+
+        @Override
+        public void add(int index, Long element) {
+            addLong(index, element);
+        }
+
+        @Override
+        public Long remove(int index) {
+            return removeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Long && LongArrayList.this.contains(((Long) o).longValue());
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Long ? LongArrayList.this.indexOf(((Long) o).longValue()) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return o instanceof Long ? LongArrayList.this.lastIndexOf(((Long) o).longValue()) : -1;
+        }
+
+        @Override
+        public void clear() {
+            LongArrayList.this.clear();
+        }
+
+    }
+
+}
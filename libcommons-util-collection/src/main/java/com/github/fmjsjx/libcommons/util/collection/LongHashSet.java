@@ -1,129 +1,561 @@
 package com.github.fmjsjx.libcommons.util.collection;
 
-import static com.github.fmjsjx.libcommons.util.collection.IntHashSet.PRESENT;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkLoadFactor;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.LongConsumer;
 import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 
-import io.netty.util.collection.LongObjectHashMap;
-import io.netty.util.collection.LongObjectMap.PrimitiveEntry;
-
+/**
+ * An {@link LongSet} implementation backed by an open-addressing hash table of
+ * primitive {@code long} keys.
+ */
 public class LongHashSet implements LongSet {
 
-    private final LongObjectHashMap<Object> map;
+    private final float loadFactor;
+    private long[] keys;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int size;
 
     public LongHashSet() {
-        map = new LongObjectHashMap<>();
+        this(DEFAULT_INITIAL_CAPACITY);
     }
 
     public LongHashSet(Collection<? extends Long> c) {
-        this(Math.max((int) (c.size() / .75f) + 1, 16));
+        this(arraySize(c.size(), DEFAULT_LOAD_FACTOR));
         addAll(c);
     }
 
     public LongHashSet(long... array) {
-        this(Math.max((int) (array.length / .75f) + 1, 16));
+        this(arraySize(array.length, DEFAULT_LOAD_FACTOR));
         for (long v : array) {
             add(v);
         }
     }
 
     public LongHashSet(int initialCapacity) {
-        map = new LongObjectHashMap<>(initialCapacity);
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
     }
 
     public LongHashSet(int initialCapacity, float loadFactor) {
-        map = new LongObjectHashMap<>(initialCapacity, loadFactor);
+        this.loadFactor = checkLoadFactor(loadFactor);
+        int capacity = tableSizeFor(checkInitialCapacity(initialCapacity));
+        keys = new long[capacity];
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, loadFactor);
+    }
+
+    @Override
+    public boolean contains(long v) {
+        if (v == 0) {
+            return containsZero;
+        }
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (long k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(long v) {
+        if (v == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+        } else {
+            final long[] keys = this.keys;
+            final int mask = this.mask;
+            int pos = mix(v) & mask;
+            for (long k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+                if (k == v) {
+                    return false;
+                }
+            }
+            keys[pos] = v;
+        }
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(long v) {
+        if (v == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (long k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                shiftKeys(pos);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int last, slot;
+        for (long k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+        }
+    }
+
+    private void ensureCapacity(int expected) {
+        if (expected > maxFill) {
+            rehash(arraySize(expected, loadFactor));
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final long[] keys = this.keys;
+        final int newMask = newCapacity - 1;
+        final long[] newKeys = new long[newCapacity];
+        for (int i = keys.length; i-- > 0;) {
+            long k = keys[i];
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (newKeys[pos] != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+            }
+        }
+        this.keys = newKeys;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, loadFactor);
+    }
+
+    @Override
+    public LongStream longStream() {
+        return StreamSupport.longStream(new KeySpliterator(), false);
+    }
+
+    @Override
+    public long[] toLongArray() {
+        long[] a = new long[size];
+        int i = 0;
+        if (containsZero) {
+            i++;
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                a[i++] = k;
+            }
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
     }
 
     @Override
     public int size() {
-        return map.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return map.isEmpty();
+        return size == 0;
     }
 
     @Override
     public boolean contains(Object o) {
-        return map.containsKey(o);
+        return o instanceof Long && contains(((Long) o).longValue());
     }
 
     @Override
-    public Iterator<Long> iterator() {
-        return map.keySet().iterator();
+    public LongIterator iterator() {
+        return new KeyIterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return new KeySpliterator();
     }
 
     @Override
     public Object[] toArray() {
-        return map.keySet().toArray();
+        Object[] a = new Object[size];
+        int i = 0;
+        if (containsZero) {
+            a[i++] = 0L;
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                a[i++] = k;
+            }
+        }
+        return a;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> T[] toArray(T[] a) {
-        return map.keySet().toArray(a);
+        int size = this.size;
+        T[] r = a.length >= size ? a
+                : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        int i = 0;
+        if (containsZero) {
+            r[i++] = (T) Long.valueOf(0);
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                r[i++] = (T) Long.valueOf(k);
+            }
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
     }
 
     @Override
     public boolean add(Long e) {
-        return map.put(e, PRESENT) == null;
+        return add(e.longValue());
     }
 
     @Override
     public boolean remove(Object o) {
-        return map.remove(o) == PRESENT;
+        return o instanceof Long && remove(((Long) o).longValue());
     }
 
     @Override
     public boolean containsAll(Collection<?> c) {
-        return map.keySet().containsAll(c);
+        if (c instanceof LongSet) {
+            return containsAll((LongSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
-    public boolean retainAll(Collection<?> c) {
-        return map.keySet().retainAll(c);
+    public boolean addAll(LongSet c) {
+        int before = size;
+        ensureCapacity(before + c.size());
+        c.forEach((long v) -> add(v));
+        return size != before;
     }
 
     @Override
-    public void clear() {
-        map.clear();
+    public boolean retainAll(LongSet c) {
+        if (c.size() >= size) {
+            return LongSet.super.retainAll(c);
+        }
+        // rebuild from the smaller set, which also shrinks the table
+        LongHashSet r = new LongHashSet(arraySize(c.size(), loadFactor), loadFactor);
+        for (var it = c.iterator(); it.hasNext();) {
+            long v = it.nextLong();
+            if (contains(v)) {
+                r.add(v);
+            }
+        }
+        if (r.size == size) {
+            return false;
+        }
+        keys = r.keys;
+        containsZero = r.containsZero;
+        mask = r.mask;
+        maxFill = r.maxFill;
+        size = r.size;
+        return true;
     }
 
     @Override
-    public boolean contains(long v) {
-        return map.containsKey(v);
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof LongSet) {
+            return retainAll((LongSet) c);
+        }
+        var r = false;
+        for (var it = new KeyIterator(); it.hasNext();) {
+            if (!c.contains(it.nextLong())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
     }
 
     @Override
-    public boolean add(long v) {
-        return map.put(v, PRESENT) == null;
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        containsZero = false;
+        Arrays.fill(keys, 0);
     }
 
     @Override
-    public boolean remove(long v) {
-        return map.remove(v) == PRESENT;
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size) {
+            return false;
+        }
+        return containsAll(s);
     }
 
     @Override
-    public LongStream longStream() {
-        return StreamSupport.stream(map.entries().spliterator(), false).mapToLong(PrimitiveEntry::key);
+    public int hashCode() {
+        int h = 0;
+        for (long k : keys) {
+            h += Long.hashCode(k);
+        }
+        return h;
     }
 
     @Override
-    public void forEach(LongConsumer action) {
-        for (PrimitiveEntry<Object> entry : map.entries()) {
-            action.accept(entry.key());
+    public String toString() {
+        if (size == 0) {
+            return "[]";
         }
+        StringBuilder b = new StringBuilder().append('[');
+        if (containsZero) {
+            b.append(0).append(", ");
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                b.append(k).append(", ");
+            }
+        }
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
     }
 
-    @Override
-    public String toString() {
-        return map.keySet().toString();
+    private final class KeyIterator implements LongIterator {
+
+        // Walks the table backwards so that the backward shift caused by remove()
+        // only ever moves already-visited keys, except for the keys wrapping around
+        // from the head of the table, which are collected into wrapped.
+        private int pos = keys.length;
+        private int last = -1;
+        private int remaining = size;
+        private boolean mustReturnZero = containsZero;
+        private long[] wrapped;
+        private int wrappedSize;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                last = keys.length;
+                return 0;
+            }
+            final long[] keys = LongHashSet.this.keys;
+            for (;;) {
+                if (--pos < 0) {
+                    last = Integer.MIN_VALUE;
+                    return wrapped[-pos - 1];
+                }
+                if (keys[pos] != 0) {
+                    return keys[last = pos];
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (last == keys.length) {
+                containsZero = false;
+                size--;
+            } else if (pos >= 0) {
+                shiftKeys(last);
+                size--;
+            } else {
+                LongHashSet.this.remove(wrapped[-pos - 1]);
+            }
+            last = -1;
+        }
+
+        private void shiftKeys(int pos) {
+            final long[] keys = LongHashSet.this.keys;
+            final int mask = LongHashSet.this.mask;
+            int last, slot;
+            for (long k;;) {
+                pos = ((last = pos) + 1) & mask;
+                for (;;) {
+                    if ((k = keys[pos]) == 0) {
+                        keys[last] = 0;
+                        return;
+                    }
+                    slot = mix(k) & mask;
+                    if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                        break;
+                    }
+                    pos = (pos + 1) & mask;
+                }
+                if (pos < last) {
+                    if (wrapped == null) {
+                        wrapped = new long[2];
+                    } else if (wrappedSize == wrapped.length) {
+                        wrapped = Arrays.copyOf(wrapped, wrappedSize << 1);
+                    }
+                    wrapped[wrappedSize++] = k;
+                }
+                keys[last] = k;
+            }
+        }
+
+    }
+
+    private final class KeySpliterator implements Spliterator.OfLong {
+
+        private int pos;
+        private final int max;
+        private boolean mustReturnZero;
+        private boolean hasSplit;
+        private int consumed;
+
+        private KeySpliterator() {
+            this(0, keys.length, containsZero, false);
+        }
+
+        private KeySpliterator(int pos, int max, boolean mustReturnZero, boolean hasSplit) {
+            this.pos = pos;
+            this.max = max;
+            this.mustReturnZero = mustReturnZero;
+            this.hasSplit = hasSplit;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                consumed++;
+                action.accept(0);
+                return true;
+            }
+            final long[] keys = LongHashSet.this.keys;
+            while (pos < max) {
+                long k = keys[pos++];
+                if (k != 0) {
+                    consumed++;
+                    action.accept(k);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                consumed++;
+                action.accept(0);
+            }
+            final long[] keys = LongHashSet.this.keys;
+            final int max = this.max;
+            for (; pos < max; pos++) {
+                long k = keys[pos];
+                if (k != 0) {
+                    consumed++;
+                    action.accept(k);
+                }
+            }
+        }
+
+        @Override
+        public OfLong trySplit() {
+            int half = (max - pos) >> 1;
+            if (half <= 1) {
+                return null;
+            }
+            int mid = pos + half;
+            var prefix = new KeySpliterator(pos, mid, mustReturnZero, true);
+            pos = mid;
+            mustReturnZero = false;
+            hasSplit = true;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (!hasSplit) {
+                return size - consumed;
+            }
+            return (long) ((double) size / keys.length * (max - pos)) + (mustReturnZero ? 1 : 0);
+        }
+
+        @Override
+        public int characteristics() {
+            return hasSplit ? DISTINCT | NONNULL : SIZED | DISTINCT | NONNULL;
+        }
+
     }
 
 }
@@ -0,0 +1,242 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.github.fmjsjx.libcommons.util.function.LongLongConsumer;
+
+/**
+ * A priority queue of primitive {@code long} keys, each carrying a primitive
+ * {@code long} payload, backed by a binary heap.
+ * <p>
+ * The head is the smallest key, or the largest one for a reversed queue. A
+ * typical use is a queue of scores with the user ids as payloads. No
+ * allocation happens as long as the queue stays within its capacity. The
+ * order of entries with equal keys is unspecified.
+ */
+public class LongHeapPriorityQueue {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean reversed;
+    private long[] keys;
+    private long[] payloads;
+    private int size;
+
+    public LongHeapPriorityQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHeapPriorityQueue(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Creates a new queue.
+     *
+     * @param initialCapacity the initial capacity
+     * @param reversed        {@code true} to poll the largest key first
+     */
+    public LongHeapPriorityQueue(int initialCapacity, boolean reversed) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        this.reversed = reversed;
+        int capacity = Math.max(1, initialCapacity);
+        keys = new long[capacity];
+        payloads = new long[capacity];
+    }
+
+    private boolean before(long a, long b) {
+        return reversed ? a > b : a < b;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns {@code true} if this queue polls the largest key first.
+     *
+     * @return {@code true} if this queue polls the largest key first
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Inserts the given key with a payload of {@code 0}.
+     *
+     * @param key the key
+     */
+    public void offer(long key) {
+        offer(key, 0);
+    }
+
+    /**
+     * Inserts the given key and payload.
+     *
+     * @param key     the key
+     * @param payload the payload
+     */
+    public void offer(long key, long payload) {
+        int s = size;
+        if (s == keys.length) {
+            int capacity = s + Math.max(s >> 1, 1);
+            keys = Arrays.copyOf(keys, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        size = s + 1;
+        siftUp(s, key, payload);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the key at the head of this queue.
+     *
+     * @return the head key
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long peek() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Returns the payload of the head of this queue.
+     *
+     * @return the head payload
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long peekPayload() {
+        checkNotEmpty();
+        return payloads[0];
+    }
+
+    /**
+     * Removes the head of this queue and returns its key. Use
+     * {@link #peekPayload()} before, or {@link #pollPayload()} instead, to get
+     * its payload.
+     *
+     * @return the head key
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long poll() {
+        checkNotEmpty();
+        long key = keys[0];
+        removeHead();
+        return key;
+    }
+
+    /**
+     * Removes the head of this queue and returns its payload.
+     *
+     * @return the head payload
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long pollPayload() {
+        checkNotEmpty();
+        long payload = payloads[0];
+        removeHead();
+        return payload;
+    }
+
+    private void removeHead() {
+        int s = --size;
+        if (s > 0) {
+            siftDown(0, keys[s], payloads[s]);
+        }
+    }
+
+    /**
+     * Replaces the head of this queue with the given key and payload, which is
+     * cheaper than a {@link #poll()} followed by an
+     * {@link #offer(long, long)}.
+     *
+     * @param key     the key
+     * @param payload the payload
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public void replaceHead(long key, long payload) {
+        checkNotEmpty();
+        siftDown(0, key, payload);
+    }
+
+    private void siftUp(int pos, long key, long payload) {
+        final long[] keys = this.keys;
+        final long[] payloads = this.payloads;
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            long k = keys[parent];
+            if (!before(key, k)) {
+                break;
+            }
+            keys[pos] = k;
+            payloads[pos] = payloads[parent];
+            pos = parent;
+        }
+        keys[pos] = key;
+        payloads[pos] = payload;
+    }
+
+    private void siftDown(int pos, long key, long payload) {
+        final long[] keys = this.keys;
+        final long[] payloads = this.payloads;
+        final int half = size >>> 1;
+        while (pos < half) {
+            int child = (pos << 1) + 1;
+            long k = keys[child];
+            int right = child + 1;
+            if (right < size && before(keys[right], k)) {
+                k = keys[child = right];
+            }
+            if (!before(k, key)) {
+                break;
+            }
+            keys[pos] = k;
+            payloads[pos] = payloads[child];
+            pos = child;
+        }
+        keys[pos] = key;
+        payloads[pos] = payload;
+    }
+
+    /**
+     * Performs the given action for each key and payload in this queue, in no
+     * particular order.
+     *
+     * @param action the action
+     */
+    public void forEach(LongLongConsumer action) {
+        final long[] keys = this.keys;
+        final long[] payloads = this.payloads;
+        for (int i = 0, s = size; i < s; i++) {
+            action.accept(keys[i], payloads[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        forEach((k, v) -> b.append(k).append('=').append(v).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * An iterator over primitive {@code long} values.
+ */
+public interface LongIterator extends PrimitiveIterator.OfLong {
+
+}
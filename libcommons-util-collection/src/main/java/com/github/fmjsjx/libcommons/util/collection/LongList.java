@@ -0,0 +1,128 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * An ordered sequence of primitive {@code long} values.
+ * <p>
+ * Unlike {@link LongSet}, this interface does not extend {@link List}, so that
+ * positional and value based removal can not be confused. Use
+ * {@link #asList()} where a {@code List<Long>} is required.
+ */
+public interface LongList extends Iterable<Long> {
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Appends the given value to the end of this list.
+     *
+     * @param v the value
+     * @return {@code true}
+     */
+    boolean addLong(long v);
+
+    /**
+     * Inserts the given value at the given position, shifting the subsequent
+     * values to the right.
+     *
+     * @param index the index
+     * @param v     the value
+     */
+    void addLong(int index, long v);
+
+    long getLong(int index);
+
+    /**
+     * Replaces the value at the given position.
+     *
+     * @param index the index
+     * @param v     the new value
+     * @return the previous value
+     */
+    long setLong(int index, long v);
+
+    /**
+     * Removes the value at the given position, shifting the subsequent values
+     * to the left.
+     *
+     * @param index the index
+     * @return the removed value
+     */
+    long removeAt(int index);
+
+    /**
+     * Removes the first occurrence of the given value.
+     *
+     * @param v the value
+     * @return {@code true} if this list contained the value
+     */
+    default boolean removeLong(long v) {
+        int index = indexOf(v);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    int indexOf(long v);
+
+    int lastIndexOf(long v);
+
+    default boolean contains(long v) {
+        return indexOf(v) >= 0;
+    }
+
+    default boolean addAll(LongList c) {
+        for (var it = c.iterator(); it.hasNext();) {
+            addLong(it.nextLong());
+        }
+        return !c.isEmpty();
+    }
+
+    void clear();
+
+    /**
+     * Sorts this list into ascending order in place.
+     */
+    void sort();
+
+    /**
+     * Searches this list for the given value using the binary search
+     * algorithm. The list must be sorted, see {@link #sort()}.
+     *
+     * @param v the value
+     * @return the index of the value if it is contained in this list, otherwise
+     *         {@code (-(insertion point) - 1)}
+     * @see java.util.Arrays#binarySearch(long[], long)
+     */
+    int binarySearch(long v);
+
+    @Override
+    LongIterator iterator();
+
+    @Override
+    Spliterator.OfLong spliterator();
+
+    LongStream longStream();
+
+    long[] toLongArray();
+
+    void forEach(LongConsumer action);
+
+    /**
+     * Returns a {@code List<Long>} view of this list. Changes to either are
+     * visible in the other.
+     *
+     * @return a {@code List<Long>} view
+     */
+    List<Long> asList();
+
+}
@@ -0,0 +1,297 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkLoadFactor;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+import com.github.fmjsjx.libcommons.util.function.LongLongConsumer;
+
+/**
+ * An {@link LongLongMap} implementation backed by the same open-addressing hash
+ * table layout as {@link LongHashSet}, with a parallel array of values.
+ * <p>
+ * The value of the key {@code 0} is stored in the extra last slot of the
+ * values array.
+ */
+public class LongLongHashMap implements LongLongMap {
+
+    private final float loadFactor;
+    private long[] keys;
+    private long[] values;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int size;
+
+    public LongLongHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongLongHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongLongHashMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        int capacity = tableSizeFor(checkInitialCapacity(initialCapacity));
+        keys = new long[capacity];
+        values = new long[capacity + 1];
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, loadFactor);
+    }
+
+    private int find(long key) {
+        if (key == 0) {
+            return containsZero ? keys.length : -1;
+        }
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        for (long k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the key if it is present, or {@code -(slot + 1)} after
+     * claiming a free slot for it. The caller must store the value and call
+     * {@link #afterInsert()} for new keys.
+     */
+    private int insert(long key) {
+        if (key == 0) {
+            if (containsZero) {
+                return keys.length;
+            }
+            containsZero = true;
+            return -keys.length - 1;
+        }
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        for (long k; (k = keys[pos]) != 0; pos = (pos + 1) & mask) {
+            if (k == key) {
+                return pos;
+            }
+        }
+        keys[pos] = key;
+        return -pos - 1;
+    }
+
+    private void afterInsert() {
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private long removeAt(int pos) {
+        long oldValue = values[pos];
+        if (pos == keys.length) {
+            containsZero = false;
+        } else {
+            shiftKeys(pos);
+        }
+        size--;
+        return oldValue;
+    }
+
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int mask = this.mask;
+        int last, slot;
+        for (long k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int newMask = newCapacity - 1;
+        final long[] newKeys = new long[newCapacity];
+        final long[] newValues = new long[newCapacity + 1];
+        for (int i = keys.length; i-- > 0;) {
+            long k = keys[i];
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (newKeys[pos] != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+                newValues[pos] = values[i];
+            }
+        }
+        newValues[newCapacity] = values[keys.length];
+        this.keys = newKeys;
+        this.values = newValues;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, loadFactor);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    @Override
+    public long getOrDefault(long key, long defaultValue) {
+        int pos = find(key);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    @Override
+    public long put(long key, long value) {
+        int pos = insert(key);
+        if (pos >= 0) {
+            long oldValue = values[pos];
+            values[pos] = value;
+            return oldValue;
+        }
+        values[-pos - 1] = value;
+        afterInsert();
+        return 0;
+    }
+
+    @Override
+    public long remove(long key) {
+        int pos = find(key);
+        return pos < 0 ? 0 : removeAt(pos);
+    }
+
+    @Override
+    public long addTo(long key, long increment) {
+        int pos = insert(key);
+        if (pos >= 0) {
+            return values[pos] += increment;
+        }
+        values[-pos - 1] = increment;
+        afterInsert();
+        return increment;
+    }
+
+    @Override
+    public long computeIfAbsent(long key, LongUnaryOperator mappingFunction) {
+        int pos = find(key);
+        if (pos >= 0) {
+            return values[pos];
+        }
+        long value = mappingFunction.applyAsLong(key);
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void forEach(LongLongConsumer action) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        if (containsZero) {
+            action.accept(0L, values[keys.length]);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            long k = keys[i];
+            if (k != 0) {
+                action.accept(k, values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        containsZero = false;
+        Arrays.fill(keys, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LongLongMap)) {
+            return false;
+        }
+        LongLongMap m = (LongLongMap) o;
+        if (m.size() != size) {
+            return false;
+        }
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        if (containsZero && (!m.containsKey(0L) || m.get(0L) != values[keys.length])) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            long k = keys[i];
+            if (k != 0 && (!m.containsKey(k) || m.get(k) != values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        int h = containsZero ? Long.hashCode(values[keys.length]) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            long k = keys[i];
+            if (k != 0) {
+                h += Long.hashCode(k) ^ Long.hashCode(values[i]);
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+        StringBuilder b = new StringBuilder().append('{');
+        forEach((k, v) -> b.append(k).append('=').append(v).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append('}').toString();
+    }
+
+}
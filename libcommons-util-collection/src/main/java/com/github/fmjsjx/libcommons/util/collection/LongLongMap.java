@@ -0,0 +1,47 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.function.LongUnaryOperator;
+
+import com.github.fmjsjx.libcommons.util.function.LongLongConsumer;
+
+/**
+ * A map from primitive {@code long} keys to primitive {@code long} values.
+ * <p>
+ * Absent keys are reported as value {@code 0} by {@link #get(long)},
+ * {@link #put(long, long)} and {@link #remove(long)}; use
+ * {@link #containsKey(long)} or {@link #getOrDefault(long, long)} to tell them
+ * apart from a stored {@code 0}.
+ */
+public interface LongLongMap {
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(long key);
+
+    long get(long key);
+
+    long getOrDefault(long key, long defaultValue);
+
+    long put(long key, long value);
+
+    long remove(long key);
+
+    /**
+     * Adds the given increment to the value mapped to the key, treating an
+     * absent key as {@code 0}.
+     *
+     * @param key       the key
+     * @param increment the increment
+     * @return the new value
+     */
+    long addTo(long key, long increment);
+
+    long computeIfAbsent(long key, LongUnaryOperator mappingFunction);
+
+    void forEach(LongLongConsumer action);
+
+    void clear();
+
+}
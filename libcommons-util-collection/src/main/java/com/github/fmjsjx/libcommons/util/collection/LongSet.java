@@ -1,5 +1,8 @@
 package com.github.fmjsjx.libcommons.util.collection;
 
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+
 import java.util.Collection;
 import java.util.Set;
 import java.util.function.LongConsumer;
@@ -7,12 +10,71 @@ import java.util.stream.LongStream;
 
 public interface LongSet extends Set<Long> {
 
+    /**
+     * Returns a new set containing all values of the two sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the union
+     */
+    static LongSet union(LongSet a, LongSet b) {
+        LongHashSet r = new LongHashSet(arraySize(a.size() + b.size(), DEFAULT_LOAD_FACTOR));
+        r.addAll(a);
+        r.addAll(b);
+        return r;
+    }
+
+    /**
+     * Returns a new set containing the values contained in both sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return the intersection
+     */
+    static LongSet intersect(LongSet a, LongSet b) {
+        LongSet smaller = a.size() <= b.size() ? a : b;
+        LongSet larger = smaller == a ? b : a;
+        LongHashSet r = new LongHashSet(arraySize(smaller.size(), DEFAULT_LOAD_FACTOR));
+        for (var it = smaller.iterator(); it.hasNext();) {
+            long v = it.nextLong();
+            if (larger.contains(v)) {
+                r.add(v);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns an immutable set containing the given values.
+     *
+     * @param values the values
+     * @return an immutable {@code LongSet}
+     * @see ImmutableLongSet
+     */
+    static LongSet of(long... values) {
+        return ImmutableLongSet.of(values);
+    }
+
+    /**
+     * Returns an immutable set containing the values of the given collection.
+     *
+     * @param c the collection
+     * @return an immutable {@code LongSet}
+     * @see ImmutableLongSet
+     */
+    static LongSet copyOf(Collection<? extends Long> c) {
+        return ImmutableLongSet.copyOf(c);
+    }
+
     boolean contains(long v);
 
     boolean add(long v);
 
     boolean remove(long v);
 
+    @Override
+    LongIterator iterator();
+
     LongStream longStream();
 
     default long[] toLongArray() {
@@ -21,8 +83,75 @@ public interface LongSet extends Set<Long> {
 
     void forEach(LongConsumer action);
 
+    default boolean containsAll(LongSet c) {
+        for (var it = c.iterator(); it.hasNext();) {
+            if (!contains(it.nextLong())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    default boolean addAll(LongSet c) {
+        var r = false;
+        for (var it = c.iterator(); it.hasNext();) {
+            r = add(it.nextLong()) || r;
+        }
+        return r;
+    }
+
+    default boolean retainAll(LongSet c) {
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.nextLong())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    default boolean removeAll(LongSet c) {
+        var r = false;
+        if (c.size() < size()) {
+            for (var it = c.iterator(); it.hasNext();) {
+                r = remove(it.nextLong()) || r;
+            }
+        } else {
+            for (var it = iterator(); it.hasNext();) {
+                if (c.contains(it.nextLong())) {
+                    it.remove();
+                    r = true;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the number of values contained in both this set and the given set,
+     * probing the larger set with the values of the smaller one.
+     *
+     * @param c the other set
+     * @return the size of the intersection
+     */
+    default int intersectionSize(LongSet c) {
+        LongSet smaller = size() <= c.size() ? this : c;
+        LongSet larger = smaller == this ? c : this;
+        var n = 0;
+        for (var it = smaller.iterator(); it.hasNext();) {
+            if (larger.contains(it.nextLong())) {
+                n++;
+            }
+        }
+        return n;
+    }
+
     @Override
     default boolean addAll(Collection<? extends Long> c) {
+        if (c instanceof LongSet) {
+            return addAll((LongSet) c);
+        }
         var r = false;
         for (Long e : c) {
             r = add(e) || r;
@@ -32,6 +161,9 @@ public interface LongSet extends Set<Long> {
 
     @Override
     default boolean removeAll(Collection<?> c) {
+        if (c instanceof LongSet) {
+            return removeAll((LongSet) c);
+        }
         var r = false;
         for (Object e : c) {
             r = remove(e) || r;
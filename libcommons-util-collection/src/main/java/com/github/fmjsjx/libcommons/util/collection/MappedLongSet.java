@@ -0,0 +1,412 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.SetSnapshotFormat.PAGE_MASK;
+import static com.github.fmjsjx.libcommons.util.collection.SetSnapshotFormat.PAGE_SHIFT;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A read-only {@link LongSet} backed by a memory-mapped snapshot file.
+ * <p>
+ * {@link #write(LongSet, Path)} stores a set as a ready-to-probe hash table
+ * (see {@link SetSnapshotFormat}) and atomically replaces the target file.
+ * {@link #open(Path)} maps such a file without reading or deserializing it, so
+ * opening costs the same for a thousand and for a hundred million keys; pages
+ * are loaded by the operating system on first access.
+ * <p>
+ * All mutating methods throw {@link UnsupportedOperationException}.
+ * {@link #close()} unmaps the file; any further use of the set throws
+ * {@link IllegalStateException}.
+ */
+public class MappedLongSet implements LongSet, AutoCloseable {
+
+    private static final int KEY_BYTES = Long.BYTES;
+
+    /**
+     * Writes the given set to the given file as a snapshot that can be opened
+     * by {@link #open(Path)}.
+     * <p>
+     * The snapshot is written to a temporary file in the same directory first,
+     * which then atomically replaces the target file. The set must not be
+     * modified while it is written.
+     *
+     * @param set  the set
+     * @param file the snapshot file
+     * @throws IOException if an I/O error occurs
+     */
+    public static final void write(LongSet set, Path file) throws IOException {
+        boolean containsZero = set.contains(0L);
+        int capacity = arraySize(set.size() - (containsZero ? 1 : 0), DEFAULT_LOAD_FACTOR);
+        final int mask = capacity - 1;
+        Path temp = SetSnapshotFormat.tempFile(file);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer[] pages = SetSnapshotFormat.map(channel, MapMode.READ_WRITE, KEY_BYTES, capacity);
+                int size = containsZero ? 1 : 0;
+                try {
+                    for (var it = set.iterator(); it.hasNext();) {
+                        long v = it.nextLong();
+                        if (v != 0) {
+                            if (size - (containsZero ? 1 : 0) == mask) {
+                                // the set has grown, the table would run full
+                                throw new ConcurrentModificationException();
+                            }
+                            int pos = mix(v) & mask;
+                            while (get(pages, pos) != 0) {
+                                pos = (pos + 1) & mask;
+                            }
+                            set(pages, pos, v);
+                            size++;
+                        }
+                    }
+                    for (ByteBuffer page : pages) {
+                        ((MappedByteBuffer) page).force();
+                    }
+                } finally {
+                    SetSnapshotFormat.unmap(pages);
+                }
+                SetSnapshotFormat.writeHeader(channel, KEY_BYTES,
+                        new SetSnapshotFormat.Header(containsZero, size, capacity));
+                channel.force(true);
+            }
+            SetSnapshotFormat.commit(temp, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the given snapshot file as a read-only set.
+     *
+     * @param file the snapshot file written by {@link #write(LongSet, Path)}
+     * @return a {@code MappedLongSet}
+     * @throws IOException if an I/O error occurs or the file is not a valid
+     *                     {@code long} set snapshot
+     */
+    public static final MappedLongSet open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SetSnapshotFormat.Header header = SetSnapshotFormat.readHeader(channel, file, KEY_BYTES);
+            ByteBuffer[] pages = SetSnapshotFormat.map(channel, MapMode.READ_ONLY, KEY_BYTES, header.capacity);
+            return new MappedLongSet(pages, header);
+        }
+    }
+
+    private static final long get(ByteBuffer[] pages, int slot) {
+        return pages[slot >>> PAGE_SHIFT].getLong((slot & PAGE_MASK) << 3);
+    }
+
+    private static final void set(ByteBuffer[] pages, int slot, long k) {
+        pages[slot >>> PAGE_SHIFT].putLong((slot & PAGE_MASK) << 3, k);
+    }
+
+    private volatile ByteBuffer[] pages;
+    private final int capacity;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    private MappedLongSet(ByteBuffer[] pages, SetSnapshotFormat.Header header) {
+        this.pages = pages;
+        this.capacity = header.capacity;
+        this.mask = header.capacity - 1;
+        this.containsZero = header.containsZero;
+        this.size = header.size;
+    }
+
+    private ByteBuffer[] pages() {
+        ByteBuffer[] pages = this.pages;
+        if (pages == null) {
+            throw new IllegalStateException("set has been closed");
+        }
+        return pages;
+    }
+
+    /**
+     * Returns {@code true} if this set has been closed.
+     *
+     * @return {@code true} if this set has been closed
+     */
+    public boolean isClosed() {
+        return pages == null;
+    }
+
+    /**
+     * Unmaps the snapshot file. Closing a closed set has no effect.
+     * <p>
+     * The caller must make sure that no other thread is still using this set.
+     */
+    @Override
+    public void close() {
+        ByteBuffer[] pages = this.pages;
+        if (pages != null) {
+            this.pages = null;
+            SetSnapshotFormat.unmap(pages);
+        }
+    }
+
+    @Override
+    public boolean contains(long v) {
+        final ByteBuffer[] pages = pages();
+        if (v == 0) {
+            return containsZero;
+        }
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        // bounded, so that a corrupted snapshot without free slots cannot hang
+        for (int n = capacity; n > 0; n--, pos = (pos + 1) & mask) {
+            long k = get(pages, pos);
+            if (k == v) {
+                return true;
+            }
+            if (k == 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(long v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(long v) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LongIterator iterator() {
+        pages();
+        return new KeyIterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    @Override
+    public long[] toLongArray() {
+        long[] a = new long[size];
+        int i = 0;
+        for (var it = iterator(); it.hasNext();) {
+            a[i++] = it.nextLong();
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        final ByteBuffer[] pages = pages();
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (int pos = 0; pos < capacity; pos++) {
+            long k = get(pages, pos);
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        long[] keys = toLongArray();
+        Object[] a = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            a[i] = keys[i];
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        long[] keys = toLongArray();
+        int size = keys.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Long.valueOf(keys[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Long e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof LongSet) {
+            return containsAll((LongSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(LongSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(LongSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(LongSet c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Long> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Long> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size) {
+            return false;
+        }
+        return containsAll(s);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (var it = iterator(); it.hasNext();) {
+            h += Long.hashCode(it.nextLong());
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (pages == null) {
+            return "[closed]";
+        }
+        return Arrays.toString(toLongArray());
+    }
+
+    private final class KeyIterator implements LongIterator {
+
+        private int pos;
+        private int remaining = size;
+        private boolean mustReturnZero = containsZero;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                return 0;
+            }
+            final ByteBuffer[] pages = pages();
+            while (pos < capacity) {
+                long k = get(pages, pos++);
+                if (k != 0) {
+                    return k;
+                }
+            }
+            // fewer keys in the table than the size of the header
+            throw new IllegalStateException(
+                    "corrupted set snapshot (size " + size + ", capacity " + capacity + ")");
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongConsumer;
+
+/**
+ * A bounded, lock-free queue of primitive {@code long} values for any number
+ * of producer threads and exactly one consumer thread.
+ * <p>
+ * Producers claim a slot by a CAS on the producer index and then publish the
+ * value through a per-slot sequence number, so any {@code long} value can be
+ * queued and a slow producer never blocks the others from claiming the next
+ * slots. The producer and consumer indices live on their own padded cache
+ * lines. Neither {@link #offer(long)} nor {@link #poll(long)} ever allocates.
+ * <p>
+ * {@link #poll(long)} and {@link #drain(LongConsumer, int)} must only be
+ * called from the consumer thread. A value whose producer has claimed its slot
+ * but not yet published it blocks the values behind it, which are then seen
+ * as not available yet.
+ *
+ * @see SpscLongQueue
+ * @see MpscIntQueue
+ */
+public class MpscLongQueue extends QueueConsumerIndex {
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] buffer;
+    private final long[] sequences;
+    private final int mask;
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity the capacity, rounded up to the next power of two
+     */
+    public MpscLongQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        }
+        int length = HashCommon.tableSizeFor(capacity);
+        buffer = new long[length];
+        sequences = new long[length];
+        for (int i = 0; i < length; i++) {
+            sequences[i] = i;
+        }
+        mask = length - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of values in this queue, which is only a snapshot
+     * while producers or the consumer are running.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return currentSize(buffer.length);
+    }
+
+    public boolean isEmpty() {
+        return lvConsumerIndex() == lvProducerIndex();
+    }
+
+    /**
+     * Inserts the given value at the tail of this queue. May be called from
+     * any thread.
+     *
+     * @param v the value
+     * @return {@code false} if this queue is full, otherwise {@code true}
+     */
+    public boolean offer(long v) {
+        final long[] sequences = this.sequences;
+        final int mask = this.mask;
+        long p = lvProducerIndex();
+        for (;;) {
+            int index = (int) p & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequences, index);
+            if (seq == p) {
+                if (casProducerIndex(p, p + 1)) {
+                    buffer[index] = v;
+                    // publishes the value to the consumer
+                    SEQUENCE.setRelease(sequences, index, p + 1);
+                    return true;
+                }
+            } else if (seq < p) {
+                // the slot still holds the value of the previous round
+                return false;
+            }
+            p = lvProducerIndex();
+        }
+    }
+
+    /**
+     * Removes and returns the value at the head of this queue. Must only be
+     * called from the consumer thread.
+     *
+     * @param emptyValue the value to return if this queue is empty
+     * @return the head value, or {@code emptyValue} if this queue is empty
+     */
+    public long poll(long emptyValue) {
+        final long[] sequences = this.sequences;
+        long c = lvConsumerIndex();
+        int index = (int) c & mask;
+        if ((long) SEQUENCE.getAcquire(sequences, index) != c + 1) {
+            return emptyValue;
+        }
+        long v = buffer[index];
+        // hands the slot to the producers of the next round
+        SEQUENCE.setRelease(sequences, index, c + sequences.length);
+        soConsumerIndex(c + 1);
+        return v;
+    }
+
+    /**
+     * Removes all values currently available in this queue and passes them to
+     * the given consumer, in order. Must only be called from the consumer
+     * thread.
+     *
+     * @param consumer the consumer
+     * @return the number of values removed
+     */
+    public int drain(LongConsumer consumer) {
+        return drain(consumer, buffer.length);
+    }
+
+    /**
+     * Removes at most {@code limit} values from this queue and passes them to
+     * the given consumer, in order. Must only be called from the consumer
+     * thread.
+     * <p>
+     * If the consumer throws, the values passed before stay removed.
+     *
+     * @param consumer the consumer
+     * @param limit    the maximum number of values to remove
+     * @return the number of values removed
+     */
+    public int drain(LongConsumer consumer, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0: " + limit);
+        }
+        final long[] buffer = this.buffer;
+        final long[] sequences = this.sequences;
+        final int mask = this.mask;
+        final int length = sequences.length;
+        long c = lvConsumerIndex();
+        int n = 0;
+        for (; n < limit; n++) {
+            int index = (int) c & mask;
+            if ((long) SEQUENCE.getAcquire(sequences, index) != c + 1) {
+                break;
+            }
+            long v = buffer[index];
+            SEQUENCE.setRelease(sequences, index, c + length);
+            soConsumerIndex(++c);
+            consumer.accept(v);
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return "MpscLongQueue(capacity=" + buffer.length + ", size=" + size() + ")";
+    }
+
+}
@@ -0,0 +1,573 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_INITIAL_CAPACITY;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.DEFAULT_LOAD_FACTOR;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.arraySize;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkInitialCapacity;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.checkLoadFactor;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.maxFill;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.mix;
+import static com.github.fmjsjx.libcommons.util.collection.HashCommon.tableSizeFor;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link LongSet} implementation that keeps its open-addressing hash table
+ * outside of the Java heap, in direct byte buffers.
+ * <p>
+ * The table uses the same layout and probing as {@link LongHashSet}, so a set
+ * with tens of millions of keys costs the garbage collector a few small
+ * objects instead of a huge {@code long[]}. The table is split into pages of
+ * at most {@value #PAGE_SLOTS} slots ({@code 128MB}), so it can grow beyond
+ * the {@code 2GB} limit of a single buffer. Use
+ * {@link #memoryUsage(int, float)} to plan the off-heap memory of a set, and
+ * keep in mind that growing temporarily needs the old and the new table.
+ * <p>
+ * The off-heap memory is released by {@link #close()}; any further use of the
+ * set throws {@link IllegalStateException}. Since growing frees the old table
+ * at once, modifying the set while {@link #forEach(LongConsumer)} or an
+ * iterator walks it, other than by {@link LongIterator#remove()}, throws
+ * {@link ConcurrentModificationException} instead of reading freed memory.
+ * This class is not thread-safe.
+ */
+public class OffHeapLongHashSet implements LongSet, AutoCloseable {
+
+    private static final int PAGE_SHIFT = 24;
+    private static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SLOTS - 1;
+
+    /**
+     * Returns the number of off-heap bytes a set created with the given
+     * expected number of elements and load factor allocates for its table.
+     *
+     * @param expectedItems the expected number of elements
+     * @param loadFactor    the load factor
+     * @return the off-heap bytes
+     */
+    public static final long memoryUsage(int expectedItems, float loadFactor) {
+        return (long) arraySize(checkInitialCapacity(expectedItems), checkLoadFactor(loadFactor)) << 3;
+    }
+
+    private static final ByteBuffer[] allocatePages(int capacity) {
+        int pageSlots = Math.min(capacity, PAGE_SLOTS);
+        ByteBuffer[] pages = new ByteBuffer[capacity / pageSlots];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = DirectBuffers.allocate(pageSlots << 3);
+        }
+        return pages;
+    }
+
+    private static final void freePages(ByteBuffer[] pages) {
+        for (ByteBuffer page : pages) {
+            DirectBuffers.free(page);
+        }
+    }
+
+    private static final long get(ByteBuffer[] pages, int slot) {
+        return pages[slot >>> PAGE_SHIFT].getLong((slot & PAGE_MASK) << 3);
+    }
+
+    private static final void set(ByteBuffer[] pages, int slot, long k) {
+        pages[slot >>> PAGE_SHIFT].putLong((slot & PAGE_MASK) << 3, k);
+    }
+
+    private final float loadFactor;
+    private ByteBuffer[] pages;
+    private int capacity;
+    private boolean containsZero;
+    private int mask;
+    private int maxFill;
+    private int size;
+    /**
+     * The number of modifications, checked by the iterations.
+     */
+    private int modCount;
+
+    public OffHeapLongHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OffHeapLongHashSet(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public OffHeapLongHashSet(int initialCapacity, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        int capacity = tableSizeFor(checkInitialCapacity(initialCapacity));
+        pages = allocatePages(capacity);
+        this.capacity = capacity;
+        mask = capacity - 1;
+        maxFill = maxFill(capacity, loadFactor);
+    }
+
+    /**
+     * Creates a new set sized to hold the given number of elements without
+     * growing.
+     *
+     * @param expectedItems the expected number of elements
+     * @return a new {@code OffHeapLongHashSet}
+     */
+    public static final OffHeapLongHashSet withExpectedSize(int expectedItems) {
+        return new OffHeapLongHashSet(arraySize(checkInitialCapacity(expectedItems), DEFAULT_LOAD_FACTOR));
+    }
+
+    private ByteBuffer[] pages() {
+        ByteBuffer[] pages = this.pages;
+        if (pages == null) {
+            throw new IllegalStateException("set has been closed");
+        }
+        return pages;
+    }
+
+    /**
+     * Returns the number of off-heap bytes currently allocated for the table.
+     *
+     * @return the off-heap bytes, or {@code 0} once closed
+     */
+    public long offHeapBytes() {
+        return pages == null ? 0 : (long) capacity << 3;
+    }
+
+    /**
+     * Returns {@code true} if this set has been closed.
+     *
+     * @return {@code true} if this set has been closed
+     */
+    public boolean isClosed() {
+        return pages == null;
+    }
+
+    /**
+     * Releases the off-heap memory of this set. Closing a closed set has no
+     * effect.
+     */
+    @Override
+    public void close() {
+        ByteBuffer[] pages = this.pages;
+        if (pages != null) {
+            this.pages = null;
+            size = 0;
+            containsZero = false;
+            modCount++;
+            freePages(pages);
+        }
+    }
+
+    @Override
+    public boolean contains(long v) {
+        final ByteBuffer[] pages = pages();
+        if (v == 0) {
+            return containsZero;
+        }
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (long k; (k = get(pages, pos)) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(long v) {
+        final ByteBuffer[] pages = pages();
+        if (v == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+        } else {
+            final int mask = this.mask;
+            int pos = mix(v) & mask;
+            for (long k; (k = get(pages, pos)) != 0; pos = (pos + 1) & mask) {
+                if (k == v) {
+                    return false;
+                }
+            }
+            set(pages, pos, v);
+        }
+        modCount++;
+        if (++size > maxFill) {
+            rehash(capacity << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(long v) {
+        final ByteBuffer[] pages = pages();
+        if (v == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            modCount++;
+            return true;
+        }
+        final int mask = this.mask;
+        int pos = mix(v) & mask;
+        for (long k; (k = get(pages, pos)) != 0; pos = (pos + 1) & mask) {
+            if (k == v) {
+                shiftKeys(pos);
+                size--;
+                modCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void shiftKeys(int pos) {
+        final ByteBuffer[] pages = this.pages;
+        final int mask = this.mask;
+        int last, slot;
+        for (long k;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = get(pages, pos)) == 0) {
+                    set(pages, last, 0);
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            set(pages, last, k);
+        }
+    }
+
+    private void ensureCapacity(int expected) {
+        if (expected > maxFill) {
+            rehash(arraySize(expected, loadFactor));
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final ByteBuffer[] pages = this.pages;
+        final int newMask = newCapacity - 1;
+        final ByteBuffer[] newPages = allocatePages(newCapacity);
+        for (int i = capacity; i-- > 0;) {
+            long k = get(pages, i);
+            if (k != 0) {
+                int pos = mix(k) & newMask;
+                while (get(newPages, pos) != 0) {
+                    pos = (pos + 1) & newMask;
+                }
+                set(newPages, pos, k);
+            }
+        }
+        this.pages = newPages;
+        this.capacity = newCapacity;
+        this.mask = newMask;
+        this.maxFill = maxFill(newCapacity, loadFactor);
+        modCount++;
+        freePages(pages);
+    }
+
+    @Override
+    public LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public long[] toLongArray() {
+        final ByteBuffer[] pages = pages();
+        final int expectedModCount = modCount;
+        long[] a = new long[size];
+        int i = 0;
+        if (containsZero) {
+            i++;
+        }
+        for (int pos = 0; pos < capacity; pos++) {
+            long k = get(pages, pos);
+            if (k != 0) {
+                a[i++] = k;
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        final ByteBuffer[] pages = pages();
+        final int expectedModCount = modCount;
+        if (containsZero) {
+            action.accept(0);
+        }
+        // the action may grow or close the set, which frees the pages
+        for (int pos = 0; pos < capacity; pos++) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            long k = get(pages, pos);
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public LongIterator iterator() {
+        pages();
+        return new KeyIterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        long[] keys = toLongArray();
+        Object[] a = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            a[i] = keys[i];
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        long[] keys = toLongArray();
+        int size = keys.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Long.valueOf(keys[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Long e) {
+        return add(e.longValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Long && remove(((Long) o).longValue());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof LongSet) {
+            return containsAll((LongSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(LongSet c) {
+        pages();
+        int before = size;
+        ensureCapacity(before + c.size());
+        c.forEach((long v) -> add(v));
+        return size != before;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof LongSet) {
+            return retainAll((LongSet) c);
+        }
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.nextLong())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public void clear() {
+        final ByteBuffer[] pages = pages();
+        if (size == 0) {
+            return;
+        }
+        size = 0;
+        containsZero = false;
+        modCount++;
+        for (int pos = 0; pos < capacity; pos++) {
+            set(pages, pos, 0);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size) {
+            return false;
+        }
+        return containsAll(s);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (long k : toLongArray()) {
+            h += Long.hashCode(k);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (pages == null) {
+            return "[closed]";
+        }
+        return Arrays.toString(toLongArray());
+    }
+
+    private final class KeyIterator implements LongIterator {
+
+        // Walks the table backwards, see LongHashSet.KeyIterator.
+        private int pos = capacity;
+        private int last = -1;
+        private int remaining = size;
+        private boolean mustReturnZero = containsZero;
+        private long[] wrapped;
+        private int wrappedSize;
+        private int expectedModCount = modCount;
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            checkForComodification();
+            remaining--;
+            if (mustReturnZero) {
+                mustReturnZero = false;
+                last = capacity;
+                return 0;
+            }
+            final ByteBuffer[] pages = pages();
+            for (;;) {
+                if (--pos < 0) {
+                    last = Integer.MIN_VALUE;
+                    return wrapped[-pos - 1];
+                }
+                long k = get(pages, pos);
+                if (k != 0) {
+                    last = pos;
+                    return k;
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            pages();
+            checkForComodification();
+            if (last == capacity) {
+                containsZero = false;
+                size--;
+            } else if (pos >= 0) {
+                shiftKeys(last);
+                size--;
+            } else {
+                OffHeapLongHashSet.this.remove(wrapped[-pos - 1]);
+            }
+            expectedModCount = ++modCount;
+            last = -1;
+        }
+
+        private void shiftKeys(int pos) {
+            final ByteBuffer[] pages = OffHeapLongHashSet.this.pages;
+            final int mask = OffHeapLongHashSet.this.mask;
+            int last, slot;
+            for (long k;;) {
+                pos = ((last = pos) + 1) & mask;
+                for (;;) {
+                    if ((k = get(pages, pos)) == 0) {
+                        set(pages, last, 0);
+                        return;
+                    }
+                    slot = mix(k) & mask;
+                    if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                        break;
+                    }
+                    pos = (pos + 1) & mask;
+                }
+                if (pos < last) {
+                    if (wrapped == null) {
+                        wrapped = new long[2];
+                    } else if (wrappedSize == wrapped.length) {
+                        wrapped = Arrays.copyOf(wrapped, wrappedSize << 1);
+                    }
+                    wrapped[wrappedSize++] = k;
+                }
+                set(pages, last, k);
+            }
+        }
+
+    }
+
+}
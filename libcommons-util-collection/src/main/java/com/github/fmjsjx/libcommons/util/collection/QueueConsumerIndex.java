@@ -0,0 +1,56 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The consumer side fields of the bounded queues in this package, padded on
+ * both sides.
+ */
+abstract class QueueConsumerIndex extends QueueProducerIndex {
+
+    private static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            CONSUMER_INDEX = MethodHandles.lookup().findVarHandle(QueueConsumerIndex.class, "consumerIndex",
+                    long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p30, p31, p32, p33, p34, p35, p36, p37;
+
+    private volatile long consumerIndex;
+
+    /**
+     * The last producer index seen by the consumer, only accessed by the
+     * consumer thread.
+     */
+    long producerIndexCache;
+
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+    long p50, p51, p52, p53, p54, p55, p56, p57;
+
+    final long lvConsumerIndex() {
+        return consumerIndex;
+    }
+
+    final void soConsumerIndex(long v) {
+        CONSUMER_INDEX.setRelease(this, v);
+    }
+
+    /**
+     * Returns the number of elements in the queue, which is only a snapshot
+     * while producers and the consumer are running.
+     */
+    final int currentSize(int capacity) {
+        // read the consumer index first, so that the difference is never negative
+        long c = lvConsumerIndex();
+        long size = lvProducerIndex() - c;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+}
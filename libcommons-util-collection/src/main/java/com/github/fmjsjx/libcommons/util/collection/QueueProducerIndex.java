@@ -0,0 +1,50 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The producer side fields of the bounded queues in this package, padded so
+ * that they do not share a cache line with the consumer side fields or any
+ * other object.
+ * <p>
+ * The padding relies on superclass fields being laid out before subclass
+ * fields, see {@link QueueConsumerIndex}.
+ */
+abstract class QueueProducerIndex {
+
+    private static final VarHandle PRODUCER_INDEX;
+
+    static {
+        try {
+            PRODUCER_INDEX = MethodHandles.lookup().findVarHandle(QueueProducerIndex.class, "producerIndex",
+                    long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    private volatile long producerIndex;
+
+    /**
+     * The last consumer index seen by the producer, only accessed by the
+     * producer thread(s).
+     */
+    long consumerIndexCache;
+
+    final long lvProducerIndex() {
+        return producerIndex;
+    }
+
+    final void soProducerIndex(long v) {
+        PRODUCER_INDEX.setRelease(this, v);
+    }
+
+    final boolean casProducerIndex(long expect, long v) {
+        return PRODUCER_INDEX.compareAndSet(this, expect, v);
+    }
+
+}
@@ -0,0 +1,1126 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A compressed bitmap {@link IntSet} implementation in the style of
+ * <a href="https://roaringbitmap.org/">Roaring bitmaps</a>.
+ * <p>
+ * Values are split into chunks by their high 16 bits. Every chunk is stored in
+ * the smallest fitting container: a sorted {@code char} array for sparse
+ * chunks, a 65536-bit bitmap for dense chunks, or a list of runs for
+ * consecutive ranges (see {@link #runOptimize()}).
+ * <p>
+ * Unlike the hash sets in this package, iteration order is always ascending.
+ */
+public class RoaringIntSet implements IntSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Flips the sign bit so that the unsigned order of chunks and low bits
+     * matches the signed order of the values.
+     */
+    private static final int flip(int v) {
+        return v ^ Integer.MIN_VALUE;
+    }
+
+    private static final char highBits(int u) {
+        return (char) (u >>> 16);
+    }
+
+    private static final char lowBits(int u) {
+        return (char) u;
+    }
+
+    public static final RoaringIntSet and(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet(Math.min(a.count, b.count));
+        for (int i = 0, j = 0; i < a.count && j < b.count;) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka == kb) {
+                r.append(ka, a.containers[i++].and(b.containers[j++]));
+            } else if (ka < kb) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static final RoaringIntSet or(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet(a.count + b.count);
+        int i = 0, j = 0;
+        while (i < a.count && j < b.count) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka == kb) {
+                r.append(ka, a.containers[i++].or(b.containers[j++]));
+            } else if (ka < kb) {
+                r.append(ka, a.containers[i++].copy());
+            } else {
+                r.append(kb, b.containers[j++].copy());
+            }
+        }
+        r.appendCopies(a, i);
+        r.appendCopies(b, j);
+        return r;
+    }
+
+    public static final RoaringIntSet andNot(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet(a.count);
+        int i = 0, j = 0;
+        while (i < a.count && j < b.count) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka == kb) {
+                r.append(ka, a.containers[i++].andNot(b.containers[j++]));
+            } else if (ka < kb) {
+                r.append(ka, a.containers[i++].copy());
+            } else {
+                j++;
+            }
+        }
+        r.appendCopies(a, i);
+        return r;
+    }
+
+    public static final RoaringIntSet xor(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet(a.count + b.count);
+        int i = 0, j = 0;
+        while (i < a.count && j < b.count) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka == kb) {
+                r.append(ka, a.containers[i++].xor(b.containers[j++]));
+            } else if (ka < kb) {
+                r.append(ka, a.containers[i++].copy());
+            } else {
+                r.append(kb, b.containers[j++].copy());
+            }
+        }
+        r.appendCopies(a, i);
+        r.appendCopies(b, j);
+        return r;
+    }
+
+    /**
+     * Returns the cardinality of the intersection of the two sets without
+     * materializing it.
+     */
+    public static final int andCardinality(RoaringIntSet a, RoaringIntSet b) {
+        int n = 0;
+        for (int i = 0, j = 0; i < a.count && j < b.count;) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka == kb) {
+                n += a.containers[i++].andCardinality(b.containers[j++]);
+            } else if (ka < kb) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    private char[] keys;
+    private Container[] containers;
+    private int count;
+    private int size;
+
+    public RoaringIntSet() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public RoaringIntSet(Collection<? extends Integer> c) {
+        this();
+        addAll(c);
+    }
+
+    public RoaringIntSet(int... array) {
+        this();
+        for (int v : array) {
+            add(v);
+        }
+    }
+
+    private RoaringIntSet(int initialContainers) {
+        int capacity = Math.max(initialContainers, INITIAL_CAPACITY);
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, count, high);
+    }
+
+    private void insertAt(int index, char high, Container container) {
+        if (count == keys.length) {
+            int newCapacity = Math.min(count << 1, 1 << 16);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = high;
+        containers[index] = container;
+        count++;
+        size += container.cardinality();
+    }
+
+    private void removeAt(int index) {
+        size -= containers[index].cardinality();
+        count--;
+        System.arraycopy(keys, index + 1, keys, index, count - index);
+        System.arraycopy(containers, index + 1, containers, index, count - index);
+        containers[count] = null;
+    }
+
+    private void append(char high, Container container) {
+        if (container.cardinality() > 0) {
+            insertAt(count, high, container);
+        }
+    }
+
+    private void appendCopies(RoaringIntSet src, int from) {
+        for (int i = from; i < src.count; i++) {
+            insertAt(count, src.keys[i], src.containers[i].copy());
+        }
+    }
+
+    @Override
+    public boolean contains(int v) {
+        int u = flip(v);
+        int i = indexOf(highBits(u));
+        return i >= 0 && containers[i].contains(lowBits(u));
+    }
+
+    @Override
+    public boolean add(int v) {
+        int u = flip(v);
+        char high = highBits(u);
+        int i = indexOf(high);
+        if (i < 0) {
+            insertAt(-i - 1, high, new ArrayContainer().add(lowBits(u)));
+            return true;
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        c = containers[i] = c.add(lowBits(u));
+        int diff = c.cardinality() - before;
+        size += diff;
+        return diff != 0;
+    }
+
+    @Override
+    public boolean remove(int v) {
+        int u = flip(v);
+        int i = indexOf(highBits(u));
+        if (i < 0) {
+            return false;
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        c = containers[i] = c.remove(lowBits(u));
+        int after = c.cardinality();
+        if (after == before) {
+            return false;
+        }
+        size -= before - after;
+        if (after == 0) {
+            removeAt(i);
+        }
+        return true;
+    }
+
+    /**
+     * Adds all values in the range {@code [from, to)}.
+     *
+     * @param from the lower bound, inclusive
+     * @param to   the upper bound, exclusive
+     */
+    public void addRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = flip(from);
+        int last = flip(to - 1);
+        for (int high = first >>> 16, end = last >>> 16; high <= end; high++) {
+            int lo = high == first >>> 16 ? lowBits(first) : 0;
+            int hi = high == end ? lowBits(last) : 0xFFFF;
+            int i = indexOf((char) high);
+            if (i < 0) {
+                insertAt(-i - 1, (char) high, new RunContainer((char) lo, (char) hi));
+            } else {
+                Container c = containers[i];
+                size -= c.cardinality();
+                c = containers[i] = c.addRange(lo, hi);
+                size += c.cardinality();
+            }
+        }
+    }
+
+    /**
+     * Converts containers into run-length encoded form wherever that is more
+     * compact, typically after bulk loading dense ranges.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < count; i++) {
+            containers[i] = containers[i].runOptimize();
+        }
+    }
+
+    /**
+     * Returns an estimate of the memory occupied by the containers, in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 2L * keys.length + 4L * containers.length;
+        for (int i = 0; i < count; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    public RoaringIntSet and(RoaringIntSet other) {
+        return and(this, other);
+    }
+
+    public RoaringIntSet or(RoaringIntSet other) {
+        return or(this, other);
+    }
+
+    public RoaringIntSet andNot(RoaringIntSet other) {
+        return andNot(this, other);
+    }
+
+    public RoaringIntSet xor(RoaringIntSet other) {
+        return xor(this, other);
+    }
+
+    private void replaceWith(RoaringIntSet other) {
+        keys = other.keys;
+        containers = other.containers;
+        count = other.count;
+        size = other.size;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new ValueIterator();
+    }
+
+    @Override
+    public IntStream intStream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public int[] toIntArray() {
+        int[] a = new int[size];
+        int off = 0;
+        for (int i = 0; i < count; i++) {
+            off = containers[i].fill(keys[i] << 16, a, off);
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < count; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public Object[] toArray() {
+        int[] values = toIntArray();
+        Object[] a = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            a[i] = values[i];
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        int[] values = toIntArray();
+        int size = values.length;
+        T[] r = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            r[i] = (T) Integer.valueOf(values[i]);
+        }
+        if (r.length > size) {
+            r[size] = null;
+        }
+        return r;
+    }
+
+    @Override
+    public boolean add(Integer e) {
+        return add(e.intValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Integer && remove(((Integer) o).intValue());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return containsAll((IntSet) c);
+        }
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(IntSet c) {
+        if (c instanceof RoaringIntSet) {
+            int before = size;
+            replaceWith(or(this, (RoaringIntSet) c));
+            return size != before;
+        }
+        return IntSet.super.addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(IntSet c) {
+        if (c instanceof RoaringIntSet) {
+            int before = size;
+            replaceWith(and(this, (RoaringIntSet) c));
+            return size != before;
+        }
+        return IntSet.super.retainAll(c);
+    }
+
+    @Override
+    public boolean removeAll(IntSet c) {
+        if (c instanceof RoaringIntSet) {
+            int before = size;
+            replaceWith(andNot(this, (RoaringIntSet) c));
+            return size != before;
+        }
+        return IntSet.super.removeAll(c);
+    }
+
+    @Override
+    public int intersectionSize(IntSet c) {
+        if (c instanceof RoaringIntSet) {
+            return andCardinality(this, (RoaringIntSet) c);
+        }
+        return IntSet.super.intersectionSize(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof IntSet) {
+            return retainAll((IntSet) c);
+        }
+        var r = false;
+        for (var it = iterator(); it.hasNext();) {
+            if (!c.contains(it.nextInt())) {
+                it.remove();
+                r = true;
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(containers, 0, count, null);
+        count = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Set<?> s = (Set<?>) o;
+        if (s.size() != size) {
+            return false;
+        }
+        if (o instanceof RoaringIntSet) {
+            return andCardinality(this, (RoaringIntSet) o) == size;
+        }
+        return s.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (var it = iterator(); it.hasNext();) {
+            h += it.nextInt();
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        StringBuilder b = new StringBuilder().append('[');
+        forEach((int v) -> b.append(v).append(", "));
+        b.setLength(b.length() - 2);
+        return b.append(']').toString();
+    }
+
+    private final class ValueIterator implements IntIterator {
+
+        private int[] buffer = new int[0];
+        private int bufferSize;
+        private int bufferIndex;
+        private int nextContainer;
+        private char currentHigh;
+        private int remaining = size;
+        private boolean canRemove;
+        private int last;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (bufferIndex == bufferSize) {
+                Container c = containers[nextContainer];
+                currentHigh = keys[nextContainer++];
+                if (buffer.length < c.cardinality()) {
+                    buffer = new int[Math.max(c.cardinality(), buffer.length << 1)];
+                }
+                bufferSize = c.fill(currentHigh << 16, buffer, 0);
+                bufferIndex = 0;
+            }
+            remaining--;
+            canRemove = true;
+            return last = buffer[bufferIndex++];
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            canRemove = false;
+            RoaringIntSet.this.remove(last);
+            // the current container has gone if that was its last value
+            if (nextContainer > 0 && (nextContainer > count || keys[nextContainer - 1] != currentHigh)) {
+                nextContainer--;
+            }
+        }
+
+    }
+
+    /**
+     * A set of 16-bit values sharing the same high bits.
+     */
+    private abstract static class Container {
+
+        static final int MAX_ARRAY_SIZE = 4096;
+
+        abstract int cardinality();
+
+        abstract boolean contains(char x);
+
+        abstract Container add(char x);
+
+        abstract Container remove(char x);
+
+        abstract Container addRange(int lo, int hi);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract int fill(int high, int[] dst, int off);
+
+        abstract BitmapContainer toBitmap();
+
+        abstract int numberOfRuns();
+
+        abstract long sizeInBytes();
+
+        abstract Container copy();
+
+        final Container runOptimize() {
+            int runs = numberOfRuns();
+            long runBytes = RunContainer.sizeInBytes(runs);
+            if (this instanceof RunContainer) {
+                return runBytes <= nonRunSizeInBytes(cardinality()) ? this : ((RunContainer) this).toNonRun();
+            }
+            return runBytes < sizeInBytes() ? RunContainer.from(this, runs) : this;
+        }
+
+        static long nonRunSizeInBytes(int cardinality) {
+            return cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.sizeInBytes(cardinality) : BitmapContainer.SIZE_IN_BYTES;
+        }
+
+        final Container and(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, true);
+            }
+            if (other instanceof ArrayContainer) {
+                return ((ArrayContainer) other).filter(this, true);
+            }
+            long[] a = toBitmap().words;
+            long[] b = other.toBitmap().words;
+            long[] r = new long[a.length];
+            for (int i = 0; i < r.length; i++) {
+                r[i] = a[i] & b[i];
+            }
+            return new BitmapContainer(r).repair();
+        }
+
+        final Container or(Container other) {
+            if (this instanceof ArrayContainer && other instanceof ArrayContainer) {
+                return ((ArrayContainer) this).union((ArrayContainer) other);
+            }
+            long[] a = toBitmap().words;
+            long[] b = other.toBitmap().words;
+            long[] r = new long[a.length];
+            for (int i = 0; i < r.length; i++) {
+                r[i] = a[i] | b[i];
+            }
+            return new BitmapContainer(r).repair();
+        }
+
+        final Container andNot(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, false);
+            }
+            long[] a = toBitmap().words;
+            long[] b = other.toBitmap().words;
+            long[] r = new long[a.length];
+            for (int i = 0; i < r.length; i++) {
+                r[i] = a[i] & ~b[i];
+            }
+            return new BitmapContainer(r).repair();
+        }
+
+        final Container xor(Container other) {
+            long[] a = toBitmap().words;
+            long[] b = other.toBitmap().words;
+            long[] r = new long[a.length];
+            for (int i = 0; i < r.length; i++) {
+                r[i] = a[i] ^ b[i];
+            }
+            return new BitmapContainer(r).repair();
+        }
+
+        final int andCardinality(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).countContained(other);
+            }
+            if (other instanceof ArrayContainer) {
+                return ((ArrayContainer) other).countContained(this);
+            }
+            long[] a = toBitmap().words;
+            long[] b = other.toBitmap().words;
+            int n = 0;
+            for (int i = 0; i < a.length; i++) {
+                n += Long.bitCount(a[i] & b[i]);
+            }
+            return n;
+        }
+
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        static long sizeInBytes(int cardinality) {
+            return 16 + 2L * cardinality;
+        }
+
+        private char[] content;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[INITIAL_CAPACITY], 0);
+        }
+
+        private ArrayContainer(char[] content, int cardinality) {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+        }
+
+        @Override
+        Container add(char x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, x);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality >= MAX_ARRAY_SIZE) {
+                return toBitmap().add(x);
+            }
+            i = -i - 1;
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(Math.max(cardinality << 1, INITIAL_CAPACITY), MAX_ARRAY_SIZE));
+            }
+            System.arraycopy(content, i, content, i + 1, cardinality - i);
+            content[i] = x;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, x);
+            if (i >= 0) {
+                cardinality--;
+                System.arraycopy(content, i + 1, content, i, cardinality - i);
+            }
+            return this;
+        }
+
+        @Override
+        Container addRange(int lo, int hi) {
+            BitmapContainer b = toBitmap();
+            b.setRange(lo, hi);
+            return b.repair();
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(flip(high | content[i]));
+            }
+        }
+
+        @Override
+        int fill(int high, int[] dst, int off) {
+            for (int i = 0; i < cardinality; i++) {
+                dst[off++] = flip(high | content[i]);
+            }
+            return off;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            long[] words = new long[BitmapContainer.WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                char x = content[i];
+                words[x >>> 6] |= 1L << x;
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+
+        @Override
+        int numberOfRuns() {
+            if (cardinality == 0) {
+                return 0;
+            }
+            int runs = 1;
+            for (int i = 1; i < cardinality; i++) {
+                if (content[i] != content[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return sizeInBytes(content.length);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(content, Math.max(cardinality, 1)), cardinality);
+        }
+
+        Container filter(Container other, boolean keepContained) {
+            char[] r = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                char x = content[i];
+                if (other.contains(x) == keepContained) {
+                    r[n++] = x;
+                }
+            }
+            return new ArrayContainer(r, n);
+        }
+
+        int countContained(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i])) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        Container union(ArrayContainer other) {
+            if (cardinality + other.cardinality > MAX_ARRAY_SIZE) {
+                BitmapContainer b = toBitmap();
+                for (int i = 0; i < other.cardinality; i++) {
+                    b.add(other.content[i]);
+                }
+                return b.repair();
+            }
+            char[] a = content;
+            char[] b = other.content;
+            char[] r = new char[cardinality + other.cardinality];
+            int i = 0, j = 0, n = 0;
+            while (i < cardinality && j < other.cardinality) {
+                char x = a[i];
+                char y = b[j];
+                if (x == y) {
+                    r[n++] = x;
+                    i++;
+                    j++;
+                } else if (x < y) {
+                    r[n++] = x;
+                    i++;
+                } else {
+                    r[n++] = y;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                r[n++] = a[i++];
+            }
+            while (j < other.cardinality) {
+                r[n++] = b[j++];
+            }
+            return new ArrayContainer(r, n);
+        }
+
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        static final int WORDS = 1 << 10;
+
+        static final long SIZE_IN_BYTES = 16 + 8L * WORDS;
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words) {
+            this.words = words;
+            int cardinality = 0;
+            for (long w : words) {
+                cardinality += Long.bitCount(w);
+            }
+            this.cardinality = cardinality;
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Converts back to an array container once sparse enough.
+         */
+        Container repair() {
+            return cardinality <= MAX_ARRAY_SIZE ? toArrayContainer() : this;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return (words[x >>> 6] & (1L << x)) != 0;
+        }
+
+        @Override
+        Container add(char x) {
+            long w = words[x >>> 6];
+            long nw = w | (1L << x);
+            if (w != nw) {
+                words[x >>> 6] = nw;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            long w = words[x >>> 6];
+            long nw = w & ~(1L << x);
+            if (w != nw) {
+                words[x >>> 6] = nw;
+                if (--cardinality <= MAX_ARRAY_SIZE) {
+                    return toArrayContainer();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container addRange(int lo, int hi) {
+            setRange(lo, hi);
+            return this;
+        }
+
+        void setRange(int lo, int hi) {
+            int firstWord = lo >>> 6;
+            int lastWord = hi >>> 6;
+            long firstMask = -1L << lo;
+            long lastMask = -1L >>> (63 - (hi & 63));
+            if (firstWord == lastWord) {
+                words[firstWord] |= firstMask & lastMask;
+            } else {
+                words[firstWord] |= firstMask;
+                for (int i = firstWord + 1; i < lastWord; i++) {
+                    words[i] = -1L;
+                }
+                words[lastWord] |= lastMask;
+            }
+            int cardinality = 0;
+            for (long w : words) {
+                cardinality += Long.bitCount(w);
+            }
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            final long[] words = this.words;
+            for (int i = 0; i < words.length; i++) {
+                for (long w = words[i]; w != 0; w &= w - 1) {
+                    action.accept(flip(high | (i << 6) | Long.numberOfTrailingZeros(w)));
+                }
+            }
+        }
+
+        @Override
+        int fill(int high, int[] dst, int off) {
+            final long[] words = this.words;
+            for (int i = 0; i < words.length; i++) {
+                for (long w = words[i]; w != 0; w &= w - 1) {
+                    dst[off++] = flip(high | (i << 6) | Long.numberOfTrailingZeros(w));
+                }
+            }
+            return off;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+
+        ArrayContainer toArrayContainer() {
+            char[] content = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for (int i = 0; i < words.length; i++) {
+                for (long w = words[i]; w != 0; w &= w - 1) {
+                    content[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(w));
+                }
+            }
+            return new ArrayContainer(content, n);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            long previous = 0;
+            for (long w : words) {
+                // count the set bits whose lower neighbour is clear
+                runs += Long.bitCount(w & ~((w << 1) | (previous >>> 63)));
+                previous = w;
+            }
+            return runs;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return SIZE_IN_BYTES;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+    }
+
+    private static final class RunContainer extends Container {
+
+        static long sizeInBytes(int runs) {
+            return 16 + 4L * runs;
+        }
+
+        static RunContainer from(Container c, int runs) {
+            int[] values = new int[c.cardinality()];
+            c.fill(0, values, 0);
+            char[] data = new char[runs << 1];
+            int n = 0;
+            int previous = -2;
+            for (int v : values) {
+                int x = lowBits(flip(v));
+                if (x != previous + 1) {
+                    data[n++] = (char) x;
+                    data[n++] = 0;
+                } else {
+                    data[n - 1]++;
+                }
+                previous = x;
+            }
+            return new RunContainer(data, runs, values.length);
+        }
+
+        // flattened (start, length - 1) pairs
+        private final char[] runs;
+        private final int numberOfRuns;
+        private final int cardinality;
+
+        private RunContainer(char lo, char hi) {
+            this(new char[] { lo, (char) (hi - lo) }, 1, hi - lo + 1);
+        }
+
+        private RunContainer(char[] runs, int numberOfRuns, int cardinality) {
+            this.runs = runs;
+            this.numberOfRuns = numberOfRuns;
+            this.cardinality = cardinality;
+        }
+
+        Container toNonRun() {
+            return toBitmap().repair();
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            int lo = 0;
+            int hi = numberOfRuns - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char start = runs[mid << 1];
+                if (x < start) {
+                    hi = mid - 1;
+                } else if (x > start + runs[(mid << 1) + 1]) {
+                    lo = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Container add(char x) {
+            return contains(x) ? this : toNonRun().add(x);
+        }
+
+        @Override
+        Container remove(char x) {
+            return contains(x) ? toNonRun().remove(x) : this;
+        }
+
+        @Override
+        Container addRange(int lo, int hi) {
+            BitmapContainer b = toBitmap();
+            b.setRange(lo, hi);
+            return b.runOptimize();
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < numberOfRuns; i++) {
+                int start = runs[i << 1];
+                for (int x = start, end = start + runs[(i << 1) + 1]; x <= end; x++) {
+                    action.accept(flip(high | x));
+                }
+            }
+        }
+
+        @Override
+        int fill(int high, int[] dst, int off) {
+            for (int i = 0; i < numberOfRuns; i++) {
+                int start = runs[i << 1];
+                for (int x = start, end = start + runs[(i << 1) + 1]; x <= end; x++) {
+                    dst[off++] = flip(high | x);
+                }
+            }
+            return off;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer b = new BitmapContainer(new long[BitmapContainer.WORDS], 0);
+            for (int i = 0; i < numberOfRuns; i++) {
+                int start = runs[i << 1];
+                b.setRange(start, start + runs[(i << 1) + 1]);
+            }
+            return b;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return numberOfRuns;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return sizeInBytes(numberOfRuns);
+        }
+
+        @Override
+        Container copy() {
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The on-disk format shared by {@link MappedIntSet} and {@link MappedLongSet}.
+ * <p>
+ * A snapshot file is a {@value #HEADER_SIZE} byte header followed by the slot
+ * table of an open-addressing hash set, exactly as it is probed in memory, in
+ * little-endian byte order:
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "LCSS"
+ *      4     1  format version
+ *      5     1  key width in bytes (4 or 8)
+ *      6     1  1 if the set contains the key 0, otherwise 0
+ *      7     1  reserved
+ *      8     4  number of keys, including the key 0
+ *     12     4  number of slots, a power of two
+ *     16     -  slots, 0 marks a free slot
+ * </pre>
+ *
+ * The slots are mapped in pages of at most {@value #PAGE_SLOTS} slots, so
+ * tables larger than a single {@code MappedByteBuffer} can be opened.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SetSnapshotFormat {
+
+    static final int MAGIC = 'L' | 'C' << 8 | 'S' << 16 | 'S' << 24;
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int PAGE_SHIFT = 24;
+
+    static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+
+    static final int PAGE_MASK = PAGE_SLOTS - 1;
+
+    static final class Header {
+
+        final boolean containsZero;
+        final int size;
+        final int capacity;
+
+        Header(boolean containsZero, int size, int capacity) {
+            this.containsZero = containsZero;
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+    }
+
+    static final void writeHeader(FileChannel channel, int keyBytes, Header header) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(MAGIC).put(VERSION).put((byte) keyBytes).put((byte) (header.containsZero ? 1 : 0)).put((byte) 0);
+        b.putInt(header.size).putInt(header.capacity).flip();
+        for (long position = 0; b.hasRemaining();) {
+            position += channel.write(b, position);
+        }
+    }
+
+    static final Header readHeader(FileChannel channel, Path file, int keyBytes) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (long position = 0; b.hasRemaining();) {
+            int n = channel.read(b, position);
+            if (n < 0) {
+                throw new IOException("not a set snapshot (truncated header): " + file);
+            }
+            position += n;
+        }
+        b.flip();
+        if (b.getInt() != MAGIC) {
+            throw new IOException("not a set snapshot (bad magic): " + file);
+        }
+        byte version = b.get();
+        if (version != VERSION) {
+            throw new IOException("unsupported set snapshot version " + version + ": " + file);
+        }
+        byte width = b.get();
+        if (width != keyBytes) {
+            throw new IOException("set snapshot key width mismatch, expected " + keyBytes + " but was " + width
+                    + ": " + file);
+        }
+        boolean containsZero = b.get() != 0;
+        b.get();
+        int size = b.getInt();
+        int capacity = b.getInt();
+        // the key 0 is not stored in the table, which needs at least one free slot
+        int tableKeys = size - (containsZero ? 1 : 0);
+        if (capacity < 2 || Integer.bitCount(capacity) != 1 || tableKeys < 0 || tableKeys >= capacity) {
+            throw new IOException("corrupted set snapshot (size " + size + ", capacity " + capacity + "): " + file);
+        }
+        if (channel.size() != HEADER_SIZE + ((long) capacity * keyBytes)) {
+            throw new IOException("corrupted set snapshot (length " + channel.size() + "): " + file);
+        }
+        return new Header(containsZero, size, capacity);
+    }
+
+    static final ByteBuffer[] map(FileChannel channel, MapMode mode, int keyBytes, int capacity)
+            throws IOException {
+        int pageSlots = Math.min(capacity, PAGE_SLOTS);
+        long pageBytes = (long) pageSlots * keyBytes;
+        ByteBuffer[] pages = new ByteBuffer[capacity / pageSlots];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = channel.map(mode, HEADER_SIZE + i * pageBytes, pageBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return pages;
+    }
+
+    static final void unmap(ByteBuffer[] pages) {
+        for (ByteBuffer page : pages) {
+            DirectBuffers.free(page);
+        }
+    }
+
+    static final Path tempFile(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        return Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    }
+
+    /**
+     * Replaces the target file with the fully written temporary file, so that
+     * readers either see the old or the new snapshot.
+     */
+    static final void commit(Path temp, Path file) throws IOException {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+}
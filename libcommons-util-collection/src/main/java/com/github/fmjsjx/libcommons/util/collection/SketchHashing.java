@@ -0,0 +1,64 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.nio.charset.StandardCharsets;
+
+import com.github.fmjsjx.libcommons.util.CrcUtil;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The 64-bit hash functions shared by the probabilistic structures of this
+ * package.
+ * <p>
+ * The results only depend on the key, never on the JVM or the platform, so
+ * that serialized filters and sketches built on one node can be queried and
+ * merged on another one. Byte keys are hashed by the CRC-32C and CRC-32 of
+ * {@link CrcUtil}, which use hardware instructions where available, strings
+ * by their UTF-8 bytes, so a string and its UTF-8 bytes are the same key.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SketchHashing {
+
+    /**
+     * Mixed into every number key, so that {@code 0} does not hash to
+     * {@code 0}, the fixed point of {@link #fmix64(long)}.
+     */
+    private static final long NUMBER_SEED = 0x9e3779b97f4a7c15L;
+    /**
+     * Mixed into the checksums of every byte key, which are {@code 0} for an
+     * empty array, so that it neither hashes to {@code 0} nor like the number
+     * {@code 0}.
+     */
+    private static final long BYTES_SEED = 0xc2b2ae3d27d4eb4fL;
+
+    /**
+     * The finalization mix of MurmurHash3, a bijection with good avalanche.
+     */
+    static final long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static final long hash64(int key) {
+        return fmix64(key ^ NUMBER_SEED);
+    }
+
+    static final long hash64(long key) {
+        return fmix64(key ^ NUMBER_SEED);
+    }
+
+    static final long hash64(byte[] key) {
+        int len = key.length;
+        return fmix64((CrcUtil.crc32c(key, 0, len) << 32 | CrcUtil.crc32(key, 0, len)) ^ BYTES_SEED);
+    }
+
+    static final long hash64(String key) {
+        return hash64(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
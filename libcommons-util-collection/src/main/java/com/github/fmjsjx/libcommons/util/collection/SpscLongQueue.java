@@ -0,0 +1,151 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A bounded, lock-free queue of primitive {@code long} values for exactly one
+ * producer thread and one consumer thread.
+ * <p>
+ * The values are stored in a plain array with a power of two capacity. The
+ * producer and consumer indices live on their own padded cache lines, and
+ * each side caches the last seen index of the other side, so a producer and a
+ * consumer running at the same pace rarely touch each other's cache line.
+ * Neither {@link #offer(long)} nor {@link #poll(long)} ever allocates.
+ * <p>
+ * Calling {@link #offer(long)} from more than one thread, or
+ * {@link #poll(long)} and {@link #drain(LongConsumer, int)} from more than one
+ * thread, breaks the queue. Use {@link MpscLongQueue} for multiple producers.
+ *
+ * @see MpscLongQueue
+ */
+public class SpscLongQueue extends QueueConsumerIndex {
+
+    private final long[] buffer;
+    private final int mask;
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity the capacity, rounded up to the next power of two
+     */
+    public SpscLongQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        }
+        int length = HashCommon.tableSizeFor(capacity);
+        buffer = new long[length];
+        mask = length - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of values in this queue, which is only a snapshot
+     * while the producer or the consumer is running.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return currentSize(buffer.length);
+    }
+
+    public boolean isEmpty() {
+        return lvConsumerIndex() == lvProducerIndex();
+    }
+
+    /**
+     * Inserts the given value at the tail of this queue. Must only be called
+     * from the producer thread.
+     *
+     * @param v the value
+     * @return {@code false} if this queue is full, otherwise {@code true}
+     */
+    public boolean offer(long v) {
+        final long[] buffer = this.buffer;
+        long p = lvProducerIndex();
+        if (p - consumerIndexCache >= buffer.length) {
+            consumerIndexCache = lvConsumerIndex();
+            if (p - consumerIndexCache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) p & mask] = v;
+        // publishes the value to the consumer
+        soProducerIndex(p + 1);
+        return true;
+    }
+
+    private long available(long c, int limit) {
+        long available = producerIndexCache - c;
+        if (available < limit) {
+            producerIndexCache = lvProducerIndex();
+            available = producerIndexCache - c;
+        }
+        return available;
+    }
+
+    /**
+     * Removes and returns the value at the head of this queue. Must only be
+     * called from the consumer thread.
+     *
+     * @param emptyValue the value to return if this queue is empty
+     * @return the head value, or {@code emptyValue} if this queue is empty
+     */
+    public long poll(long emptyValue) {
+        long c = lvConsumerIndex();
+        if (available(c, 1) <= 0) {
+            return emptyValue;
+        }
+        long v = buffer[(int) c & mask];
+        // hands the slot back to the producer
+        soConsumerIndex(c + 1);
+        return v;
+    }
+
+    /**
+     * Removes all values currently in this queue and passes them to the given
+     * consumer, in order. Must only be called from the consumer thread.
+     *
+     * @param consumer the consumer
+     * @return the number of values removed
+     */
+    public int drain(LongConsumer consumer) {
+        return drain(consumer, buffer.length);
+    }
+
+    /**
+     * Removes at most {@code limit} values from this queue and passes them to
+     * the given consumer, in order. Must only be called from the consumer
+     * thread.
+     * <p>
+     * The producer index is read once for the whole batch. If the consumer
+     * throws, the values passed before stay removed.
+     *
+     * @param consumer the consumer
+     * @param limit    the maximum number of values to remove
+     * @return the number of values removed
+     */
+    public int drain(LongConsumer consumer, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0: " + limit);
+        }
+        final long[] buffer = this.buffer;
+        final int mask = this.mask;
+        long c = lvConsumerIndex();
+        int n = (int) Math.min(available(c, limit), limit);
+        for (int i = 0; i < n; i++) {
+            long v = buffer[(int) c & mask];
+            soConsumerIndex(++c);
+            consumer.accept(v);
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return "SpscLongQueue(capacity=" + buffer.length + ", size=" + size() + ")";
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import java.util.NoSuchElementException;
+
+import com.github.fmjsjx.libcommons.util.function.LongLongConsumer;
+
+/**
+ * Selects the {@code k} largest (or smallest) primitive {@code long} keys,
+ * each carrying a primitive {@code long} payload, out of a stream of offers.
+ * <p>
+ * The selector keeps a fixed-capacity heap of the best {@code k} entries seen
+ * so far, with the worst of them at the head, so every offer costs
+ * {@code O(log k)} at most and rejected offers only a single comparison. No
+ * allocation happens after construction; a selector can be reused after
+ * {@link #clear()}.
+ */
+public class TopKLongSelector {
+
+    /**
+     * Creates a new selector keeping the {@code k} largest keys.
+     *
+     * @param k the number of keys to keep
+     * @return a new {@code TopKLongSelector}
+     */
+    public static final TopKLongSelector largest(int k) {
+        return new TopKLongSelector(k, true);
+    }
+
+    /**
+     * Creates a new selector keeping the {@code k} smallest keys.
+     *
+     * @param k the number of keys to keep
+     * @return a new {@code TopKLongSelector}
+     */
+    public static final TopKLongSelector smallest(int k) {
+        return new TopKLongSelector(k, false);
+    }
+
+    private final int k;
+    private final boolean largest;
+    private final LongHeapPriorityQueue heap;
+
+    private TopKLongSelector(int k, boolean largest) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be > 0: " + k);
+        }
+        this.k = k;
+        this.largest = largest;
+        // the worst kept key is at the head
+        this.heap = new LongHeapPriorityQueue(k, !largest);
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    public void clear() {
+        heap.clear();
+    }
+
+    /**
+     * Offers the given key with a payload of {@code 0}.
+     *
+     * @param key the key
+     * @return {@code true} if the key is currently among the selected ones
+     */
+    public boolean offer(long key) {
+        return offer(key, 0);
+    }
+
+    /**
+     * Offers the given key and payload.
+     *
+     * @param key     the key
+     * @param payload the payload
+     * @return {@code true} if the key is currently among the selected ones
+     */
+    public boolean offer(long key, long payload) {
+        final LongHeapPriorityQueue heap = this.heap;
+        if (heap.size() < k) {
+            heap.offer(key, payload);
+            return true;
+        }
+        long worst = heap.peek();
+        if (largest ? key > worst : key < worst) {
+            heap.replaceHead(key, payload);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the worst key still selected, which a key must beat to be
+     * selected once {@code k} keys have been offered.
+     *
+     * @return the worst selected key
+     * @throws NoSuchElementException if no key has been offered
+     */
+    public long threshold() {
+        return heap.peek();
+    }
+
+    /**
+     * Moves the selected entries into the given arrays, best first, and
+     * clears this selector.
+     *
+     * @param keys     the array to store the keys into
+     * @param payloads the array to store the payloads into, may be
+     *                 {@code null}
+     * @return the number of entries stored
+     * @throws IllegalArgumentException if an array is shorter than
+     *                                  {@link #size()}
+     */
+    public int drainTo(long[] keys, long[] payloads) {
+        final LongHeapPriorityQueue heap = this.heap;
+        int n = heap.size();
+        if (keys.length < n || (payloads != null && payloads.length < n)) {
+            throw new IllegalArgumentException("arrays must hold at least " + n + " entries");
+        }
+        for (int i = n; i-- > 0;) {
+            if (payloads != null) {
+                payloads[i] = heap.peekPayload();
+            }
+            keys[i] = heap.poll();
+        }
+        return n;
+    }
+
+    /**
+     * Performs the given action for each selected key and payload, in no
+     * particular order.
+     *
+     * @param action the action
+     */
+    public void forEach(LongLongConsumer action) {
+        heap.forEach(action);
+    }
+
+    @Override
+    public String toString() {
+        return "TopKLongSelector(k=" + k + ", largest=" + largest + ", selected=" + heap + ")";
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testFalsePositiveProbability() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (long i = 0; i < 100_000; i++) {
+            filter.put(i * 31);
+        }
+        for (long i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain(i * 31));
+        }
+        int falsePositives = 0;
+        for (long i = 1; i <= 100_000; i++) {
+            if (filter.mightContain(-i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertEquals(100_000, filter.approximateElementCount(), 2_000);
+    }
+
+    @Test
+    public void testMergeAndSerialization() {
+        BloomFilter a = BloomFilter.create(1_000, 0.01);
+        BloomFilter b = BloomFilter.create(1_000, 0.01);
+        a.put("alice");
+        b.put("bob".getBytes(StandardCharsets.UTF_8));
+        b.put(42);
+        assertFalse(a.mightContain("bob"));
+        a.merge(b);
+        assertTrue(a.mightContain("alice"));
+        assertTrue(a.mightContain("bob"));
+        assertTrue(a.mightContain(42));
+
+        BloomFilter copy = BloomFilter.fromByteArray(a.toByteArray());
+        assertEquals(a, copy);
+        assertTrue(copy.mightContain("bob"));
+        assertThrows(IllegalArgumentException.class, () -> a.merge(BloomFilter.create(10, 0.01)));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.fromByteArray(new byte[16]));
+    }
+
+    @Test
+    public void testCounting() {
+        CountingBloomFilter filter = CountingBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertTrue(filter.remove(i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if ((i & 1) == 1) {
+                assertTrue(filter.mightContain(i));
+            } else if (filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 150, "false positives: " + falsePositives);
+
+        BloomFilter plain = filter.toBloomFilter();
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(filter.mightContain(i), plain.mightContain(i));
+        }
+        CountingBloomFilter copy = CountingBloomFilter.fromByteArray(filter.toByteArray());
+        assertEquals(filter, copy);
+        copy.merge(filter);
+        for (int i = 1; i < 10_000; i += 2) {
+            copy.remove(i);
+            assertTrue(copy.mightContain(i));
+        }
+    }
+
+    @Test
+    public void testZeroKeys() {
+        // 0, 0L, an empty array and an empty string once hit a single bit
+        int falsePositives = 0;
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            BloomFilter filter = BloomFilter.create(1_000, 0.01);
+            for (int i = 0; i < 1_000; i++) {
+                filter.put(random.nextLong() | 1);
+            }
+            if (filter.mightContain(0)) {
+                falsePositives++;
+            }
+            if (filter.mightContain(new byte[0])) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 20, "false positives: " + falsePositives);
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        filter.put("");
+        assertEquals(filter.numHashes(), filter.bitCount());
+        assertTrue(filter.mightContain(new byte[0]));
+        assertFalse(filter.mightContain(0));
+    }
+
+}
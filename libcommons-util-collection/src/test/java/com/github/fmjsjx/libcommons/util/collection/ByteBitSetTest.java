@@ -0,0 +1,128 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteBitSetTest {
+
+    @Test
+    public void testAllValues() {
+        ByteBitSet set = new ByteBitSet();
+        assertTrue(set.isEmpty());
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            byte v = (byte) i;
+            assertFalse(set.contains(v));
+            assertTrue(set.add(v));
+            assertFalse(set.add(v));
+            assertTrue(set.contains(v));
+        }
+        assertEquals(256, set.size());
+        byte[] values = set.toByteArray();
+        assertEquals(256, values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals((byte) (i - 128), values[i]);
+        }
+        ByteIterator it = set.iterator();
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            assertTrue(it.hasNext());
+            assertEquals((byte) i, it.nextByte());
+        }
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, () -> it.nextByte());
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i += 2) {
+            assertTrue(set.remove((byte) i));
+            assertFalse(set.remove((byte) i));
+        }
+        assertEquals(128, set.size());
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            assertEquals((i & 1) != 0, set.contains((byte) i));
+        }
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testNegativeBytes() {
+        ByteBitSet set = new ByteBitSet((byte) 0, Byte.MIN_VALUE, (byte) -1, Byte.MAX_VALUE, (byte) -1);
+        assertEquals(4, set.size());
+        assertArrayEquals(new byte[] { Byte.MIN_VALUE, -1, 0, Byte.MAX_VALUE }, set.toByteArray());
+        assertEquals("[-128, -1, 0, 127]", set.toString());
+        assertTrue(set.contains(Byte.valueOf((byte) -1)));
+        assertFalse(set.contains((byte) -2));
+        assertFalse(set.contains(Integer.valueOf(-1)));
+        ByteHashSet hashSet = new ByteHashSet(set);
+        assertEquals(hashSet, set);
+        assertEquals(set, hashSet);
+        assertEquals(hashSet.hashCode(), set.hashCode());
+        ByteIterator it = set.iterator();
+        assertEquals(Byte.MIN_VALUE, it.nextByte());
+        it.remove();
+        assertThrows(IllegalStateException.class, () -> it.remove());
+        assertEquals(-1, it.nextByte());
+        assertArrayEquals(new byte[] { -1, 0, Byte.MAX_VALUE }, set.toByteArray());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        Random random = new Random(3);
+        for (int round = 0; round < 100; round++) {
+            ByteBitSet a = randomSet(random);
+            ByteBitSet b = randomSet(random);
+            ByteHashSet ha = new ByteHashSet(a);
+            ByteHashSet hb = new ByteHashSet(b);
+
+            ByteHashSet union = new ByteHashSet(ha);
+            union.addAll(hb);
+            ByteHashSet intersection = new ByteHashSet(ha);
+            intersection.retainAll(hb);
+            ByteHashSet difference = new ByteHashSet(ha);
+            difference.removeAll(hb);
+            ByteHashSet symmetric = new ByteHashSet(union);
+            symmetric.removeAll(intersection);
+
+            assertEquals(union, ByteBitSet.or(a, b));
+            assertEquals(intersection, ByteBitSet.and(a, b));
+            assertEquals(difference, ByteBitSet.andNot(a, b));
+            assertEquals(symmetric, ByteBitSet.xor(a, b));
+            assertEquals(intersection.equals(hb), a.containsAll(b));
+
+            // word-wise against another ByteBitSet, element-wise otherwise
+            ByteBitSet s = new ByteBitSet(a);
+            assertEquals(!ha.containsAll(hb), s.addAll(b));
+            assertEquals(union, s);
+            s = new ByteBitSet(a);
+            assertEquals(!ha.containsAll(hb), s.addAll(hb));
+            assertEquals(union, s);
+            s = new ByteBitSet(a);
+            assertEquals(!intersection.equals(ha), s.retainAll(b));
+            assertEquals(intersection, s);
+            s = new ByteBitSet(a);
+            assertEquals(!intersection.equals(ha), s.retainAll(hb));
+            assertEquals(intersection, s);
+            s = new ByteBitSet(a);
+            assertEquals(!difference.equals(ha), s.removeAll(b));
+            assertEquals(difference, s);
+            s = new ByteBitSet(a);
+            assertEquals(!difference.equals(ha), s.removeAll(hb));
+            assertEquals(difference, s);
+        }
+    }
+
+    private static ByteBitSet randomSet(Random random) {
+        ByteBitSet set = new ByteBitSet();
+        for (int i = random.nextInt(200); i > 0; i--) {
+            set.add((byte) random.nextInt());
+        }
+        return set;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteHashSetTest {
+
+    @Test
+    public void testAddRemove() {
+        ByteHashSet set = new ByteHashSet();
+        assertTrue(set.add((byte) 0));
+        assertFalse(set.add((byte) 0));
+        assertTrue(set.add(Byte.MIN_VALUE));
+        assertTrue(set.add(Byte.MAX_VALUE));
+        assertEquals(3, set.size());
+        assertTrue(set.contains((byte) 0));
+        assertTrue(set.contains(Byte.valueOf((byte) -128)));
+        assertFalse(set.contains(Integer.valueOf(0)));
+        assertTrue(set.remove((byte) 0));
+        assertFalse(set.remove((byte) 0));
+        assertFalse(set.contains((byte) 0));
+        byte[] a = set.toByteArray();
+        Arrays.sort(a);
+        assertArrayEquals(new byte[] { Byte.MIN_VALUE, Byte.MAX_VALUE }, a);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testAllValues() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            // grows from a tiny table up to all 256 values
+            ByteHashSet set = new ByteHashSet(1);
+            Set<Byte> expected = new HashSet<>();
+            for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+                assertTrue(set.add((byte) i));
+                expected.add((byte) i);
+            }
+            assertEquals(256, set.size());
+            assertEquals(expected, set);
+            // removals in random order shift the clusters of a full table
+            byte[] order = set.toByteArray();
+            for (int i = order.length; i > 1; i--) {
+                int j = random.nextInt(i);
+                byte t = order[i - 1];
+                order[i - 1] = order[j];
+                order[j] = t;
+            }
+            for (byte v : order) {
+                assertTrue(set.remove(v));
+                expected.remove(v);
+                assertFalse(set.contains(v));
+                assertEquals(expected.size(), set.size());
+            }
+            assertTrue(set.isEmpty());
+            assertEquals(expected, set);
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        ByteHashSet set = new ByteHashSet();
+        Set<Byte> expected = new HashSet<>();
+        for (int i = -100; i <= 100; i += 3) {
+            set.add((byte) i);
+            expected.add((byte) i);
+        }
+        set.add((byte) 0);
+        expected.add((byte) 0);
+        int size = set.size();
+        Set<Byte> visited = new HashSet<>();
+        for (var it = set.iterator(); it.hasNext();) {
+            byte v = it.nextByte();
+            assertTrue(visited.add(v));
+            if ((v & 1) == 0) {
+                it.remove();
+                expected.remove(v);
+            }
+        }
+        assertEquals(size, visited.size());
+        assertFalse(set.contains((byte) 0));
+        assertEquals(expected, set);
+        assertEquals(set, new ByteBitSet(set));
+        assertEquals(expected.hashCode(), set.hashCode());
+    }
+
+}
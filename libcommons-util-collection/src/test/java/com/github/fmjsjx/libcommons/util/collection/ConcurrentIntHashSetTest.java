@@ -0,0 +1,78 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentIntHashSetTest {
+
+    @Test
+    public void testBasic() {
+        ConcurrentIntHashSet set = new ConcurrentIntHashSet(4, 2);
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        for (int i = 1; i <= 1000; i++) {
+            assertTrue(set.add(i));
+        }
+        assertEquals(1001, set.size());
+        assertEquals(new IntHashSet(set.toIntArray()), set);
+        for (int i = 0; i <= 1000; i += 2) {
+            assertTrue(set.remove(i));
+        }
+        assertEquals(500, set.size());
+        for (int i = 0; i <= 1000; i++) {
+            assertEquals((i & 1) == 1, set.contains(i));
+        }
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        ConcurrentIntHashSet set = new ConcurrentIntHashSet();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    set.add(base + i);
+                    if (!set.contains(base + i)) {
+                        misses.incrementAndGet();
+                    }
+                }
+                for (int i = 0; i < perThread; i += 2) {
+                    set.remove(base + i);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(0, misses.get());
+        assertEquals(threads * perThread / 2, set.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals((i & 1) == 1, set.contains(i));
+        }
+    }
+
+}
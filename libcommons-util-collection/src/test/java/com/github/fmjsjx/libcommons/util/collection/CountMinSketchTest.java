@@ -0,0 +1,117 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void testEstimateBounds() {
+        CountMinSketch sketch = CountMinSketch.create(0.001, 0.01);
+        assertEquals(2719, sketch.width());
+        assertEquals(5, sketch.depth());
+        Random random = new Random(11);
+        long[] counts = new long[10_000];
+        for (int i = 0; i < 200_000; i++) {
+            // skewed towards the low keys
+            int key = (int) (counts.length * Math.pow(random.nextDouble(), 3));
+            counts[key]++;
+            sketch.add(key);
+        }
+        sketch.add(-1L, 1_000);
+        assertEquals(201_000, sketch.totalCount());
+        long bound = (long) (0.001 * sketch.totalCount());
+        int exceeded = 0;
+        for (int key = 0; key < counts.length; key++) {
+            long estimate = sketch.estimateCount(key);
+            assertTrue(estimate >= counts[key], "key " + key + ": " + estimate + " < " + counts[key]);
+            if (estimate > counts[key] + bound) {
+                exceeded++;
+            }
+        }
+        assertTrue(exceeded < counts.length / 100, "exceeded: " + exceeded);
+        assertTrue(sketch.estimateCount(-1L) >= 1_000);
+
+        sketch.add("apple", 7);
+        sketch.add("apple".getBytes(StandardCharsets.UTF_8));
+        assertTrue(sketch.estimateCount("apple") >= 8);
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(1, -1));
+        sketch.clear();
+        assertEquals(0, sketch.totalCount());
+        assertEquals(0, sketch.estimateCount("apple"));
+    }
+
+    @Test
+    public void testZeroKeys() {
+        CountMinSketch sketch = new CountMinSketch(4, 1_000);
+        for (int i = 1; i <= 100_000; i++) {
+            sketch.add(i);
+        }
+        // 0 and the empty key must not share one column across all rows
+        assertTrue(sketch.estimateCount(0) < 200, "estimate: " + sketch.estimateCount(0));
+        assertTrue(sketch.estimateCount("") < 200, "estimate: " + sketch.estimateCount(""));
+    }
+
+    @Test
+    public void testMerge() {
+        CountMinSketch a = new CountMinSketch(4, 256);
+        CountMinSketch b = new CountMinSketch(4, 256);
+        CountMinSketch all = new CountMinSketch(4, 256);
+        for (int i = 0; i < 1_000; i++) {
+            String key = "user-" + (i % 37);
+            (i % 2 == 0 ? a : b).add(key, i);
+            all.add(key, i);
+        }
+        a.merge(b);
+        assertEquals(all, a);
+        assertEquals(all.estimateCount("user-5"), a.estimateCount("user-5"));
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(4, 128)));
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(3, 256)));
+    }
+
+    @Test
+    public void testSerialization() throws IOException {
+        CountMinSketch sketch = new CountMinSketch(3, 100);
+        for (long i = 0; i < 1_000; i++) {
+            sketch.add(i, i);
+        }
+        byte[] bytes = sketch.toByteArray();
+        assertEquals(21 + 3 * 100 * 8, bytes.length);
+        CountMinSketch copy = CountMinSketch.fromByteArray(bytes);
+        assertEquals(sketch, copy);
+        assertEquals(sketch.hashCode(), copy.hashCode());
+        assertEquals(sketch.totalCount(), copy.totalCount());
+        assertEquals(sketch.estimateCount(500L), copy.estimateCount(500L));
+        assertEquals(sketch, CountMinSketch.readFrom(new ByteArrayInputStream(bytes)));
+        copy.add(1L);
+        assertNotEquals(sketch, copy);
+
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromByteArray(new byte[21]));
+        // truncated
+        assertThrows(IllegalArgumentException.class,
+                () -> CountMinSketch.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+        // unsupported version
+        byte[] version = bytes.clone();
+        version[4] = 2;
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromByteArray(version));
+        // negative width
+        byte[] width = bytes.clone();
+        width[9] = (byte) 0x80;
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromByteArray(width));
+        // negative total count
+        byte[] total = bytes.clone();
+        total[13] = (byte) 0x80;
+        assertThrows(IOException.class, () -> CountMinSketch.readFrom(new ByteArrayInputStream(total)));
+    }
+
+}
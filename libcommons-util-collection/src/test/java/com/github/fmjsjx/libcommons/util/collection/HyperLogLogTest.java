@@ -0,0 +1,73 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testCardinality() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.cardinality());
+        for (long i = 0; i < 500; i++) {
+            hll.add(i);
+            hll.add(i);
+        }
+        assertTrue(hll.isSparse());
+        // linear counting over 2^14 registers, a standard deviation of about 3
+        assertEquals(500, hll.cardinality(), 10);
+        for (long i = 500; i < 1_000_000; i++) {
+            hll.add(i);
+        }
+        assertFalse(hll.isSparse());
+        assertEquals(1_000_000, hll.cardinality(), 1_000_000 * 4 * hll.relativeError());
+    }
+
+    @Test
+    public void testMergeAndSerialization() {
+        HyperLogLog a = new HyperLogLog(12);
+        HyperLogLog b = new HyperLogLog(12);
+        for (int i = 0; i < 100; i++) {
+            a.add("user-" + i);
+        }
+        for (int i = 50; i < 100_000; i++) {
+            b.add("user-" + i);
+        }
+        HyperLogLog sparseCopy = HyperLogLog.fromByteArray(a.toByteArray());
+        assertTrue(sparseCopy.isSparse());
+        assertEquals(a.cardinality(), sparseCopy.cardinality());
+
+        a.merge(b);
+        assertEquals(100_000, a.cardinality(), 100_000 * 4 * a.relativeError());
+        HyperLogLog denseCopy = HyperLogLog.fromByteArray(a.toByteArray());
+        assertFalse(denseCopy.isSparse());
+        assertEquals(a.cardinality(), denseCopy.cardinality());
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new HyperLogLog(13)));
+    }
+
+    @Test
+    public void testCountMinSketch() {
+        CountMinSketch sketch = CountMinSketch.create(0.001, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(i, i);
+            sketch.add("item-" + i);
+        }
+        assertEquals(1_000 * 999 / 2 + 1_000, sketch.totalCount());
+        long bound = (long) (0.001 * sketch.totalCount());
+        for (int i = 0; i < 1_000; i++) {
+            long estimate = sketch.estimateCount(i);
+            assertTrue(estimate >= i && estimate <= i + bound, "estimate of " + i + ": " + estimate);
+            assertTrue(sketch.estimateCount("item-" + i) >= 1);
+        }
+        CountMinSketch copy = CountMinSketch.fromByteArray(sketch.toByteArray());
+        assertEquals(sketch, copy);
+        copy.merge(sketch);
+        assertEquals(2 * sketch.estimateCount(999), copy.estimateCount(999));
+        assertEquals(2 * sketch.totalCount(), copy.totalCount());
+    }
+
+}
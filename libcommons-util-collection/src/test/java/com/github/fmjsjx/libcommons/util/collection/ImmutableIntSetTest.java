@@ -0,0 +1,57 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class ImmutableIntSetTest {
+
+    @Test
+    public void testLookup() {
+        IntSet set = IntSet.of(5, 3, Integer.MAX_VALUE, 3, 0, Integer.MIN_VALUE);
+        assertEquals(5, set.size());
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, 0, 3, 5, Integer.MAX_VALUE }, set.toIntArray());
+        assertEquals("[-2147483648, 0, 3, 5, 2147483647]", set.toString());
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.contains(Integer.MAX_VALUE));
+        assertFalse(set.contains(4));
+        assertEquals(new IntHashSet(set), set);
+        assertEquals(set, new IntHashSet(set));
+        assertTrue(IntSet.of().isEmpty());
+        assertFalse(IntSet.of().contains(0));
+
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(random.nextInt(5000) - 2500);
+        }
+        ImmutableIntSet copy = ImmutableIntSet.copyOf(expected);
+        assertEquals(expected, copy);
+        int[] sorted = expected.stream().mapToInt(Integer::intValue).toArray();
+        for (int v = -2600; v < 2600; v++) {
+            int index = Arrays.binarySearch(sorted, v);
+            assertEquals(index >= 0 ? index : -1, copy.indexOf(v));
+        }
+        assertArrayEquals(sorted, copy.intStream().toArray());
+    }
+
+    @Test
+    public void testImmutable() {
+        IntSet set = IntSet.copyOf(new IntHashSet(new int[] { 1, 2, 3 }));
+        assertThrows(UnsupportedOperationException.class, () -> set.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(1));
+        assertThrows(UnsupportedOperationException.class, () -> set.addAll(IntSet.of(9)));
+        assertThrows(UnsupportedOperationException.class, () -> set.clear());
+        assertThrows(UnsupportedOperationException.class, () -> set.iterator().remove());
+        assertEquals(3, set.size());
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class IntArrayListTest {
+
+    @Test
+    public void testAddRemove() {
+        IntArrayList list = new IntArrayList();
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            list.addInt(i * 2);
+        }
+        assertEquals(100, list.size());
+        assertEquals(10, list.getInt(5));
+        list.addInt(0, -1);
+        assertEquals(-1, list.getInt(0));
+        assertEquals(-1, list.removeAt(0));
+        assertEquals(10, list.setInt(5, 11));
+        assertTrue(list.removeInt(11));
+        assertFalse(list.removeInt(11));
+        assertEquals(99, list.size());
+        assertEquals(4, list.indexOf(8));
+        assertEquals(-1, list.indexOf(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(-1));
+        for (var it = list.iterator(); it.hasNext();) {
+            if (it.nextInt() % 4 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(49, list.size());
+        assertEquals(0, list.intStream().filter(v -> v % 4 == 0).count());
+    }
+
+    @Test
+    public void testSortAndSearch() {
+        IntArrayList list = IntArrayList.of(5, -3, 9, 0, 7, 5);
+        list.sort();
+        assertArrayEquals(new int[] { -3, 0, 5, 5, 7, 9 }, list.toIntArray());
+        assertEquals(4, list.binarySearch(7));
+        assertEquals(-3, list.binarySearch(1));
+        assertEquals("[-3, 0, 5, 5, 7, 9]", list.toString());
+    }
+
+    @Test
+    public void testListView() {
+        IntArrayList list = IntArrayList.of(1, 2, 3);
+        List<Integer> view = list.asList();
+        List<Integer> expected = new ArrayList<>(Arrays.asList(1, 2, 3));
+        assertEquals(expected, view);
+        assertEquals(expected.hashCode(), list.hashCode());
+        view.add(4);
+        view.remove(0);
+        assertEquals(IntArrayList.of(2, 3, 4), list);
+        assertEquals(Integer.valueOf(3), view.get(1));
+        assertTrue(view.contains(4));
+        assertEquals(list, new IntArrayList(view));
+    }
+
+}
@@ -1,12 +1,118 @@
 package com.github.fmjsjx.libcommons.util.collection;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 public class IntHashSetTest {
 
     @Test
-    public void test() {
-        // TODO
+    public void testAddRemove() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(1));
+        assertTrue(set.add(-1));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Integer.valueOf(-1)));
+        assertFalse(set.contains(2));
+        assertFalse(set.contains("1"));
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(2, set.size());
+        int[] a = set.toIntArray();
+        Arrays.sort(a);
+        assertArrayEquals(new int[] { -1, 1 }, a);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        IntHashSet set = new IntHashSet(2);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int v = random.nextInt(4096) - 2048;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(v), set.remove(v));
+            } else {
+                assertEquals(expected.add(v), set.add(v));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+        assertEquals(expected.size(), set.intStream().count());
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), set.intStream().asLongStream().sum());
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(),
+                set.intStream().parallel().asLongStream().sum());
+        int[] a = set.intStream().sorted().toArray();
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), a);
+        IntIterator it = set.iterator();
+        for (int i = 0; i < a.length; i++) {
+            assertTrue(set.contains(it.nextInt()));
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Random random = new Random(2);
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            int v = random.nextInt();
+            set.add(v);
+            expected.add(v);
+        }
+        set.add(0);
+        expected.add(0);
+        Set<Integer> visited = new HashSet<>();
+        for (var it = set.iterator(); it.hasNext();) {
+            Integer v = it.next();
+            assertTrue(visited.add(v));
+            if ((v & 1) == 0) {
+                it.remove();
+                expected.remove(v);
+            }
+        }
+        assertEquals(10_001, visited.size());
+        assertEquals(expected, set);
+        set.retainAll(Set.of(1, 3, 5));
+        expected.retainAll(Set.of(1, 3, 5));
+        assertEquals(expected, set);
+    }
+
+    @Test
+    public void testSetAlgebra() {
+        IntHashSet a = new IntHashSet(0, 1, 2, 3, 4, 5);
+        IntHashSet b = new IntHashSet(4, 5, 6, 7);
+        assertEquals(new IntHashSet(0, 1, 2, 3, 4, 5, 6, 7), IntSet.union(a, b));
+        assertEquals(new IntHashSet(new int[] { 4, 5 }), IntSet.intersect(a, b));
+        assertEquals(2, a.intersectionSize(b));
+        assertFalse(a.containsAll(b));
+        IntHashSet c = new IntHashSet(a);
+        assertTrue(c.retainAll(b));
+        assertEquals(new IntHashSet(new int[] { 4, 5 }), c);
+        assertTrue(a.removeAll((IntSet) b));
+        assertEquals(new IntHashSet(0, 1, 2, 3), a);
+        assertTrue(a.addAll((IntSet) b));
+        assertTrue(a.containsAll((IntSet) b));
+        assertEquals(8, a.size());
     }
-    
+
 }
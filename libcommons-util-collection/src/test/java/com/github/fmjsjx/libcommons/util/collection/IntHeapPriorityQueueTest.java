@@ -0,0 +1,94 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntHeapPriorityQueueTest {
+
+    @Test
+    public void testPayloads() {
+        Random random = new Random(1);
+        // grows from a single slot
+        IntHeapPriorityQueue queue = new IntHeapPriorityQueue(0);
+        int[] keyOf = new int[10_000];
+        PriorityQueue<Integer> expected = new PriorityQueue<>(Comparator.comparingInt(i -> keyOf[i]));
+        for (int id = 0; id < keyOf.length; id++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                int head = expected.poll();
+                // equal keys may come in any order, but each with its own payload
+                assertEquals(keyOf[head], queue.peek());
+                int payload = (int) queue.peekPayload();
+                assertEquals(keyOf[head], keyOf[payload]);
+                assertEquals(payload, queue.pollPayload());
+            } else {
+                keyOf[id] = random.nextInt(1000) - 500;
+                expected.add(id);
+                queue.offer(keyOf[id], id);
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+        long[] sum = new long[1];
+        queue.forEach((k, p) -> {
+            assertEquals(keyOf[(int) p], k);
+            sum[0] += k;
+        });
+        assertEquals(expected.stream().mapToLong(i -> keyOf[i]).sum(), sum[0]);
+        int last = Integer.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            int key = queue.poll();
+            assertTrue(key >= last);
+            last = key;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        IntHeapPriorityQueue queue = new IntHeapPriorityQueue();
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> queue.peek());
+        assertThrows(NoSuchElementException.class, () -> queue.peekPayload());
+        assertThrows(NoSuchElementException.class, () -> queue.poll());
+        assertThrows(NoSuchElementException.class, () -> queue.pollPayload());
+        assertThrows(NoSuchElementException.class, () -> queue.replaceHead(1, 1));
+        assertEquals("[]", queue.toString());
+        queue.offer(3);
+        assertEquals(0, queue.peekPayload());
+        assertEquals("[3=0]", queue.toString());
+        assertEquals(3, queue.poll());
+        assertThrows(NoSuchElementException.class, () -> queue.poll());
+        queue.offer(1);
+        queue.clear();
+        assertThrows(NoSuchElementException.class, () -> queue.peek());
+        assertThrows(IllegalArgumentException.class, () -> new IntHeapPriorityQueue(-1));
+    }
+
+    @Test
+    public void testReversedAndReplaceHead() {
+        IntHeapPriorityQueue queue = new IntHeapPriorityQueue(2, true);
+        assertTrue(queue.isReversed());
+        for (int k = 1; k <= 5; k++) {
+            queue.offer(k, k * 10);
+        }
+        assertEquals(5, queue.peek());
+        assertEquals(50, queue.peekPayload());
+        queue.replaceHead(0, 0);
+        assertEquals(4, queue.peek());
+        queue.replaceHead(9, 90);
+        assertEquals(90, queue.pollPayload());
+        assertEquals(3, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(10, queue.pollPayload());
+        assertEquals(0, queue.poll());
+        assertFalse(new IntHeapPriorityQueue().isReversed());
+    }
+
+}
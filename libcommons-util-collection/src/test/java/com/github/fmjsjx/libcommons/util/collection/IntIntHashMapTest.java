@@ -0,0 +1,70 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntHashMapTest {
+
+    @Test
+    public void testBasic() {
+        IntIntHashMap map = new IntIntHashMap();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.get(1));
+        assertEquals(-1, map.getOrDefault(1, -1));
+        assertEquals(0, map.put(0, 10));
+        assertEquals(10, map.put(0, 11));
+        assertEquals(5, map.addTo(1, 5));
+        assertEquals(8, map.addTo(1, 3));
+        assertEquals(2, map.size());
+        assertEquals(7, map.computeIfAbsent(2, k -> 7));
+        assertEquals(7, map.computeIfAbsent(2, k -> 9));
+        assertEquals(11, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.remove(0));
+        assertEquals(2, map.size());
+        assertEquals(8, map.remove(1));
+        assertEquals("{2=7}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        IntIntHashMap map = new IntIntHashMap(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int k = random.nextInt(4096) - 2048;
+            int v = random.nextInt();
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.containsKey(k), map.containsKey(k));
+                Integer old = expected.remove(k);
+                assertEquals(old == null ? 0 : old.intValue(), map.remove(k));
+                break;
+            case 1:
+                assertEquals(expected.merge(k, v, Integer::sum).intValue(), map.addTo(k, v));
+                break;
+            default:
+                Integer prev = expected.put(k, v);
+                assertEquals(prev == null ? 0 : prev.intValue(), map.put(k, v));
+                break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        map.forEach((k, v) -> assertEquals(expected.get(k).intValue(), v));
+        for (var e : expected.entrySet()) {
+            assertEquals(e.getValue().intValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntMultimapTest {
+
+    @Test
+    public void testPutAndRemove() {
+        IntIntMultimap index = new IntIntMultimap();
+        assertTrue(index.put(1, 100));
+        assertTrue(index.put(1, 101));
+        assertFalse(index.put(1, 100));
+        assertTrue(index.put(0, 0));
+        assertEquals(3, index.size());
+        assertEquals(2, index.keyCount());
+        assertTrue(index.containsEntry(1, 101));
+        assertFalse(index.containsEntry(2, 101));
+
+        // grows beyond the inline capacity and shrinks back
+        int n = IntIntMultimap.INLINE_CAPACITY * 2;
+        for (int v = 0; v < n; v++) {
+            index.put(2, v);
+        }
+        assertEquals(n, index.valueCount(2));
+        for (int v = 0; v < n - 1; v++) {
+            assertTrue(index.remove(2, v));
+        }
+        assertArrayEquals(new int[] { n - 1 }, index.get(2).toIntArray());
+        assertTrue(index.remove(2, n - 1));
+        assertFalse(index.containsKey(2));
+
+        assertEquals(2, index.removeAll(1));
+        assertEquals(1, index.size());
+        assertTrue(index.remove(0, 0));
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.keyCount());
+    }
+
+    @Test
+    public void testView() {
+        IntIntMultimap index = new IntIntMultimap();
+        IntSet members = index.get(7);
+        assertTrue(members.isEmpty());
+        assertTrue(members.add(1));
+        index.putAll(7, 2, 3, 4);
+        assertEquals(Set.of(1, 2, 3, 4), members);
+        assertEquals(4, index.size());
+
+        members.removeIf(v -> v % 2 == 0);
+        int[] values = members.toIntArray();
+        Arrays.sort(values);
+        assertArrayEquals(new int[] { 1, 3 }, values);
+        assertEquals(2, index.size());
+
+        members.clear();
+        assertFalse(index.containsKey(7));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void testForEach() {
+        IntIntMultimap index = new IntIntMultimap(1);
+        Set<Long> expected = new HashSet<>();
+        for (int k = 0; k < 100; k++) {
+            for (int v = 0; v < k % 40; v++) {
+                index.put(k, v);
+                expected.add(((long) k << 32) | v);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        Set<Long> actual = new HashSet<>();
+        index.forEach((int k, int v) -> assertTrue(actual.add(((long) k << 32) | v)));
+        assertEquals(expected, actual);
+        int[] sum = new int[1];
+        index.forEach(39, (int v) -> sum[0] += v);
+        assertEquals(38 * 39 / 2, sum[0]);
+    }
+
+    @Test
+    public void testRemoveFromSetShrunkByIterator() {
+        IntIntMultimap index = new IntIntMultimap();
+        int n = IntIntMultimap.INLINE_CAPACITY + 1;
+        for (int v = 1; v <= n; v++) {
+            index.put(5, v);
+        }
+        // the group stays a set while its iterator removes values
+        IntIterator it = index.get(5).iterator();
+        int last = 0;
+        while (it.hasNext()) {
+            int v = it.nextInt();
+            if (v == n) {
+                last = v;
+            } else {
+                it.remove();
+            }
+        }
+        assertEquals(1, index.size());
+        assertTrue(index.remove(5, last));
+        assertEquals(0, index.size());
+        assertFalse(index.containsKey(5));
+        assertEquals(0, index.keyCount());
+        assertTrue(index.get(5).isEmpty());
+        assertEquals("{}", index.toString());
+    }
+
+}
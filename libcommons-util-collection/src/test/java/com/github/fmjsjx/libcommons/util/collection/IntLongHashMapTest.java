@@ -0,0 +1,73 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntLongHashMapTest {
+
+    @Test
+    public void testBasic() {
+        IntLongHashMap map = new IntLongHashMap();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.get(1));
+        assertEquals(-1, map.getOrDefault(1, -1));
+        assertEquals(0, map.put(0, Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, map.put(0, 11));
+        assertEquals(5, map.addTo(1, 5));
+        assertEquals(1L << 40, map.addTo(1, (1L << 40) - 5));
+        assertEquals(2, map.size());
+        assertEquals(7, map.computeIfAbsent(2, k -> 7));
+        assertEquals(7, map.computeIfAbsent(2, k -> 9));
+        // a present key mapped to 0 is not computed again
+        map.put(3, 0);
+        assertEquals(0, map.computeIfAbsent(3, k -> 9));
+        assertEquals(11, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.remove(0));
+        assertEquals(3, map.size());
+        assertEquals(1L << 40, map.remove(1));
+        assertEquals("{2=7, 3=0}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        IntLongHashMap map = new IntLongHashMap(2);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int k = random.nextInt(4096) - 2048;
+            long v = random.nextLong();
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.containsKey(k), map.containsKey(k));
+                Long old = expected.remove(k);
+                assertEquals(old == null ? 0 : old.longValue(), map.remove(k));
+                break;
+            case 1:
+                assertEquals(expected.merge(k, v, Long::sum).longValue(), map.addTo(k, v));
+                break;
+            default:
+                Long prev = expected.put(k, v);
+                assertEquals(prev == null ? 0 : prev.longValue(), map.put(k, v));
+                break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        map.forEach((k, v) -> assertEquals(expected.get(k).longValue(), v));
+        for (var e : expected.entrySet()) {
+            assertEquals(e.getValue().longValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertEquals("x", map.getOrDefault(1, "x"));
+        assertNull(map.put(0, "zero"));
+        assertEquals("zero", map.put(0, "0"));
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(2, null));
+        assertTrue(map.containsKey(2));
+        assertEquals("x", map.getOrDefault(3, "x"));
+        assertNull(map.getOrDefault(2, "x"));
+        assertEquals(3, map.size());
+        assertEquals("0", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertNull(map.remove(0));
+        IntObjectHashMap<String> copy = new IntObjectHashMap<>(1);
+        copy.put(2, null);
+        copy.put(1, "one");
+        assertEquals(map, copy);
+        assertEquals(map.hashCode(), copy.hashCode());
+        assertNull(map.remove(2));
+        assertEquals("{1=one}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1));
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        assertEquals("7", map.computeIfAbsent(7, String::valueOf));
+        assertEquals("7", map.computeIfAbsent(7, k -> "other"));
+        // a null result is not stored
+        assertNull(map.computeIfAbsent(8, k -> null));
+        assertFalse(map.containsKey(8));
+        assertNull(map.computeIfAbsent(0, k -> null));
+        assertFalse(map.containsKey(0));
+        // a key mapped to null is treated as absent
+        map.put(9, null);
+        assertEquals("9", map.computeIfAbsent(9, String::valueOf));
+        assertEquals("9", map.get(9));
+        map.put(0, null);
+        assertNull(map.computeIfAbsent(0, k -> null));
+        assertTrue(map.containsKey(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testReleasesValues() throws ReflectiveOperationException {
+        Random random = new Random(3);
+        for (int round = 0; round < 100; round++) {
+            IntObjectHashMap<Object> map = new IntObjectHashMap<>(16);
+            // a full table, so that removals shift clusters
+            int[] keys = random.ints(12).toArray();
+            for (int k : keys) {
+                map.put(k, new Object());
+            }
+            for (int i = 0; i < keys.length; i += 2) {
+                map.remove(keys[i]);
+                assertEquals(map.size(), countValues(map));
+            }
+            for (int i = 1; i < keys.length; i += 2) {
+                assertTrue(map.containsKey(keys[i]));
+            }
+            map.clear();
+            assertEquals(0, countValues(map));
+        }
+    }
+
+    private static int countValues(IntObjectHashMap<?> map) throws ReflectiveOperationException {
+        Field field = IntObjectHashMap.class.getDeclaredField("values");
+        field.setAccessible(true);
+        int n = 0;
+        for (Object v : (Object[]) field.get(map)) {
+            if (v != null) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Test
+    public void testRandom() throws ReflectiveOperationException {
+        Random random = new Random(1);
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int k = random.nextInt(4096) - 2048;
+            if (random.nextBoolean()) {
+                assertEquals(expected.containsKey(k), map.containsKey(k));
+                assertEquals(expected.remove(k), map.remove(k));
+            } else {
+                Integer v = random.nextInt();
+                assertEquals(expected.put(k, v), map.put(k, v));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected.size(), countValues(map));
+        map.forEach((k, v) -> assertEquals(expected.get(k), v));
+        for (var e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntRingBufferTest {
+
+    @Test
+    public void testOverwrite() {
+        IntRingBuffer window = new IntRingBuffer(3);
+        assertThrows(NoSuchElementException.class, () -> window.getFirst());
+        assertThrows(NoSuchElementException.class, () -> window.removeLast());
+        for (int v = 1; v <= 5; v++) {
+            assertTrue(window.addLast(v));
+        }
+        // wrapped around: the oldest value is in the middle of the array
+        assertTrue(window.isFull());
+        assertArrayEquals(new int[] { 3, 4, 5 }, window.toIntArray());
+        assertEquals(3, window.get(0));
+        assertEquals(4, window.get(1));
+        assertEquals(5, window.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(-1));
+        assertEquals(12, window.sum());
+        assertEquals(3, window.min());
+        assertEquals(5, window.max());
+        assertEquals(4.0, window.average());
+
+        // adding first to a full buffer drops the last value
+        assertTrue(window.addFirst(Integer.MIN_VALUE));
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, 3, 4 }, window.toIntArray());
+        assertEquals(Integer.MIN_VALUE, window.getFirst());
+        assertEquals(4, window.getLast());
+        assertEquals(4, window.removeLast());
+        assertEquals(Integer.MIN_VALUE, window.removeFirst());
+        assertEquals(3, window.sum());
+        assertEquals("[3]", window.toString());
+        window.clear();
+        assertTrue(window.isEmpty());
+        assertEquals(0, window.sum());
+    }
+
+    @Test
+    public void testBounded() {
+        IntRingBuffer bounded = new IntRingBuffer(2, false);
+        assertFalse(bounded.isOverwrite());
+        assertTrue(bounded.addLast(1));
+        assertTrue(bounded.addFirst(0));
+        assertFalse(bounded.addLast(2));
+        assertFalse(bounded.addFirst(-1));
+        assertEquals("[0, 1]", bounded.toString());
+        assertEquals(0, bounded.removeFirst());
+        assertTrue(bounded.addLast(2));
+        assertArrayEquals(new int[] { 1, 2 }, bounded.intStream().toArray());
+        bounded.clear();
+        assertThrows(NoSuchElementException.class, () -> bounded.max());
+        assertThrows(IllegalArgumentException.class, () -> new IntRingBuffer(0));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        IntRingBuffer window = new IntRingBuffer(7);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 10_000; i++) {
+            int v = random.nextInt(1000) - 500;
+            switch (random.nextInt(4)) {
+            case 0:
+                window.addFirst(v);
+                if (expected.size() == 7) {
+                    expected.removeLast();
+                }
+                expected.addFirst(v);
+                break;
+            case 1:
+                window.addLast(v);
+                if (expected.size() == 7) {
+                    expected.removeFirst();
+                }
+                expected.addLast(v);
+                break;
+            case 2:
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.removeFirst().intValue(), window.removeFirst());
+                }
+                break;
+            default:
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.removeLast().intValue(), window.removeLast());
+                }
+                break;
+            }
+            int[] values = expected.stream().mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(values, window.toIntArray());
+            for (int j = 0; j < values.length; j++) {
+                assertEquals(values[j], window.get(j));
+            }
+            assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), window.sum());
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+public class LongArrayDequeTest {
+
+    @Test
+    public void testGrowAfterWrap() {
+        LongArrayDeque deque = new LongArrayDeque(4);
+        assertThrows(NoSuchElementException.class, () -> deque.removeFirst());
+        assertThrows(NoSuchElementException.class, () -> deque.getLast());
+        deque.addLast(2);
+        deque.addLast(3);
+        // wraps to the end of the array
+        deque.addFirst(1);
+        deque.addFirst(0);
+        assertArrayEquals(new long[] { 0, 1, 2, 3 }, deque.toLongArray());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, deque.get(i));
+        }
+        // grows while wrapped
+        deque.addLast(4);
+        deque.addFirst(-1);
+        assertEquals(6, deque.size());
+        assertArrayEquals(new long[] { -1, 0, 1, 2, 3, 4 }, deque.toLongArray());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i - 1, deque.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.get(6));
+        assertEquals(9, deque.sum());
+        assertEquals(-1, deque.min());
+        assertEquals(4, deque.max());
+        assertEquals("[-1, 0, 1, 2, 3, 4]", deque.toString());
+    }
+
+    @Test
+    public void testBothEnds() {
+        LongArrayDeque deque = new LongArrayDeque(0);
+        for (long v = 0; v < 100; v++) {
+            deque.addFirst(v);
+        }
+        assertEquals(99, deque.getFirst());
+        assertEquals(0, deque.getLast());
+        for (long v = 0; v < 50; v++) {
+            assertEquals(v, deque.removeLast());
+        }
+        for (long v = 100; v < 150; v++) {
+            deque.addLast(v);
+        }
+        assertEquals(100, deque.size());
+        assertEquals(99, deque.removeFirst());
+        assertEquals(149, deque.removeLast());
+        assertEquals(98, deque.get(0));
+        assertEquals(50, deque.get(48));
+        assertEquals(100, deque.get(49));
+        long sum = 0;
+        for (var it = deque.iterator(); it.hasNext();) {
+            sum += it.nextLong();
+        }
+        assertEquals(sum, deque.sum());
+        assertEquals(sum, deque.longStream().sum());
+        deque.clear();
+        assertTrue(deque.isEmpty());
+        assertEquals(0, deque.sum());
+        deque.addFirst(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, deque.removeLast());
+        assertThrows(IllegalArgumentException.class, () -> new LongArrayDeque(-1));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddRemove() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(Long.valueOf(Long.MIN_VALUE)));
+        assertFalse(set.contains(1L));
+        assertFalse(set.contains(Integer.valueOf(0)));
+        assertTrue(set.remove(0L));
+        assertFalse(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertEquals(2, set.size());
+        long[] a = set.toLongArray();
+        Arrays.sort(a);
+        assertArrayEquals(new long[] { Long.MIN_VALUE, Long.MAX_VALUE }, a);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        // a small range in a small table, so that removals shift clusters
+        LongHashSet set = new LongHashSet(2);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            long v = (random.nextInt(4096) - 2048) * (1L << 32);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(v), set.remove(v));
+            } else {
+                assertEquals(expected.add(v), set.add(v));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+        long[] a = set.longStream().sorted().toArray();
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), a);
+        for (long v : a) {
+            assertTrue(set.remove(v));
+            assertFalse(set.contains(v));
+        }
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Random random = new Random(2);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextLong();
+            set.add(v);
+            expected.add(v);
+        }
+        set.add(0L);
+        expected.add(0L);
+        Set<Long> visited = new HashSet<>();
+        for (var it = set.iterator(); it.hasNext();) {
+            long v = it.nextLong();
+            assertTrue(visited.add(v));
+            if ((v & 1) == 0) {
+                it.remove();
+                expected.remove(v);
+            }
+        }
+        assertEquals(10_001, visited.size());
+        assertFalse(set.contains(0L));
+        assertEquals(expected, set);
+        set.removeIf(v -> v < 0);
+        expected.removeIf(v -> v < 0);
+        assertEquals(expected, set);
+    }
+
+    @Test
+    public void testSetAlgebra() {
+        LongHashSet a = new LongHashSet(0, 1, 2, 3, 4, 5);
+        LongHashSet b = new LongHashSet(4, 5, 6, 7);
+        assertEquals(new LongHashSet(0, 1, 2, 3, 4, 5, 6, 7), LongSet.union(a, b));
+        assertEquals(new LongHashSet(new long[] { 4, 5 }), LongSet.intersect(a, b));
+        assertEquals(2, a.intersectionSize(b));
+        assertTrue(a.removeAll((LongSet) b));
+        assertEquals(new LongHashSet(0, 1, 2, 3), a);
+        assertTrue(a.addAll((LongSet) b));
+        assertTrue(a.containsAll((LongSet) b));
+        assertEquals(8, a.size());
+    }
+
+}
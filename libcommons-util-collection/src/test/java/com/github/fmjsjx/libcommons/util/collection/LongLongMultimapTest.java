@@ -0,0 +1,138 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LongLongMultimapTest {
+
+    private static final long GUILD = 1L << 40;
+
+    @Test
+    public void testPutAndRemove() {
+        LongLongMultimap index = new LongLongMultimap();
+        assertTrue(index.put(GUILD, Long.MAX_VALUE));
+        assertTrue(index.put(GUILD, Long.MIN_VALUE));
+        assertFalse(index.put(GUILD, Long.MAX_VALUE));
+        assertTrue(index.put(0L, 0L));
+        assertEquals(3, index.size());
+        assertEquals(2, index.keyCount());
+        assertTrue(index.containsEntry(GUILD, Long.MIN_VALUE));
+        assertFalse(index.containsEntry(GUILD + 1, Long.MIN_VALUE));
+
+        // grows beyond the inline capacity and shrinks back
+        int n = LongLongMultimap.INLINE_CAPACITY * 2;
+        for (long v = 0; v < n; v++) {
+            index.put(-GUILD, v * GUILD);
+        }
+        assertEquals(n, index.valueCount(-GUILD));
+        for (long v = 0; v < n - 1; v++) {
+            assertTrue(index.remove(-GUILD, v * GUILD));
+        }
+        assertArrayEquals(new long[] { (n - 1) * GUILD }, index.get(-GUILD).toLongArray());
+        assertTrue(index.remove(-GUILD, (n - 1) * GUILD));
+        assertFalse(index.containsKey(-GUILD));
+
+        assertEquals(2, index.removeAll(GUILD));
+        assertTrue(index.remove(0L, 0L));
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.keyCount());
+        assertEquals("{}", index.toString());
+    }
+
+    @Test
+    public void testIteratorRemoveInline() {
+        LongLongMultimap index = new LongLongMultimap();
+        index.putAll(GUILD, 1, 2, 3, 4, 5);
+        LongIterator it = index.get(GUILD).iterator();
+        assertThrows(IllegalStateException.class, () -> it.remove());
+        Set<Long> seen = new HashSet<>();
+        while (it.hasNext()) {
+            long v = it.nextLong();
+            assertTrue(seen.add(v));
+            if (v % 2 == 1) {
+                it.remove();
+            }
+        }
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), seen);
+        assertEquals(Set.of(2L, 4L), index.get(GUILD));
+        assertEquals(2, index.size());
+
+        // removing every value removes the key
+        for (LongIterator i = index.get(GUILD).iterator(); i.hasNext();) {
+            i.nextLong();
+            i.remove();
+        }
+        assertFalse(index.containsKey(GUILD));
+        assertEquals(0, index.keyCount());
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void testIteratorRemoveSet() {
+        LongLongMultimap index = new LongLongMultimap();
+        int n = LongLongMultimap.INLINE_CAPACITY * 2;
+        for (long v = 1; v <= n; v++) {
+            index.put(GUILD, v);
+            index.put(0L, v);
+        }
+        // removing every value removes the key
+        for (LongIterator it = index.get(GUILD).iterator(); it.hasNext();) {
+            it.nextLong();
+            it.remove();
+        }
+        assertFalse(index.containsKey(GUILD));
+        assertEquals(n, index.size());
+
+        // the group stays a set while its iterator removes values
+        LongIterator it = index.get(0L).iterator();
+        int seen = 0;
+        while (it.hasNext()) {
+            long v = it.nextLong();
+            seen++;
+            if (v != n) {
+                it.remove();
+            }
+        }
+        assertEquals(n, seen);
+        assertEquals(1, index.size());
+        assertEquals(Set.of((long) n), index.get(0L));
+        assertTrue(index.remove(0L, n));
+        assertFalse(index.containsKey(0L));
+        assertEquals(0, index.keyCount());
+        assertTrue(index.get(0L).isEmpty());
+        assertEquals("{}", index.toString());
+    }
+
+    @Test
+    public void testForEach() {
+        LongLongMultimap index = new LongLongMultimap(1);
+        Set<String> expected = new HashSet<>();
+        for (long k = 0; k < 100; k++) {
+            for (long v = 0; v < k % 40; v++) {
+                index.put(k * GUILD, v);
+                expected.add(k * GUILD + ":" + v);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        Set<String> actual = new HashSet<>();
+        index.forEach((long k, long v) -> assertTrue(actual.add(k + ":" + v)));
+        assertEquals(expected, actual);
+        long[] sum = new long[1];
+        index.forEach(39 * GUILD, (long v) -> sum[0] += v);
+        assertEquals(38 * 39 / 2, sum[0]);
+        long[] keys = index.get(39 * GUILD).toLongArray();
+        Arrays.sort(keys);
+        assertEquals(39, keys.length);
+        assertEquals(38, keys[38]);
+    }
+
+}
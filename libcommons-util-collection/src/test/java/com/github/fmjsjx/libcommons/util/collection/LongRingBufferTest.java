@@ -0,0 +1,88 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongRingBufferTest {
+
+    @Test
+    public void testOverwrite() {
+        LongRingBuffer window = new LongRingBuffer(3);
+        for (long v = 1; v <= 5; v++) {
+            assertTrue(window.addLast(v));
+        }
+        assertTrue(window.isFull());
+        assertArrayEquals(new long[] { 3, 4, 5 }, window.toLongArray());
+        assertEquals(12, window.sum());
+        assertEquals(3, window.min());
+        assertEquals(5, window.max());
+        assertEquals(4.0, window.average());
+        window.addFirst(0);
+        assertArrayEquals(new long[] { 0, 3, 4 }, window.toLongArray());
+        assertEquals(4, window.removeLast());
+        assertEquals(0, window.removeFirst());
+        assertEquals(3, window.sum());
+
+        LongRingBuffer bounded = new LongRingBuffer(2, false);
+        assertTrue(bounded.addLast(1));
+        assertTrue(bounded.addLast(2));
+        assertFalse(bounded.addLast(3));
+        assertFalse(bounded.addFirst(0));
+        assertEquals("[1, 2]", bounded.toString());
+        bounded.clear();
+        assertThrows(NoSuchElementException.class, () -> bounded.max());
+    }
+
+    @Test
+    public void testDeque() {
+        Random random = new Random(1);
+        LongArrayDeque deque = new LongArrayDeque(1);
+        ArrayDeque<Long> expected = new ArrayDeque<>();
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+            case 0:
+                deque.addFirst(v);
+                expected.addFirst(v);
+                sum += v;
+                break;
+            case 1:
+                deque.addLast(v);
+                expected.addLast(v);
+                sum += v;
+                break;
+            case 2:
+                if (!expected.isEmpty()) {
+                    long first = expected.removeFirst();
+                    assertEquals(first, deque.removeFirst());
+                    sum -= first;
+                }
+                break;
+            default:
+                if (!expected.isEmpty()) {
+                    long last = expected.removeLast();
+                    assertEquals(last, deque.removeLast());
+                    sum -= last;
+                }
+                break;
+            }
+            assertEquals(expected.size(), deque.size());
+            assertEquals(sum, deque.sum());
+        }
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), deque.toLongArray());
+        assertEquals(expected.stream().mapToLong(Long::longValue).max().getAsLong(), deque.max());
+        assertEquals(expected.peekFirst().longValue(), deque.getFirst());
+        assertEquals(expected.peekLast().longValue(), deque.getLast());
+    }
+
+}
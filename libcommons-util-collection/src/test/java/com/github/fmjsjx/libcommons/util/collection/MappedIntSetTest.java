@@ -0,0 +1,106 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class MappedIntSetTest {
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        Path dir = Files.createTempDirectory("libcommons-mapped-set");
+        Path file = dir.resolve("ids.snapshot");
+        try {
+            IntHashSet source = new IntHashSet();
+            Random random = new Random(1);
+            for (int i = 0; i < 10_000; i++) {
+                source.add(random.nextInt());
+            }
+            source.add(0);
+            MappedIntSet.write(source, file);
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertEquals(source.size(), set.size());
+                assertEquals(source, set);
+                assertEquals(set, source);
+                for (int v : source.toIntArray()) {
+                    assertTrue(set.contains(v));
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    int v = random.nextInt();
+                    assertEquals(source.contains(v), set.contains(v));
+                }
+                assertThrows(UnsupportedOperationException.class, () -> set.add(1));
+            }
+            // the key 0 is kept in the header, so a full table of 2 slots is valid
+            MappedIntSet.write(new IntHashSet(new int[] { 0, 5 }), file);
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertEquals(new IntHashSet(new int[] { 0, 5 }), set);
+                assertFalse(set.contains(6));
+            }
+            MappedIntSet.write(new IntHashSet(), file);
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertTrue(set.isEmpty());
+                assertFalse(set.contains(0));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testCorrupted() throws IOException {
+        Path dir = Files.createTempDirectory("libcommons-mapped-set");
+        Path file = dir.resolve("ids.snapshot");
+        try {
+            MappedIntSet.write(new IntHashSet(new int[] { 1, 2 }), file);
+            // no free slot left by the size of the header
+            writeInt(file, 8, 4);
+            assertThrows(IOException.class, () -> MappedIntSet.open(file));
+            writeInt(file, 8, -1);
+            assertThrows(IOException.class, () -> MappedIntSet.open(file));
+            // a header claiming more keys than the table holds
+            writeInt(file, 8, 3);
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertTrue(set.contains(2));
+                assertThrows(IllegalStateException.class, () -> set.toIntArray());
+                assertThrows(IllegalStateException.class, () -> set.hashCode());
+                assertEquals(2, set.intStream().limit(2).count());
+            }
+            // a table without free slots behind a valid header
+            for (int slot = 0; slot < 4; slot++) {
+                writeInt(file, 16 + slot * Integer.BYTES, 1 + slot);
+            }
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertTrue(set.contains(1));
+                assertFalse(set.contains(5));
+                assertFalse(set.contains(-1));
+            }
+            Files.write(file, new byte[] { 'L', 'C' });
+            assertThrows(IOException.class, () -> MappedIntSet.open(file));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static void writeInt(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value);
+            channel.write(buffer.flip(), position);
+        }
+    }
+
+}
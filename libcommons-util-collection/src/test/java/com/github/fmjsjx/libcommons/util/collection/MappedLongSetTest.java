@@ -0,0 +1,56 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class MappedLongSetTest {
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        Path dir = Files.createTempDirectory("libcommons-mapped-set");
+        Path file = dir.resolve("ids.snapshot");
+        try {
+            LongHashSet source = new LongHashSet();
+            Random random = new Random(1);
+            for (int i = 0; i < 10_000; i++) {
+                source.add(random.nextLong());
+            }
+            source.add(0L);
+            MappedLongSet.write(source, file);
+            try (MappedLongSet set = MappedLongSet.open(file)) {
+                assertEquals(source.size(), set.size());
+                assertEquals(source, set);
+                assertEquals(set, source);
+                assertTrue(set.contains(0L));
+                assertFalse(set.contains(1L));
+                assertThrows(UnsupportedOperationException.class, () -> set.add(1L));
+                // replacing the file does not affect a set that is already open
+                MappedLongSet.write(new LongHashSet(new long[] { 1L, 2L }), file);
+                assertEquals(source, set);
+            }
+            try (MappedLongSet set = MappedLongSet.open(file)) {
+                assertEquals(new LongHashSet(new long[] { 1L, 2L }), set);
+            }
+            assertThrows(IOException.class, () -> MappedIntSet.open(file));
+            MappedIntSet.write(new IntHashSet(new int[] { 3, 0, -3 }), file);
+            try (MappedIntSet set = MappedIntSet.open(file)) {
+                assertEquals(new IntHashSet(new int[] { 3, 0, -3 }), set);
+                set.close();
+                assertThrows(IllegalStateException.class, () -> set.contains(3));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class MpscIntQueueTest {
+
+    @Test
+    public void testBounded() {
+        MpscIntQueue queue = new MpscIntQueue(3);
+        assertEquals(4, queue.capacity());
+        assertEquals(-1, queue.poll(-1));
+        for (int v = 0; v < 4; v++) {
+            assertTrue(queue.offer(v));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.poll(-1));
+        assertTrue(queue.offer(Integer.MIN_VALUE));
+        IntArrayList drained = new IntArrayList();
+        assertEquals(2, queue.drain(drained::addInt, 2));
+        assertEquals(IntArrayList.of(1, 2), drained);
+        assertEquals(2, queue.drain(drained::addInt));
+        assertEquals(IntArrayList.of(1, 2, 3, Integer.MIN_VALUE), drained);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.drain(drained::addInt));
+    }
+
+    @Test
+    public void testProducers() throws InterruptedException {
+        int producers = 4;
+        int count = 200_000;
+        MpscIntQueue queue = new MpscIntQueue(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < producers; t++) {
+            int base = t << 24;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!queue.offer(base | i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        // values of each producer must arrive in order
+        int[] next = new int[producers];
+        int[] received = new int[1];
+        while (received[0] < producers * count) {
+            int n = queue.drain(v -> {
+                int producer = v >>> 24;
+                assertEquals(next[producer]++, v & 0xFFFFFF);
+                received[0]++;
+            }, 16);
+            if (n == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int n : next) {
+            assertEquals(count, n);
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class MpscLongQueueTest {
+
+    @Test
+    public void testBounded() {
+        MpscLongQueue queue = new MpscLongQueue(3);
+        assertEquals(4, queue.capacity());
+        assertEquals(-1, queue.poll(-1));
+        for (long v = 0; v < 4; v++) {
+            assertTrue(queue.offer(v));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.poll(-1));
+        assertTrue(queue.offer(4));
+        LongArrayList drained = new LongArrayList();
+        assertEquals(2, queue.drain(drained::addLong, 2));
+        assertEquals(LongArrayList.of(1, 2), drained);
+        assertEquals(2, queue.drain(drained::addLong));
+        assertEquals(LongArrayList.of(1, 2, 3, 4), drained);
+        assertTrue(queue.isEmpty());
+
+        SpscLongQueue spsc = new SpscLongQueue(2);
+        assertTrue(spsc.offer(Long.MIN_VALUE));
+        assertTrue(spsc.offer(0));
+        assertFalse(spsc.offer(1));
+        assertEquals(Long.MIN_VALUE, spsc.poll(-1));
+        assertTrue(spsc.offer(1));
+        assertEquals(2, spsc.drain(drained::addLong, 5));
+        assertEquals(-1, spsc.poll(-1));
+    }
+
+    @Test
+    public void testProducers() throws InterruptedException {
+        int producers = 4;
+        int count = 200_000;
+        MpscLongQueue queue = new MpscLongQueue(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < producers; t++) {
+            long base = (long) t << 32;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!queue.offer(base | i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        // values of each producer must arrive in order
+        long[] next = new long[producers];
+        int[] received = new int[1];
+        while (received[0] < producers * count) {
+            int n = queue.drain(v -> {
+                int producer = (int) (v >>> 32);
+                assertEquals(next[producer]++, v & 0xFFFFFFFFL);
+                received[0]++;
+            }, 16);
+            if (n == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long n : next) {
+            assertEquals(count, n);
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapLongHashSetTest {
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        Set<Long> expected = new HashSet<>();
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            for (int i = 0; i < 100_000; i++) {
+                long v = random.nextInt(50_000) - 25_000L;
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(v), set.remove(v));
+                } else {
+                    assertEquals(expected.add(v), set.add(v));
+                }
+            }
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected, set);
+            assertEquals(set, new LongHashSet(set.toLongArray()));
+            assertEquals(expected.hashCode(), set.hashCode());
+            for (var it = set.iterator(); it.hasNext();) {
+                if ((it.nextLong() & 1) == 0) {
+                    it.remove();
+                }
+            }
+            expected.removeIf(v -> (v & 1) == 0);
+            assertEquals(expected, set);
+            assertEquals(expected.size(), set.longStream().count());
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapLongHashSet set = OffHeapLongHashSet.withExpectedSize(1000);
+        assertEquals(OffHeapLongHashSet.memoryUsage(1000, 0.75f), set.offHeapBytes());
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertTrue(set.contains(Long.MAX_VALUE));
+        set.close();
+        assertTrue(set.isClosed());
+        assertEquals(0, set.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> set.contains(1L));
+        assertThrows(IllegalStateException.class, () -> set.add(0L));
+        set.close();
+        assertEquals("[closed]", set.toString());
+    }
+
+    @Test
+    public void testConcurrentModification() {
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            for (long v = 1; v <= 1000; v++) {
+                set.add(v);
+            }
+            // growing frees the table being walked
+            long[] next = { 1001 };
+            assertThrows(ConcurrentModificationException.class, () -> set.forEach((long v) -> {
+                for (int i = 0; i < 1000; i++) {
+                    set.add(next[0]++);
+                }
+            }));
+            assertThrows(ConcurrentModificationException.class, () -> set.forEach((long v) -> set.remove(v)));
+            var it = set.iterator();
+            it.nextLong();
+            set.add(-1L);
+            assertThrows(ConcurrentModificationException.class, it::nextLong);
+            assertThrows(ConcurrentModificationException.class, it::remove);
+            // removing through the iterator is allowed
+            int size = set.size();
+            for (var it2 = set.iterator(); it2.hasNext();) {
+                it2.nextLong();
+                it2.remove();
+            }
+            assertTrue(set.isEmpty());
+            assertTrue(size > 0);
+            set.add(1L);
+            assertThrows(ConcurrentModificationException.class, () -> set.forEach((long v) -> set.close()));
+        }
+    }
+
+}
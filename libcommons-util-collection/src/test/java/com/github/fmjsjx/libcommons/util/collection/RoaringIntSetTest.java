@@ -0,0 +1,86 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class RoaringIntSetTest {
+
+    @Test
+    public void testAddRemove() {
+        RoaringIntSet set = new RoaringIntSet(3, -1, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 70000);
+        assertEquals(6, set.size());
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, -1, 0, 3, 70000, Integer.MAX_VALUE }, set.toIntArray());
+        assertFalse(set.add(3));
+        assertTrue(set.remove(70000));
+        assertFalse(set.contains(70000));
+        assertEquals("[-2147483648, -1, 0, 3, 2147483647]", set.toString());
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i * 3);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(i * 3));
+            assertFalse(set.contains(i * 3 + 1));
+        }
+        assertEquals(10_003, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testRange() {
+        RoaringIntSet set = new RoaringIntSet();
+        set.addRange(-100_000, 1_000_000);
+        set.runOptimize();
+        assertEquals(1_100_000, set.size());
+        assertTrue(set.contains(-100_000));
+        assertTrue(set.contains(999_999));
+        assertFalse(set.contains(1_000_000));
+        assertTrue(set.sizeInBytes() < 1024);
+        assertTrue(set.remove(500_000));
+        assertFalse(set.contains(500_000));
+        assertEquals(1_099_999, set.size());
+    }
+
+    @Test
+    public void testSetAlgebra() {
+        Random random = new Random(1);
+        TreeSet<Integer> ea = new TreeSet<>();
+        TreeSet<Integer> eb = new TreeSet<>();
+        RoaringIntSet a = new RoaringIntSet();
+        RoaringIntSet b = new RoaringIntSet();
+        for (int i = 0; i < 50_000; i++) {
+            int x = random.nextInt(200_000);
+            int y = random.nextInt(10_000) + 190_000;
+            a.add(x);
+            ea.add(x);
+            b.add(y);
+            eb.add(y);
+        }
+        b.addRange(0, 70_000);
+        for (int i = 0; i < 70_000; i++) {
+            eb.add(i);
+        }
+        TreeSet<Integer> and = new TreeSet<>(ea);
+        and.retainAll(eb);
+        assertEquals(and, RoaringIntSet.and(a, b));
+        assertEquals(and.size(), RoaringIntSet.andCardinality(a, b));
+        TreeSet<Integer> or = new TreeSet<>(ea);
+        or.addAll(eb);
+        assertEquals(or, a.or(b));
+        TreeSet<Integer> andNot = new TreeSet<>(ea);
+        andNot.removeAll(eb);
+        assertEquals(andNot, a.andNot(b));
+        TreeSet<Integer> xor = new TreeSet<>(or);
+        xor.removeAll(and);
+        assertEquals(xor, a.xor(b));
+        assertArrayEquals(xor.stream().mapToInt(Integer::intValue).toArray(), a.xor(b).toIntArray());
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SpscLongQueueTest {
+
+    @Test
+    public void testProducerConsumer() throws InterruptedException {
+        int count = 1_000_000;
+        SpscLongQueue queue = new SpscLongQueue(64);
+        Thread producer = new Thread(() -> {
+            for (long i = 0; i < count; i++) {
+                // negative values, so that no value equals the empty value
+                while (!queue.offer(-i - 1)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        // values must arrive in order, alternating poll and drain
+        long[] next = { -1 };
+        while (next[0] >= -count) {
+            long v = queue.poll(0);
+            if (v == 0) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(next[0]--, v);
+            queue.drain(x -> assertEquals(next[0]--, x), 8);
+        }
+        producer.join();
+        assertEquals(-count - 1, next[0]);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.poll(0));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.fmjsjx.libcommons.util.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TopKLongSelectorTest {
+
+    @Test
+    public void testQueue() {
+        Random random = new Random(1);
+        LongHeapPriorityQueue queue = new LongHeapPriorityQueue(4);
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                assertEquals(-queue.peek(), queue.peekPayload());
+                assertEquals(expected.poll().longValue(), queue.poll());
+            } else {
+                long v = random.nextInt(1000);
+                expected.add(v);
+                queue.offer(v, -v);
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll().longValue(), queue.poll());
+        }
+        assertThrows(NoSuchElementException.class, () -> queue.poll());
+        LongHeapPriorityQueue reversed = new LongHeapPriorityQueue(0, true);
+        reversed.offer(1, 10);
+        reversed.offer(3, 30);
+        reversed.offer(2, 20);
+        assertEquals(30, reversed.pollPayload());
+        assertEquals(2, reversed.poll());
+    }
+
+    @Test
+    public void testSelector() {
+        Random random = new Random(1);
+        long[] scores = new long[10_000];
+        TopKLongSelector top = TopKLongSelector.largest(10);
+        TopKLongSelector bottom = TopKLongSelector.smallest(10);
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextLong();
+            top.offer(scores[i], i);
+            bottom.offer(scores[i], i);
+        }
+        assertEquals(10, top.size());
+        long[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        long[] keys = new long[10];
+        long[] userIds = new long[10];
+        assertEquals(10, top.drainTo(keys, userIds));
+        assertTrue(top.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], keys[i]);
+            assertEquals(keys[i], scores[(int) userIds[i]]);
+        }
+        bottom.drainTo(keys, null);
+        assertArrayEquals(Arrays.copyOf(sorted, 10), keys);
+        assertTrue(top.offer(5));
+        assertTrue(top.offer(7));
+        assertEquals(5, top.threshold());
+        TopKLongSelector one = TopKLongSelector.largest(1);
+        one.offer(5);
+        assertFalse(one.offer(4));
+        assertTrue(one.offer(6));
+    }
+
+}
@@ -1,7 +1,14 @@
 package com.github.fmjsjx.libcommons.util;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Supplier;
 import java.util.zip.CRC32;
 import java.util.zip.CRC32C;
@@ -13,11 +20,11 @@ public class CrcUtil {
         /**
          * {@code "CRC-32"}
          */
-        CRC_32(CRC32::new),
+        CRC_32(CRC32::new, 0xedb88320),
         /**
          * {@code "CRC-32C"}
          */
-        CRC_32C(CRC32C::new);
+        CRC_32C(CRC32C::new, 0x82f63b78);
 
         public static final CheckType forName(String name) {
             switch (name) {
@@ -31,17 +38,100 @@ public class CrcUtil {
         }
 
         private final Supplier<Checksum> crcFactory;
+        /**
+         * The reflected polynomial.
+         */
+        private final int polynomial;
+        /**
+         * {@code x2n[k]} is {@code x^(2^k)} modulo the polynomial.
+         */
+        private final int[] x2n = new int[32];
 
-        private CheckType(Supplier<Checksum> crcFactory) {
+        private CheckType(Supplier<Checksum> crcFactory, int polynomial) {
             this.crcFactory = crcFactory;
+            this.polynomial = polynomial;
+            int p = 1 << 30;
+            x2n[0] = p;
+            for (int k = 1; k < x2n.length; k++) {
+                x2n[k] = p = multModP(p, p, polynomial);
+            }
+        }
+
+        /**
+         * Returns the check value of the concatenation of two byte sequences
+         * from the check values of both, in {@code O(log(lenB))} time.
+         *
+         * @param crcA the check value of the first sequence
+         * @param crcB the check value of the second sequence
+         * @param lenB the length of the second sequence
+         * @return the check value of both sequences
+         */
+        public long combine(long crcA, long crcB, long lenB) {
+            if (lenB < 0) {
+                throw new IllegalArgumentException("lenB must be >= 0: " + lenB);
+            }
+            // same as crc32_combine of zlib
+            return (multModP(x2nModP(lenB, 3), (int) crcA, polynomial) ^ (int) crcB) & 0xffffffffL;
+        }
+
+        /**
+         * Returns {@code x^(n * 2^k)} modulo the polynomial.
+         */
+        private int x2nModP(long n, int k) {
+            int p = 1 << 31;
+            for (; n != 0; n >>>= 1, k++) {
+                if ((n & 1) != 0) {
+                    p = multModP(x2n[k & 31], p, polynomial);
+                }
+            }
+            return p;
+        }
+
+        /**
+         * Returns {@code a * b} modulo the polynomial, {@code a} must not be
+         * {@code 0}.
+         */
+        private static int multModP(int a, int b, int polynomial) {
+            int m = 1 << 31;
+            int p = 0;
+            for (;;) {
+                if ((a & m) != 0) {
+                    p ^= b;
+                    if ((a & (m - 1)) == 0) {
+                        return p;
+                    }
+                }
+                m >>>= 1;
+                b = (b & 1) != 0 ? (b >>> 1) ^ polynomial : b >>> 1;
+            }
         }
 
     }
 
+    /**
+     * The maximum size of a file region mapped at once.
+     */
+    private static final int MAX_MAPPED_SIZE = 1 << 30;
+
+    /**
+     * The size below which a parallel computation is not split any more.
+     */
+    static final int PARALLEL_CHUNK_SIZE = 1 << 20;
+
     public static final CrcUtil newInstance(CheckType checkType) {
         return new CrcUtil(checkType, checkType.crcFactory.get());
     }
 
+    /**
+     * Returns a new session, which computes a check value incrementally.
+     *
+     * @param checkType the type of the check value
+     * @return a new {@code Session}
+     */
+    public static final Session newSession(CheckType checkType) {
+        return new Session(checkType);
+    }
+
     public static final CrcUtil crc32Instance() {
         return CRC32Holder.getInstance();
     }
@@ -94,6 +184,103 @@ public class CrcUtil {
         return crc32cInstance().checkValue(buffer, otherBuffers);
     }
 
+    public static final long crc32(Path path) throws IOException {
+        return crc32Instance().checkValue(path);
+    }
+
+    public static final long crc32c(Path path) throws IOException {
+        return crc32cInstance().checkValue(path);
+    }
+
+    /**
+     * Returns the CRC-32 of the concatenation of two byte sequences.
+     *
+     * @param crcA the CRC-32 of the first sequence
+     * @param crcB the CRC-32 of the second sequence
+     * @param lenB the length of the second sequence
+     * @return the CRC-32 of both sequences
+     * @see CheckType#combine(long, long, long)
+     */
+    public static final long crc32Combine(long crcA, long crcB, long lenB) {
+        return CheckType.CRC_32.combine(crcA, crcB, lenB);
+    }
+
+    /**
+     * Returns the CRC-32C of the concatenation of two byte sequences.
+     *
+     * @param crcA the CRC-32C of the first sequence
+     * @param crcB the CRC-32C of the second sequence
+     * @param lenB the length of the second sequence
+     * @return the CRC-32C of both sequences
+     * @see CheckType#combine(long, long, long)
+     */
+    public static final long crc32cCombine(long crcA, long crcB, long lenB) {
+        return CheckType.CRC_32C.combine(crcA, crcB, lenB);
+    }
+
+    /**
+     * Computes the check value of the remaining bytes of the given buffer on
+     * the common {@link ForkJoinPool}, see
+     * {@link #parallelCheckValue(ForkJoinPool, CheckType, ByteBuffer)}.
+     *
+     * @param checkType the type of the check value
+     * @param buffer    the buffer
+     * @return the check value
+     */
+    public static final long parallelCheckValue(CheckType checkType, ByteBuffer buffer) {
+        return parallelCheckValue(ForkJoinPool.commonPool(), checkType, buffer);
+    }
+
+    /**
+     * Computes the check value of the remaining bytes of the given buffer,
+     * which may be a mapped file, by splitting it into chunks checked in
+     * parallel on the given pool, then combining their check values. The
+     * position of the buffer is moved to its limit, as by
+     * {@link #checkValue(ByteBuffer, ByteBuffer...)}.
+     *
+     * @param pool      the pool
+     * @param checkType the type of the check value
+     * @param buffer    the buffer
+     * @return the check value
+     */
+    public static final long parallelCheckValue(ForkJoinPool pool, CheckType checkType, ByteBuffer buffer) {
+        long value = pool.invoke(new ParallelCheckTask(checkType, buffer.slice()));
+        buffer.position(buffer.limit());
+        return value;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ParallelCheckTask extends RecursiveTask<Long> {
+
+        private final CheckType checkType;
+        private final ByteBuffer buffer;
+
+        private ParallelCheckTask(CheckType checkType, ByteBuffer buffer) {
+            this.checkType = checkType;
+            this.buffer = buffer;
+        }
+
+        @Override
+        protected Long compute() {
+            int length = buffer.remaining();
+            if (length <= PARALLEL_CHUNK_SIZE) {
+                Checksum crc = checkType.crcFactory.get();
+                crc.update(buffer);
+                return crc.getValue();
+            }
+            int half = length >>> 1;
+            ByteBuffer left = buffer.duplicate();
+            left.limit(left.position() + half);
+            ByteBuffer right = buffer.duplicate();
+            right.position(right.position() + half);
+            ParallelCheckTask leftTask = new ParallelCheckTask(checkType, left);
+            leftTask.fork();
+            long rightValue = new ParallelCheckTask(checkType, right).compute();
+            return checkType.combine(leftTask.join(), rightValue, length - half);
+        }
+
+    }
+
     private static final class ThreadLocalUtil extends ThreadLocal<CrcUtil> {
 
         private final CheckType checkType;
@@ -150,9 +337,116 @@ public class CrcUtil {
         }
     }
 
+    /**
+     * Returns the check value of the whole file of the given channel, which is
+     * memory-mapped region by region instead of being read. The position of
+     * the channel is not changed.
+     *
+     * @param channel the file channel
+     * @return the check value
+     * @throws IOException if an I/O error occurs
+     */
+    public long checkValue(FileChannel channel) throws IOException {
+        try {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAX_MAPPED_SIZE) {
+                crc.update(channel.map(MapMode.READ_ONLY, position, Math.min(MAX_MAPPED_SIZE, size - position)));
+            }
+            return crc.getValue();
+        } finally {
+            crc.reset();
+        }
+    }
+
+    /**
+     * Returns the check value of the given file, which is memory-mapped
+     * instead of being read.
+     *
+     * @param path the path of the file
+     * @return the check value
+     * @throws IOException if an I/O error occurs
+     */
+    public long checkValue(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return checkValue(channel);
+        }
+    }
+
     @Override
     public String toString() {
         return "CrcUtil(type=" + type + ")";
     }
 
+    /**
+     * A streaming computation of a check value, updated chunk by chunk.
+     * <p>
+     * Together with the number of bytes checked, the value of a session can
+     * be combined with the values of the following chunks by
+     * {@link CheckType#combine(long, long, long)}. Sessions are not
+     * thread-safe.
+     *
+     * @see CrcUtil#newSession(CheckType)
+     */
+    public static final class Session implements Checksum {
+
+        private final CheckType type;
+        private final Checksum crc;
+        private long length;
+
+        private Session(CheckType type) {
+            this.type = type;
+            this.crc = type.crcFactory.get();
+        }
+
+        public CheckType type() {
+            return type;
+        }
+
+        /**
+         * Returns the number of bytes checked since the session started or was
+         * reset.
+         *
+         * @return the number of bytes checked
+         */
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public void update(int b) {
+            crc.update(b);
+            length++;
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            crc.update(b, off, len);
+            length += len;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            int remaining = buffer.remaining();
+            crc.update(buffer);
+            length += remaining;
+        }
+
+        @Override
+        public long getValue() {
+            return crc.getValue();
+        }
+
+        @Override
+        public void reset() {
+            crc.reset();
+            length = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Session(type=" + type + ", length=" + length + ", value=" + getValue() + ")";
+        }
+
+    }
+
 }
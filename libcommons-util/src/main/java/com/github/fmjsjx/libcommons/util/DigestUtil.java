@@ -1,8 +1,13 @@
 package com.github.fmjsjx.libcommons.util;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
@@ -14,7 +19,16 @@ import lombok.ToString;
 @ToString
 public class DigestUtil {
 
-    private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    /**
+     * The size of the buffer the UTF-8 encoding of a {@link CharSequence} is
+     * streamed through.
+     */
+    private static final int SCRATCH_SIZE = 256;
+
+    /**
+     * The maximum size of a file region mapped at once.
+     */
+    private static final int MAX_MAPPED_SIZE = 1 << 30;
 
     public enum DigestAlgorithm {
         /**
@@ -69,7 +83,7 @@ public class DigestUtil {
     }
 
     public static final byte[] md5(String input) {
-        return md5(input, DEFAULT_CHARSET);
+        return md5Instance().digest((CharSequence) input);
     }
 
     public static final byte[] md5(String input, Charset charset) {
@@ -81,7 +95,7 @@ public class DigestUtil {
     }
 
     public static final String md5AsHex(String input) {
-        return md5AsHex(input, DEFAULT_CHARSET);
+        return md5Instance().digestAsHex((CharSequence) input);
     }
 
     public static final String md5AsHex(String input, Charset charset) {
@@ -97,7 +111,7 @@ public class DigestUtil {
     }
 
     public static final byte[] sha1(String input) {
-        return sha1(input, DEFAULT_CHARSET);
+        return sha1Instance().digest((CharSequence) input);
     }
 
     public static final byte[] sha1(String input, Charset charset) {
@@ -109,7 +123,7 @@ public class DigestUtil {
     }
 
     public static final String sha1AsHex(String input) {
-        return sha1AsHex(input, DEFAULT_CHARSET);
+        return sha1Instance().digestAsHex((CharSequence) input);
     }
 
     public static final String sha1AsHex(String input, Charset charset) {
@@ -125,7 +139,7 @@ public class DigestUtil {
     }
 
     public static final byte[] sha256(String input) {
-        return sha256(input, DEFAULT_CHARSET);
+        return sha256Instance().digest((CharSequence) input);
     }
 
     public static final byte[] sha256(String input, Charset charset) {
@@ -137,7 +151,7 @@ public class DigestUtil {
     }
 
     public static final String sha256AsHex(String input) {
-        return sha256AsHex(input, DEFAULT_CHARSET);
+        return sha256Instance().digestAsHex((CharSequence) input);
     }
 
     public static final String sha256AsHex(String input, Charset charset) {
@@ -198,11 +212,102 @@ public class DigestUtil {
     }
 
     private final MessageDigest digest;
+    @ToString.Exclude
+    private byte[] scratch;
+    @ToString.Exclude
+    private byte[] result;
 
     private DigestUtil(MessageDigest digest) {
         this.digest = digest;
     }
 
+    /**
+     * Returns the length of the digests in bytes.
+     *
+     * @return the length of the digests
+     */
+    public int digestLength() {
+        return digest.getDigestLength();
+    }
+
+    /**
+     * Updates the digest with the UTF-8 encoding of the given chars, streamed
+     * through a reused buffer. Malformed surrogates are encoded as {@code '?'}
+     * like {@link String#getBytes(Charset)} does.
+     */
+    private void update(CharSequence input) {
+        byte[] buf = scratch;
+        if (buf == null) {
+            scratch = buf = new byte[SCRATCH_SIZE];
+        }
+        int n = 0;
+        for (int i = 0, len = input.length(); i < len; i++) {
+            if (n > SCRATCH_SIZE - 4) {
+                digest.update(buf, 0, n);
+                n = 0;
+            }
+            char c = input.charAt(i);
+            if (c < 0x80) {
+                buf[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[n++] = (byte) (0xc0 | c >> 6);
+                buf[n++] = (byte) (0x80 | c & 0x3f);
+            } else if (!Character.isSurrogate(c)) {
+                buf[n++] = (byte) (0xe0 | c >> 12);
+                buf[n++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buf[n++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(input.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, input.charAt(++i));
+                buf[n++] = (byte) (0xf0 | cp >> 18);
+                buf[n++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                buf[n++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                buf[n++] = (byte) (0x80 | cp & 0x3f);
+            } else {
+                buf[n++] = '?';
+            }
+        }
+        if (n > 0) {
+            digest.update(buf, 0, n);
+        }
+    }
+
+    /**
+     * Completes the digest into the given array.
+     */
+    private int finishInto(byte[] out, int off) {
+        try {
+            return digest.digest(out, off, out.length - off);
+        } catch (DigestException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Completes the digest into a reused array, valid until the next call.
+     */
+    private byte[] finishIntoResult() {
+        byte[] result = this.result;
+        if (result == null) {
+            this.result = result = new byte[digest.getDigestLength()];
+        }
+        finishInto(result, 0);
+        return result;
+    }
+
+    private StringBuilder finishAsHex(StringBuilder out) {
+        byte[] result = finishIntoResult();
+        return StringUtil.appendHexString(out, result, 0, result.length);
+    }
+
+    private int finishAsHexInto(byte[] out, int off) {
+        byte[] result = finishIntoResult();
+        if (off < 0 || out.length - off < result.length << 1) {
+            throw new IllegalArgumentException("output buffer too small for the hex digest: " + out.length
+                    + " bytes at offset " + off);
+        }
+        return StringUtil.toHexBytes(result, 0, result.length, out, off);
+    }
+
     public byte[] digest(byte[] input, byte[]... otherInputs) {
         try {
             digest.update(input);
@@ -227,6 +332,98 @@ public class DigestUtil {
         }
     }
 
+    /**
+     * Returns the digest of the UTF-8 encoding of the given chars, without
+     * encoding them into a temporary array.
+     *
+     * @param input the chars
+     * @return the digest
+     */
+    public byte[] digest(CharSequence input) {
+        try {
+            update(input);
+            return digest.digest();
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Returns the digest of the given file, which is memory-mapped region by
+     * region instead of being read.
+     *
+     * @param path the path of the file
+     * @return the digest
+     * @throws IOException if an I/O error occurs
+     */
+    public byte[] digest(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAX_MAPPED_SIZE) {
+                digest.update(channel.map(MapMode.READ_ONLY, position, Math.min(MAX_MAPPED_SIZE, size - position)));
+            }
+            return digest.digest();
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Writes the digest of the given input into the given array.
+     *
+     * @param input the input
+     * @param out   the output array
+     * @param off   the offset in the output array
+     * @return the number of bytes written, that is {@link #digestLength()}
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public int digestInto(byte[] input, byte[] out, int off) {
+        try {
+            digest.update(input);
+            return finishInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Writes the digest of the remaining bytes of the given buffer into the
+     * given array.
+     *
+     * @param input the input
+     * @param out   the output array
+     * @param off   the offset in the output array
+     * @return the number of bytes written, that is {@link #digestLength()}
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public int digestInto(ByteBuffer input, byte[] out, int off) {
+        try {
+            digest.update(input);
+            return finishInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Writes the digest of the UTF-8 encoding of the given chars into the
+     * given array.
+     *
+     * @param input the chars
+     * @param out   the output array
+     * @param off   the offset in the output array
+     * @return the number of bytes written, that is {@link #digestLength()}
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public int digestInto(CharSequence input, byte[] out, int off) {
+        try {
+            update(input);
+            return finishInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
     public String digestAsHex(byte[] input, byte[]... otherInputs) {
         return StringUtil.toHexString(digest(input, otherInputs));
     }
@@ -235,4 +432,87 @@ public class DigestUtil {
         return StringUtil.toHexString(digest(input, otherInputs));
     }
 
+    public String digestAsHex(CharSequence input) {
+        try {
+            update(input);
+            byte[] result = finishIntoResult();
+            return StringUtil.toHexString(result);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Appends the lower case hex digest of the given input to the given
+     * builder.
+     *
+     * @param input the input
+     * @param out   the builder
+     * @return the builder
+     */
+    public StringBuilder digestAsHex(byte[] input, StringBuilder out) {
+        try {
+            digest.update(input);
+            return finishAsHex(out);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    public StringBuilder digestAsHex(ByteBuffer input, StringBuilder out) {
+        try {
+            digest.update(input);
+            return finishAsHex(out);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    public StringBuilder digestAsHex(CharSequence input, StringBuilder out) {
+        try {
+            update(input);
+            return finishAsHex(out);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Writes the lower case hex digest of the given input into the given
+     * array as ASCII.
+     *
+     * @param input the input
+     * @param out   the output array
+     * @param off   the offset in the output array
+     * @return the number of bytes written, that is twice the
+     *         {@link #digestLength()}
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public int digestAsHexInto(byte[] input, byte[] out, int off) {
+        try {
+            digest.update(input);
+            return finishAsHexInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    public int digestAsHexInto(ByteBuffer input, byte[] out, int off) {
+        try {
+            digest.update(input);
+            return finishAsHexInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
+    public int digestAsHexInto(CharSequence input, byte[] out, int off) {
+        try {
+            update(input);
+            return finishAsHexInto(out, off);
+        } finally {
+            digest.reset();
+        }
+    }
+
 }
@@ -0,0 +1,510 @@
+package com.github.fmjsjx.libcommons.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fast non-cryptographic hash functions: xxHash64, MurmurHash3 (x86 32-bit
+ * and x64 128-bit) and wyhash (final version 4).
+ * <p>
+ * Use them instead of {@link DigestUtil} or {@link CrcUtil} for sharding
+ * keys, cache keys and hash tables, where cryptographic strength does not
+ * matter. Each function accepts {@code byte[]}, {@link ByteBuffer},
+ * {@link CharSequence} and {@code long} inputs without allocating, and gives
+ * the same values as the reference implementations for the same bytes:
+ * <ul>
+ * <li>a {@code ByteBuffer} is hashed over its remaining bytes, its position
+ * is not changed</li>
+ * <li>a {@code CharSequence} is hashed over its UTF-16 chars in little-endian
+ * order, without encoding</li>
+ * <li>a {@code long} is hashed over its 8 bytes in little-endian order</li>
+ * </ul>
+ * Multi-byte words are always read in little-endian order, so the values do
+ * not depend on the platform.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HashUtil {
+
+    private static final VarHandle ARRAY_LONG = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_INT = MethodHandles.byteArrayViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_LONG = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_INT = MethodHandles.byteBufferViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Reads little-endian values from an input at a byte index.
+     */
+    private abstract static class Access<T> {
+
+        abstract long i64(T in, int i);
+
+        abstract int i32(T in, int i);
+
+        abstract int u8(T in, int i);
+
+        final long u32(T in, int i) {
+            return i32(in, i) & 0xffffffffL;
+        }
+
+    }
+
+    private static final Access<byte[]> BYTES = new Access<>() {
+
+        @Override
+        long i64(byte[] in, int i) {
+            return (long) ARRAY_LONG.get(in, i);
+        }
+
+        @Override
+        int i32(byte[] in, int i) {
+            return (int) ARRAY_INT.get(in, i);
+        }
+
+        @Override
+        int u8(byte[] in, int i) {
+            return in[i] & 0xff;
+        }
+
+    };
+
+    private static final Access<ByteBuffer> BUFFER = new Access<>() {
+
+        @Override
+        long i64(ByteBuffer in, int i) {
+            return (long) BUFFER_LONG.get(in, i);
+        }
+
+        @Override
+        int i32(ByteBuffer in, int i) {
+            return (int) BUFFER_INT.get(in, i);
+        }
+
+        @Override
+        int u8(ByteBuffer in, int i) {
+            return in.get(i) & 0xff;
+        }
+
+    };
+
+    /**
+     * Views chars as UTF-16LE bytes, words are only read at even indices.
+     */
+    private static final Access<CharSequence> CHARS = new Access<>() {
+
+        @Override
+        long i64(CharSequence in, int i) {
+            int c = i >>> 1;
+            return in.charAt(c) | (long) in.charAt(c + 1) << 16 | (long) in.charAt(c + 2) << 32
+                    | (long) in.charAt(c + 3) << 48;
+        }
+
+        @Override
+        int i32(CharSequence in, int i) {
+            int c = i >>> 1;
+            return in.charAt(c) | in.charAt(c + 1) << 16;
+        }
+
+        @Override
+        int u8(CharSequence in, int i) {
+            char c = in.charAt(i >>> 1);
+            return (i & 1) == 0 ? c & 0xff : c >>> 8;
+        }
+
+    };
+
+    private static final int charsLength(CharSequence input) {
+        return Math.multiplyExact(input.length(), 2);
+    }
+
+    // xxHash64
+
+    private static final long XX_P1 = 0x9e3779b185ebca87L;
+    private static final long XX_P2 = 0xc2b2ae3d27d4eb4fL;
+    private static final long XX_P3 = 0x165667b19e3779f9L;
+    private static final long XX_P4 = 0x85ebca77c2b2ae63L;
+    private static final long XX_P5 = 0x27d4eb2f165667c5L;
+
+    private static final long xxRound(long acc, long input) {
+        return Long.rotateLeft(acc + input * XX_P2, 31) * XX_P1;
+    }
+
+    private static final long xxMerge(long h, long v) {
+        return (h ^ xxRound(0, v)) * XX_P1 + XX_P4;
+    }
+
+    private static final long xxAvalanche(long h) {
+        h = (h ^ (h >>> 33)) * XX_P2;
+        h = (h ^ (h >>> 29)) * XX_P3;
+        return h ^ (h >>> 32);
+    }
+
+    private static final <T> long xxHash64(Access<T> access, T in, int off, int len, long seed) {
+        final int end = off + len;
+        int p = off;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + XX_P1 + XX_P2;
+            long v2 = seed + XX_P2;
+            long v3 = seed;
+            long v4 = seed - XX_P1;
+            for (; end - p >= 32; p += 32) {
+                v1 = xxRound(v1, access.i64(in, p));
+                v2 = xxRound(v2, access.i64(in, p + 8));
+                v3 = xxRound(v3, access.i64(in, p + 16));
+                v4 = xxRound(v4, access.i64(in, p + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = xxMerge(h, v1);
+            h = xxMerge(h, v2);
+            h = xxMerge(h, v3);
+            h = xxMerge(h, v4);
+        } else {
+            h = seed + XX_P5;
+        }
+        h += len;
+        for (; end - p >= 8; p += 8) {
+            h = Long.rotateLeft(h ^ xxRound(0, access.i64(in, p)), 27) * XX_P1 + XX_P4;
+        }
+        if (end - p >= 4) {
+            h = Long.rotateLeft(h ^ access.u32(in, p) * XX_P1, 23) * XX_P2 + XX_P3;
+            p += 4;
+        }
+        for (; p < end; p++) {
+            h = Long.rotateLeft(h ^ access.u8(in, p) * XX_P5, 11) * XX_P1;
+        }
+        return xxAvalanche(h);
+    }
+
+    public static final long xxHash64(byte[] input) {
+        return xxHash64(BYTES, input, 0, input.length, 0);
+    }
+
+    public static final long xxHash64(byte[] input, int off, int len, long seed) {
+        checkRange(input, off, len);
+        return xxHash64(BYTES, input, off, len, seed);
+    }
+
+    public static final long xxHash64(ByteBuffer input) {
+        return xxHash64(input, 0);
+    }
+
+    public static final long xxHash64(ByteBuffer input, long seed) {
+        return xxHash64(BUFFER, input, input.position(), input.remaining(), seed);
+    }
+
+    public static final long xxHash64(CharSequence input) {
+        return xxHash64(input, 0);
+    }
+
+    public static final long xxHash64(CharSequence input, long seed) {
+        return xxHash64(CHARS, input, 0, charsLength(input), seed);
+    }
+
+    public static final long xxHash64(long input) {
+        return xxHash64(input, 0);
+    }
+
+    public static final long xxHash64(long input, long seed) {
+        long h = seed + XX_P5 + 8;
+        h = Long.rotateLeft(h ^ xxRound(0, input), 27) * XX_P1 + XX_P4;
+        return xxAvalanche(h);
+    }
+
+    // MurmurHash3 x86 32-bit
+
+    private static final int M32_C1 = 0xcc9e2d51;
+    private static final int M32_C2 = 0x1b873593;
+
+    private static final int m32MixK(int k) {
+        return Integer.rotateLeft(k * M32_C1, 15) * M32_C2;
+    }
+
+    private static final int m32MixH(int h, int k) {
+        return Integer.rotateLeft(h ^ k, 13) * 5 + 0xe6546b64;
+    }
+
+    private static final int m32Fmix(int h) {
+        h = (h ^ (h >>> 16)) * 0x85ebca6b;
+        h = (h ^ (h >>> 13)) * 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static final <T> int murmur3_32(Access<T> access, T in, int off, int len, int seed) {
+        final int end = off + len;
+        int p = off;
+        int h = seed;
+        for (; end - p >= 4; p += 4) {
+            h = m32MixH(h, m32MixK(access.i32(in, p)));
+        }
+        final int rem = end - p;
+        if (rem > 0) {
+            int k = access.u8(in, p);
+            if (rem >= 2) {
+                k ^= access.u8(in, p + 1) << 8;
+            }
+            if (rem >= 3) {
+                k ^= access.u8(in, p + 2) << 16;
+            }
+            h ^= m32MixK(k);
+        }
+        return m32Fmix(h ^ len);
+    }
+
+    public static final int murmur3_32(byte[] input) {
+        return murmur3_32(BYTES, input, 0, input.length, 0);
+    }
+
+    public static final int murmur3_32(byte[] input, int off, int len, int seed) {
+        checkRange(input, off, len);
+        return murmur3_32(BYTES, input, off, len, seed);
+    }
+
+    public static final int murmur3_32(ByteBuffer input) {
+        return murmur3_32(input, 0);
+    }
+
+    public static final int murmur3_32(ByteBuffer input, int seed) {
+        return murmur3_32(BUFFER, input, input.position(), input.remaining(), seed);
+    }
+
+    public static final int murmur3_32(CharSequence input) {
+        return murmur3_32(input, 0);
+    }
+
+    public static final int murmur3_32(CharSequence input, int seed) {
+        return murmur3_32(CHARS, input, 0, charsLength(input), seed);
+    }
+
+    public static final int murmur3_32(long input) {
+        return murmur3_32(input, 0);
+    }
+
+    public static final int murmur3_32(long input, int seed) {
+        int h = m32MixH(seed, m32MixK((int) input));
+        h = m32MixH(h, m32MixK((int) (input >>> 32)));
+        return m32Fmix(h ^ 8);
+    }
+
+    // MurmurHash3 x64 128-bit
+
+    private static final long M128_C1 = 0x87c37b91114253d5L;
+    private static final long M128_C2 = 0x4cf5ad432745937fL;
+
+    private static final long m128MixK1(long k1) {
+        return Long.rotateLeft(k1 * M128_C1, 31) * M128_C2;
+    }
+
+    private static final long m128MixK2(long k2) {
+        return Long.rotateLeft(k2 * M128_C2, 33) * M128_C1;
+    }
+
+    private static final long fmix64(long k) {
+        k = (k ^ (k >>> 33)) * 0xff51afd7ed558ccdL;
+        k = (k ^ (k >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return k ^ (k >>> 33);
+    }
+
+    private static final void m128Finish(long h1, long h2, int len, long[] out) {
+        h1 ^= len;
+        h2 ^= len;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        out[0] = h1;
+        out[1] = h2;
+    }
+
+    private static final <T> void murmur3_128(Access<T> access, T in, int off, int len, int seed, long[] out) {
+        final int end = off + len;
+        int p = off;
+        long h1 = seed & 0xffffffffL;
+        long h2 = h1;
+        for (; end - p >= 16; p += 16) {
+            h1 ^= m128MixK1(access.i64(in, p));
+            h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+            h2 ^= m128MixK2(access.i64(in, p + 8));
+            h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+        }
+        int remaining = end - p;
+        if (remaining > 0) {
+            long k1 = 0;
+            long k2 = 0;
+            if (remaining >= 8) {
+                k1 = access.i64(in, p);
+                for (int i = remaining - 1; i >= 8; i--) {
+                    k2 |= (long) access.u8(in, p + i) << ((i - 8) << 3);
+                }
+            } else {
+                for (int i = remaining - 1; i >= 0; i--) {
+                    k1 |= (long) access.u8(in, p + i) << (i << 3);
+                }
+            }
+            if (remaining > 8) {
+                h2 ^= m128MixK2(k2);
+            }
+            h1 ^= m128MixK1(k1);
+        }
+        m128Finish(h1, h2, len, out);
+    }
+
+    /**
+     * Computes the MurmurHash3 x64 128-bit hash of the given input, with the
+     * seed {@code 0}.
+     *
+     * @param input the input
+     * @param out   the array receiving the two 64-bit halves of the hash, in
+     *              the order of the reference implementation
+     */
+    public static final void murmur3_128(byte[] input, long[] out) {
+        murmur3_128(BYTES, input, 0, input.length, 0, out);
+    }
+
+    public static final void murmur3_128(byte[] input, int off, int len, int seed, long[] out) {
+        checkRange(input, off, len);
+        murmur3_128(BYTES, input, off, len, seed, out);
+    }
+
+    public static final void murmur3_128(ByteBuffer input, long[] out) {
+        murmur3_128(input, 0, out);
+    }
+
+    public static final void murmur3_128(ByteBuffer input, int seed, long[] out) {
+        murmur3_128(BUFFER, input, input.position(), input.remaining(), seed, out);
+    }
+
+    public static final void murmur3_128(CharSequence input, long[] out) {
+        murmur3_128(input, 0, out);
+    }
+
+    public static final void murmur3_128(CharSequence input, int seed, long[] out) {
+        murmur3_128(CHARS, input, 0, charsLength(input), seed, out);
+    }
+
+    public static final void murmur3_128(long input, long[] out) {
+        murmur3_128(input, 0, out);
+    }
+
+    public static final void murmur3_128(long input, int seed, long[] out) {
+        long h1 = seed & 0xffffffffL;
+        m128Finish(h1 ^ m128MixK1(input), h1, 8, out);
+    }
+
+    // wyhash final version 4
+
+    private static final long WY_P0 = 0xa0761d6478bd642fL;
+    private static final long WY_P1 = 0xe7037ed1a0b428dbL;
+    private static final long WY_P2 = 0x8ebc6af09c88c6e3L;
+    private static final long WY_P3 = 0x589965cc75374cc3L;
+
+    private static final long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Returns the xor of the low and high halves of the 128-bit product.
+     */
+    private static final long wyMix(long a, long b) {
+        return a * b ^ unsignedMultiplyHigh(a, b);
+    }
+
+    private static final long wyFinish(long a, long b, long seed, int len) {
+        a ^= WY_P1;
+        b ^= seed;
+        return wyMix(a * b ^ WY_P0 ^ len, unsignedMultiplyHigh(a, b) ^ WY_P1);
+    }
+
+    private static final <T> long wyhash(Access<T> access, T in, int off, int len, long seed) {
+        seed ^= wyMix(seed ^ WY_P0, WY_P1);
+        long a;
+        long b;
+        if (len <= 16) {
+            if (len >= 4) {
+                int q = (len >>> 3) << 2;
+                int last = off + len - 4;
+                a = access.u32(in, off) << 32 | access.u32(in, off + q);
+                b = access.u32(in, last) << 32 | access.u32(in, last - q);
+            } else if (len > 0) {
+                a = (long) access.u8(in, off) << 16 | access.u8(in, off + (len >>> 1)) << 8
+                        | access.u8(in, off + len - 1);
+                b = 0;
+            } else {
+                a = 0;
+                b = 0;
+            }
+        } else {
+            int p = off;
+            int i = len;
+            if (i > 48) {
+                long see1 = seed;
+                long see2 = seed;
+                do {
+                    seed = wyMix(access.i64(in, p) ^ WY_P1, access.i64(in, p + 8) ^ seed);
+                    see1 = wyMix(access.i64(in, p + 16) ^ WY_P2, access.i64(in, p + 24) ^ see1);
+                    see2 = wyMix(access.i64(in, p + 32) ^ WY_P3, access.i64(in, p + 40) ^ see2);
+                    p += 48;
+                    i -= 48;
+                } while (i > 48);
+                seed ^= see1 ^ see2;
+            }
+            for (; i > 16; i -= 16, p += 16) {
+                seed = wyMix(access.i64(in, p) ^ WY_P1, access.i64(in, p + 8) ^ seed);
+            }
+            a = access.i64(in, p + i - 16);
+            b = access.i64(in, p + i - 8);
+        }
+        return wyFinish(a, b, seed, len);
+    }
+
+    public static final long wyhash(byte[] input) {
+        return wyhash(BYTES, input, 0, input.length, 0);
+    }
+
+    public static final long wyhash(byte[] input, int off, int len, long seed) {
+        checkRange(input, off, len);
+        return wyhash(BYTES, input, off, len, seed);
+    }
+
+    public static final long wyhash(ByteBuffer input) {
+        return wyhash(input, 0);
+    }
+
+    public static final long wyhash(ByteBuffer input, long seed) {
+        return wyhash(BUFFER, input, input.position(), input.remaining(), seed);
+    }
+
+    public static final long wyhash(CharSequence input) {
+        return wyhash(input, 0);
+    }
+
+    public static final long wyhash(CharSequence input, long seed) {
+        return wyhash(CHARS, input, 0, charsLength(input), seed);
+    }
+
+    public static final long wyhash(long input) {
+        return wyhash(input, 0);
+    }
+
+    public static final long wyhash(long input, long seed) {
+        seed ^= wyMix(seed ^ WY_P0, WY_P1);
+        return wyFinish(Long.rotateLeft(input, 32), input, seed, 8);
+    }
+
+    private static final void checkRange(byte[] input, int off, int len) {
+        if (off < 0 || len < 0 || off > input.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "off(" + off + ") and len(" + len + ") out of bounds for length " + input.length);
+        }
+    }
+
+}
@@ -5,7 +5,18 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Utility methods for random values.
+ * <p>
+ * The methods without a {@link Random} parameter, or given {@code null}, use
+ * the {@link ThreadLocalRandom} of the calling thread, so threads never
+ * contend on a shared seed. Pass an explicit {@link Random}, such as
+ * {@code new Random(seed)}, for reproducible results, or a
+ * {@link XoshiroRandom}, which is faster and can be split into independent
+ * streams and replayed.
+ */
 public class RandomUtil {
 
     public interface Weighted {
@@ -14,16 +25,13 @@ public class RandomUtil {
 
     }
 
-    private static final class DefaultRandomHolder {
-        static final Random defaultRandom = new Random();
-    }
-
-    private static final Random defaultRandom() {
-        return DefaultRandomHolder.defaultRandom;
-    }
-
-    private static final Random random(Random r) {
-        return r == null ? defaultRandom() : r;
+    /**
+     * Returns the given random, or the {@link ThreadLocalRandom} of the
+     * current thread if it is {@code null}. The result must not be shared with
+     * other threads.
+     */
+    static final Random random(Random r) {
+        return r == null ? ThreadLocalRandom.current() : r;
     }
 
     public static final int randomInRange(Random r, int min, int max) {
@@ -188,4 +196,203 @@ public class RandomUtil {
         return random(r).nextLong();
     }
 
+    /**
+     * Fills the given array with random values between {@code min} and
+     * {@code max}, both inclusive.
+     *
+     * @param r   the source of randomness, {@code null} for the default one
+     * @param dst the array to fill
+     * @param min the minimum value
+     * @param max the maximum value
+     */
+    public static final void fillInRange(Random r, int[] dst, int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min(" + min + ") is greater than max(" + max + ")");
+        }
+        if (max == min) {
+            Arrays.fill(dst, min);
+            return;
+        }
+        Random random = random(r);
+        int bound = max + 1 - min;
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = random.nextInt(bound) + min;
+        }
+    }
+
+    public static final void fillInRange(int[] dst, int min, int max) {
+        fillInRange(null, dst, min, max);
+    }
+
+    /**
+     * Fills the given array with distinct random values in {@code [0, n)},
+     * drawn by Robert Floyd's algorithm with exactly one random number per
+     * value, whatever the ratio of {@code dst.length} to {@code n}.
+     * <p>
+     * Every subset is equally likely, but the order of the values within the
+     * array is not uniformly random, use {@link #shuffle(Random, int[])} if
+     * it matters.
+     *
+     * @param r   the source of randomness, {@code null} for the default one
+     * @param n   the number of candidates
+     * @param dst the array to fill, its length is the number of values to draw
+     */
+    public static final void sampleWithoutReplacement(Random r, int n, int[] dst) {
+        int k = dst.length;
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0: " + n);
+        }
+        if (k > n) {
+            throw new IllegalArgumentException("k(" + k + ") is greater than n(" + n + ")");
+        }
+        if (k == 0) {
+            return;
+        }
+        Random random = random(r);
+        if ((n >>> 6) <= k) {
+            // a bitmap of the n candidates is no larger than a hash table of the k values
+            long[] seen = new long[(n + 63) >>> 6];
+            for (int i = 0, j = n - k; i < k; i++, j++) {
+                int t = random.nextInt(j + 1);
+                if ((seen[t >>> 6] & 1L << t) != 0) {
+                    t = j;
+                }
+                seen[t >>> 6] |= 1L << t;
+                dst[i] = t;
+            }
+        } else {
+            // an open addressing table of the values + 1, 0 means an empty slot
+            int bits = 33 - Integer.numberOfLeadingZeros(k);
+            int[] table = new int[1 << bits];
+            int mask = table.length - 1;
+            for (int i = 0, j = n - k; i < k; i++, j++) {
+                int t = random.nextInt(j + 1);
+                int pos = (t * 0x9e3779b9) >>> (32 - bits);
+                for (int v; (v = table[pos]) != 0; pos = (pos + 1) & mask) {
+                    if (v == t + 1) {
+                        // j is greater than all values drawn so far
+                        t = j;
+                        pos = (t * 0x9e3779b9) >>> (32 - bits);
+                        while (table[pos] != 0) {
+                            pos = (pos + 1) & mask;
+                        }
+                        break;
+                    }
+                }
+                table[pos] = t + 1;
+                dst[i] = t;
+            }
+        }
+    }
+
+    public static final void sampleWithoutReplacement(int n, int[] dst) {
+        sampleWithoutReplacement(null, n, dst);
+    }
+
+    /**
+     * Returns {@code k} distinct random values in {@code [0, n)}.
+     *
+     * @param r the source of randomness, {@code null} for the default one
+     * @param n the number of candidates
+     * @param k the number of values to draw
+     * @return a new array of the values
+     * @see #sampleWithoutReplacement(Random, int, int[])
+     */
+    public static final int[] sampleWithoutReplacement(Random r, int n, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be >= 0: " + k);
+        }
+        int[] values = new int[k];
+        sampleWithoutReplacement(r, n, values);
+        return values;
+    }
+
+    public static final int[] sampleWithoutReplacement(int n, int k) {
+        return sampleWithoutReplacement(null, n, k);
+    }
+
+    /**
+     * Shuffles the given array in place by the Fisher-Yates algorithm.
+     *
+     * @param r      the source of randomness, {@code null} for the default one
+     * @param values the array to shuffle
+     */
+    public static final void shuffle(Random r, int[] values) {
+        Random random = random(r);
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    public static final void shuffle(int[] values) {
+        shuffle(null, values);
+    }
+
+    /**
+     * Shuffles the given array in place by the Fisher-Yates algorithm.
+     *
+     * @param r      the source of randomness, {@code null} for the default one
+     * @param values the array to shuffle
+     */
+    public static final void shuffle(Random r, long[] values) {
+        Random random = random(r);
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    public static final void shuffle(long[] values) {
+        shuffle(null, values);
+    }
+
+    /**
+     * Fills the given array with random indices of the given weights, with
+     * replacement, each drawn like {@link #randomIndex(Random, int...)}.
+     * <p>
+     * The weights are turned into a {@link WeightedSampler} once, so each
+     * index costs O(1) instead of a scan of the weights.
+     *
+     * @param r       the source of randomness, {@code null} for the default
+     *                one
+     * @param weights the weights
+     * @param dst     the array to fill
+     */
+    public static final void randomWeightedIndices(Random r, int[] weights, int[] dst) {
+        WeightedSampler.ofWeights(weights).sampleIndices(r, dst);
+    }
+
+    public static final void randomWeightedIndices(int[] weights, int[] dst) {
+        randomWeightedIndices(null, weights, dst);
+    }
+
+    /**
+     * Returns {@code count} random indices of the given weights, with
+     * replacement.
+     *
+     * @param r       the source of randomness, {@code null} for the default
+     *                one
+     * @param weights the weights
+     * @param count   the number of indices to draw
+     * @return a new array of the indices
+     * @see #randomWeightedIndices(Random, int[], int[])
+     */
+    public static final int[] randomWeightedIndices(Random r, int[] weights, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0: " + count);
+        }
+        int[] indices = new int[count];
+        randomWeightedIndices(r, weights, indices);
+        return indices;
+    }
+
+    public static final int[] randomWeightedIndices(int[] weights, int count) {
+        return randomWeightedIndices(null, weights, count);
+    }
+
 }
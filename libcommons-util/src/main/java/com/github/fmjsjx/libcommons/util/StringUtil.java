@@ -93,15 +93,51 @@ public class StringUtil {
     }
 
     private static final String toHexString0(byte[] value) {
-        final byte[] hexBytes = HexBytesHolder.HEX_BYTES;
         byte[] hexValue = new byte[value.length << 1];
-        for (int i = 0; i < value.length; i++) {
+        toHexBytes(value, 0, value.length, hexValue, 0);
+        return new String(hexValue, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Writes the lower case hex digits of the given bytes into the given
+     * array as ASCII.
+     *
+     * @param value  the bytes
+     * @param off    the offset of the bytes
+     * @param len    the number of bytes
+     * @param dst    the destination array
+     * @param dstOff the offset in the destination array
+     * @return the number of digits written, that is {@code len * 2}
+     */
+    public static final int toHexBytes(byte[] value, int off, int len, byte[] dst, int dstOff) {
+        final byte[] hexBytes = HexBytesHolder.HEX_BYTES;
+        for (int i = 0; i < len; i++) {
+            byte b = value[off + i];
+            int index = dstOff + i * 2;
+            dst[index] = hexBytes[(b >>> 0x4) & 0xf];
+            dst[index + 1] = hexBytes[b & 0xf];
+        }
+        return len << 1;
+    }
+
+    /**
+     * Appends the lower case hex digits of the given bytes to the given
+     * builder.
+     *
+     * @param builder the builder
+     * @param value   the bytes
+     * @param off     the offset of the bytes
+     * @param len     the number of bytes
+     * @return the builder
+     */
+    public static final StringBuilder appendHexString(StringBuilder builder, byte[] value, int off, int len) {
+        final byte[] hexBytes = HexBytesHolder.HEX_BYTES;
+        builder.ensureCapacity(builder.length() + (len << 1));
+        for (int i = off, end = off + len; i < end; i++) {
             byte b = value[i];
-            int index = i * 2;
-            hexValue[index] = hexBytes[(b >>> 0x4) & 0xf];
-            hexValue[index + 1] = hexBytes[b & 0xf];
+            builder.append((char) hexBytes[(b >>> 0x4) & 0xf]).append((char) hexBytes[b & 0xf]);
         }
-        return new String(hexValue, StandardCharsets.US_ASCII);
+        return builder;
     }
 
     private static final class HexBytesHolder {
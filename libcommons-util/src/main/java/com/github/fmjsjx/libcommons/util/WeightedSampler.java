@@ -0,0 +1,280 @@
+package com.github.fmjsjx.libcommons.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import com.github.fmjsjx.libcommons.util.RandomUtil.Weighted;
+
+/**
+ * A precomputed weighted random sampler, drawing an element in O(1) however
+ * many elements there are.
+ * <p>
+ * The sampler builds an alias table by Vose's method in O(n) once, so it
+ * pays off against {@link RandomUtil#randomOneWeighted(Random, List)} and
+ * {@link RandomUtil#randomIndex(Random, int...)}, which scan the weights on
+ * every draw, as soon as the same weights are drawn from more than a few
+ * times, such as loot tables. The table uses exact integer arithmetic, so the
+ * probability of each element is exactly its weight divided by the sum of
+ * all weights, as with {@code RandomUtil}; elements with weight {@code 0}
+ * are never drawn.
+ * <p>
+ * Samplers are immutable and thread-safe. The methods without a
+ * {@link Random} use the same default source as {@link RandomUtil}.
+ *
+ * @param <E> the type of the elements
+ */
+public final class WeightedSampler<E> {
+
+    /**
+     * Returns a new sampler drawing from the given elements by their
+     * {@link Weighted#weight() weights}.
+     *
+     * @param <E>    the type of the elements
+     * @param values the elements
+     * @return a new {@code WeightedSampler}
+     */
+    @SafeVarargs
+    public static final <E extends Weighted> WeightedSampler<E> of(E... values) {
+        Objects.requireNonNull(values, "values must not be null");
+        Object[] elements = new Object[values.length];
+        int[] weights = new int[values.length];
+        for (int i = 0; i < weights.length; i++) {
+            E value = values[i];
+            elements[i] = value;
+            weights[i] = value.weight();
+        }
+        return new WeightedSampler<>(elements, weights);
+    }
+
+    /**
+     * Returns a new sampler drawing from the given elements by their
+     * {@link Weighted#weight() weights}.
+     *
+     * @param <E>    the type of the elements
+     * @param values the elements
+     * @return a new {@code WeightedSampler}
+     */
+    public static final <E extends Weighted> WeightedSampler<E> of(Collection<? extends E> values) {
+        Objects.requireNonNull(values, "values must not be null");
+        Object[] elements = values.toArray();
+        int[] weights = new int[elements.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = ((Weighted) elements[i]).weight();
+        }
+        return new WeightedSampler<>(elements, weights);
+    }
+
+    /**
+     * Returns a new sampler drawing the indices of the given weights, the
+     * same way as {@link RandomUtil#randomIndex(Random, int...)}.
+     * <p>
+     * Use {@link #sampleIndex(Random)} to draw indices without boxing.
+     *
+     * @param weights the weights
+     * @return a new {@code WeightedSampler}
+     */
+    public static final WeightedSampler<Integer> ofWeights(int... weights) {
+        Objects.requireNonNull(weights, "weights must not be null");
+        return new WeightedSampler<>(null, weights.clone());
+    }
+
+    /**
+     * The elements, or {@code null} if the elements are the indices.
+     */
+    private final Object[] elements;
+    private final int total;
+    /**
+     * Column {@code i} yields {@code i} for the first {@code thresholds[i]} of
+     * its {@code total} outcomes, and {@code aliases[i]} for the others.
+     */
+    private final int[] thresholds;
+    private final int[] aliases;
+
+    private WeightedSampler(Object[] elements, int[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        int total = 0;
+        for (int w : weights) {
+            if (w < 0) {
+                throw new IllegalArgumentException("all weights must >= 0: " + Arrays.toString(weights));
+            }
+            total += w;
+            if (total < 0) {
+                throw new IllegalArgumentException("too large weights: " + Arrays.toString(weights));
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("sum of weights must be > 0: " + Arrays.toString(weights));
+        }
+        this.elements = elements;
+        this.total = total;
+        int[] thresholds = new int[n];
+        int[] aliases = new int[n];
+        // every column holds total outcomes, element i owns weights[i] * n of them
+        long[] scaled = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights[i] * n;
+            if (scaled[i] < total) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int s = small[--smallSize];
+            int l = large[--largeSize];
+            thresholds[s] = (int) scaled[s];
+            aliases[s] = l;
+            scaled[l] -= total - scaled[s];
+            if (scaled[l] < total) {
+                small[smallSize++] = l;
+            } else {
+                large[largeSize++] = l;
+            }
+        }
+        // the arithmetic is exact, so the remaining columns are all full
+        while (largeSize > 0) {
+            int l = large[--largeSize];
+            thresholds[l] = total;
+            aliases[l] = l;
+        }
+        while (smallSize > 0) {
+            int s = small[--smallSize];
+            thresholds[s] = total;
+            aliases[s] = s;
+        }
+        this.thresholds = thresholds;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Returns the number of elements, including those with weight {@code 0}.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return thresholds.length;
+    }
+
+    /**
+     * Returns the sum of all weights.
+     *
+     * @return the sum of all weights
+     */
+    public int totalWeight() {
+        return total;
+    }
+
+    /**
+     * Draws the index of an element.
+     *
+     * @param r the source of randomness, {@code null} for the default one
+     * @return the index
+     */
+    public int sampleIndex(Random r) {
+        Random random = RandomUtil.random(r);
+        int column = random.nextInt(thresholds.length);
+        return random.nextInt(total) < thresholds[column] ? column : aliases[column];
+    }
+
+    public int sampleIndex() {
+        return sampleIndex(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int index) {
+        return elements == null ? (E) Integer.valueOf(index) : (E) elements[index];
+    }
+
+    /**
+     * Draws an element.
+     *
+     * @param r the source of randomness, {@code null} for the default one
+     * @return the element
+     */
+    public E sample(Random r) {
+        return element(sampleIndex(r));
+    }
+
+    public E sample() {
+        return sample((Random) null);
+    }
+
+    /**
+     * Draws the indices of {@code n} elements, with replacement.
+     *
+     * @param r the source of randomness, {@code null} for the default one
+     * @param n the number of draws
+     * @return the indices
+     */
+    public int[] sampleIndices(Random r, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0: " + n);
+        }
+        int[] indices = new int[n];
+        sampleIndices(r, indices);
+        return indices;
+    }
+
+    public int[] sampleIndices(int n) {
+        return sampleIndices(null, n);
+    }
+
+    /**
+     * Fills the given array with the indices of drawn elements, with
+     * replacement.
+     *
+     * @param r   the source of randomness, {@code null} for the default one
+     * @param dst the array to fill
+     */
+    public void sampleIndices(Random r, int[] dst) {
+        Random random = RandomUtil.random(r);
+        final int[] thresholds = this.thresholds;
+        final int[] aliases = this.aliases;
+        final int total = this.total;
+        for (int i = 0; i < dst.length; i++) {
+            int column = random.nextInt(thresholds.length);
+            dst[i] = random.nextInt(total) < thresholds[column] ? column : aliases[column];
+        }
+    }
+
+    public void sampleIndices(int[] dst) {
+        sampleIndices(null, dst);
+    }
+
+    /**
+     * Draws {@code n} elements, with replacement.
+     *
+     * @param r the source of randomness, {@code null} for the default one
+     * @param n the number of draws
+     * @return a new list of the elements drawn
+     */
+    public List<E> sample(Random r, int n) {
+        int[] indices = sampleIndices(r, n);
+        List<E> list = new ArrayList<>(n);
+        for (int index : indices) {
+            list.add(element(index));
+        }
+        return list;
+    }
+
+    public List<E> sample(int n) {
+        return sample(null, n);
+    }
+
+    @Override
+    public String toString() {
+        return "WeightedSampler(size=" + thresholds.length + ", totalWeight=" + total + ")";
+    }
+
+}
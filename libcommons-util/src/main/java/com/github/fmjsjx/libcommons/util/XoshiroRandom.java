@@ -0,0 +1,258 @@
+package com.github.fmjsjx.libcommons.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A fast, non thread-safe {@link Random} implemented by the xoshiro256**
+ * algorithm of David Blackman and Sebastiano Vigna, with a period of
+ * {@code 2^256 - 1}.
+ * <p>
+ * Since it is a {@link Random}, it works with every {@link RandomUtil} method
+ * taking one, replacing {@code new Random(seed)} for reproducible rolls at a
+ * fraction of the cost: draws never lock nor allocate. The seed is expanded
+ * into the 256-bit state by SplitMix64, so any seed, including {@code 0},
+ * gives a good state.
+ * <p>
+ * Independent streams, such as one per player, can be derived from a single
+ * seed by {@link #split()}, which jumps the generator {@code 2^128} draws
+ * ahead, so the streams never overlap. The state can be saved by
+ * {@link #getState()} and restored by {@link #setState(long[])} to replay a
+ * sequence.
+ * <p>
+ * Instances must not be shared between threads without synchronization.
+ */
+public class XoshiroRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long[] JUMP = { 0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL,
+            0x39abdc4529b1661cL };
+
+    private static final long[] LONG_JUMP = { 0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L,
+            0x39109bb02acbe635L };
+
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+    /**
+     * Returns a new generator with the given state, as returned by
+     * {@link #getState()}.
+     *
+     * @param state the state
+     * @return a new {@code XoshiroRandom}
+     */
+    public static final XoshiroRandom fromState(long[] state) {
+        XoshiroRandom random = new XoshiroRandom(0);
+        random.setState(state);
+        return random;
+    }
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Creates a new generator with a random seed.
+     */
+    public XoshiroRandom() {
+        this(ThreadLocalRandom.current().nextLong() ^ System.nanoTime());
+    }
+
+    /**
+     * Creates a new generator with the given seed.
+     *
+     * @param seed the seed
+     */
+    public XoshiroRandom(long seed) {
+        // Random(long) calls setSeed(long)
+        super(seed);
+    }
+
+    /**
+     * Resets the state of this generator from the given seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        // SplitMix64, never yields an all-zero state
+        long x = seed;
+        s0 = mix64(x += 0x9e3779b97f4a7c15L);
+        s1 = mix64(x += 0x9e3779b97f4a7c15L);
+        s2 = mix64(x += 0x9e3779b97f4a7c15L);
+        s3 = mix64(x + 0x9e3779b97f4a7c15L);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        final long s0 = this.s0;
+        final long s1 = this.s1;
+        final long s2 = this.s2 ^ s0;
+        final long s3 = this.s3 ^ s1;
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+        this.s0 = s0 ^ s3;
+        this.s1 = s1 ^ s2;
+        this.s2 = s2 ^ t;
+        this.s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed value in {@code [0, bound)}, using
+     * Lemire's multiply-shift method, which rarely needs a division.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xffffffffL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xffffffffL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+
+    /**
+     * Returns a normally distributed value by the polar method, like
+     * {@link Random#nextGaussian()}, but without caching the second value of
+     * each pair, so that {@link #getState()} fully describes this generator.
+     */
+    @Override
+    public double nextGaussian() {
+        double v1, v2, s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    }
+
+    /**
+     * Advances this generator by {@code 2^128} draws.
+     */
+    public void jump() {
+        jump(JUMP);
+    }
+
+    /**
+     * Advances this generator by {@code 2^192} draws.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+    private void jump(long[] polynomial) {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        for (long p : polynomial) {
+            for (int b = 0; b < 64; b++) {
+                if ((p & 1L << b) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+    /**
+     * Returns a copy of this generator, which yields the same values.
+     *
+     * @return a new {@code XoshiroRandom}
+     */
+    public XoshiroRandom copy() {
+        return fromState(getState());
+    }
+
+    /**
+     * Returns a new generator continuing from the current state and jumps
+     * this one by {@code 2^128} draws, so that the sequences of both never
+     * overlap unless more than {@code 2^128} values are drawn from one of
+     * them.
+     *
+     * @return a new {@code XoshiroRandom}
+     */
+    public XoshiroRandom split() {
+        XoshiroRandom stream = copy();
+        jump();
+        return stream;
+    }
+
+    /**
+     * Returns the current state of this generator.
+     *
+     * @return a new array of the 4 state words
+     */
+    public long[] getState() {
+        return new long[] { s0, s1, s2, s3 };
+    }
+
+    /**
+     * Restores the state of this generator.
+     *
+     * @param state the 4 state words, as returned by {@link #getState()}
+     * @throws IllegalArgumentException if the state is not 4 words or all
+     *                                  zero
+     */
+    public void setState(long[] state) {
+        if (state.length != 4) {
+            throw new IllegalArgumentException("state.length must be 4: " + state.length);
+        }
+        if ((state[0] | state[1] | state[2] | state[3]) == 0) {
+            throw new IllegalArgumentException("state must not be all zero");
+        }
+        s0 = state[0];
+        s1 = state[1];
+        s2 = state[2];
+        s3 = state[3];
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.fmjsjx.libcommons.util.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface IntIntConsumer {
+
+    void accept(int key, int value);
+
+    default IntIntConsumer andThen(IntIntConsumer after) {
+        Objects.requireNonNull(after);
+        return (k, v) -> {
+            accept(k, v);
+            after.accept(k, v);
+        };
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.fmjsjx.libcommons.util.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface IntLongConsumer {
+
+    void accept(int key, long value);
+
+    default IntLongConsumer andThen(IntLongConsumer after) {
+        Objects.requireNonNull(after);
+        return (k, v) -> {
+            accept(k, v);
+            after.accept(k, v);
+        };
+    }
+
+}
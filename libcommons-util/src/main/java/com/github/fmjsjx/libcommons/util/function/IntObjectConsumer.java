@@ -0,0 +1,18 @@
+package com.github.fmjsjx.libcommons.util.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+
+    void accept(int key, V value);
+
+    default IntObjectConsumer<V> andThen(IntObjectConsumer<? super V> after) {
+        Objects.requireNonNull(after);
+        return (k, v) -> {
+            accept(k, v);
+            after.accept(k, v);
+        };
+    }
+
+}
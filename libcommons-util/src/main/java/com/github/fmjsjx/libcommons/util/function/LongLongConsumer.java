@@ -0,0 +1,18 @@
+package com.github.fmjsjx.libcommons.util.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface LongLongConsumer {
+
+    void accept(long key, long value);
+
+    default LongLongConsumer andThen(LongLongConsumer after) {
+        Objects.requireNonNull(after);
+        return (k, v) -> {
+            accept(k, v);
+            after.accept(k, v);
+        };
+    }
+
+}
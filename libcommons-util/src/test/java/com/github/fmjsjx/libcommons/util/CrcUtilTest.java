@@ -3,9 +3,17 @@ package com.github.fmjsjx.libcommons.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.zip.CRC32;
 import java.util.zip.CRC32C;
 
+import com.github.fmjsjx.libcommons.util.CrcUtil.CheckType;
+import com.github.fmjsjx.libcommons.util.CrcUtil.Session;
+
 import org.junit.jupiter.api.Test;
 
 public class CrcUtilTest {
@@ -85,4 +93,61 @@ public class CrcUtilTest {
 
     }
 
+    @Test
+    public void testSession() {
+        byte[] data = new byte[10_000];
+        new Random(1).nextBytes(data);
+        Session session = CrcUtil.newSession(CheckType.CRC_32C);
+        session.update(data, 0, 3000);
+        session.update(ByteBuffer.wrap(data, 3000, 6999));
+        session.update(data[9999]);
+        assertEquals(10_000, session.length());
+        assertEquals(CrcUtil.crc32c(data), session.getValue());
+        session.reset();
+        assertEquals(0, session.length());
+        assertEquals(0, session.getValue());
+    }
+
+    @Test
+    public void testCombine() {
+        byte[] data = new byte[5000];
+        new Random(2).nextBytes(data);
+        for (int split : new int[] { 0, 1, 7, 2500, 4999, 5000 }) {
+            assertEquals(CrcUtil.crc32c(data), CrcUtil.crc32cCombine(CrcUtil.crc32c(data, 0, split),
+                    CrcUtil.crc32c(data, split, data.length - split), data.length - split));
+            assertEquals(CrcUtil.crc32(data), CrcUtil.crc32Combine(CrcUtil.crc32(data, 0, split),
+                    CrcUtil.crc32(data, split, data.length - split), data.length - split));
+        }
+    }
+
+    @Test
+    public void testParallelCheckValue() {
+        byte[] data = new byte[CrcUtil.PARALLEL_CHUNK_SIZE * 5 + 12345];
+        new Random(3).nextBytes(data);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 10);
+        buffer.position(10);
+        buffer.put(data);
+        buffer.position(10);
+        assertEquals(CrcUtil.crc32c(data), CrcUtil.parallelCheckValue(CheckType.CRC_32C, buffer));
+        assertEquals(buffer.limit(), buffer.position());
+        assertEquals(CrcUtil.crc32(data), CrcUtil.parallelCheckValue(CheckType.CRC_32, ByteBuffer.wrap(data)));
+        assertEquals(0, CrcUtil.parallelCheckValue(CheckType.CRC_32, ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    public void testCheckValuePath() throws IOException {
+        byte[] data = new byte[100_000];
+        new Random(4).nextBytes(data);
+        Path path = Files.createTempFile("crc", ".bin");
+        try {
+            Files.write(path, data);
+            assertEquals(CrcUtil.crc32(data), CrcUtil.crc32(path));
+            assertEquals(CrcUtil.crc32c(data), CrcUtil.crc32c(path));
+            Files.write(path, new byte[0]);
+            assertEquals(0, CrcUtil.crc32c(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
 }
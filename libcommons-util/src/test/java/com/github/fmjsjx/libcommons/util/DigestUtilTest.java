@@ -0,0 +1,86 @@
+package com.github.fmjsjx.libcommons.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DigestUtilTest {
+
+    @Test
+    public void testDigestCharSequence() {
+        assertEquals("5eb63bbbe01eeed093cb22bb8f5acdc3", DigestUtil.md5AsHex("hello world"));
+        Random random = new Random(1);
+        char[] alphabet = { 'a', 'Z', '0', '\u00e9', '\u4e2d', '\ud83d', '\ude00' };
+        for (int n = 0; n < 1000; n += 7) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                builder.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            // includes valid pairs and malformed surrogates
+            String s = builder.toString();
+            byte[] expected = DigestUtil.sha256(s.getBytes(StandardCharsets.UTF_8));
+            assertArrayEquals(expected, DigestUtil.sha256(s));
+            assertArrayEquals(expected, DigestUtil.sha256Instance().digest(builder));
+        }
+    }
+
+    @Test
+    public void testDigestInto() {
+        DigestUtil util = DigestUtil.md5Instance();
+        byte[] input = "hello world".getBytes(StandardCharsets.UTF_8);
+        byte[] expected = DigestUtil.md5(input);
+        byte[] out = new byte[20];
+        assertEquals(16, util.digestInto(input, out, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(out, 2, 18));
+        assertEquals(16, util.digestInto(ByteBuffer.wrap(input), out, 4));
+        assertArrayEquals(expected, Arrays.copyOfRange(out, 4, 20));
+        assertEquals(16, util.digestInto("hello world", out, 0));
+        assertArrayEquals(expected, Arrays.copyOf(out, 16));
+        assertThrows(IllegalArgumentException.class, () -> util.digestInto(input, out, 5));
+        assertArrayEquals(expected, util.digest(input));
+    }
+
+    @Test
+    public void testDigestAsHex() {
+        DigestUtil util = DigestUtil.md5Instance();
+        String hex = "5eb63bbbe01eeed093cb22bb8f5acdc3";
+        StringBuilder builder = new StringBuilder("md5=");
+        util.digestAsHex("hello world", builder);
+        assertEquals("md5=" + hex, builder.toString());
+        builder.setLength(0);
+        util.digestAsHex("hello world".getBytes(StandardCharsets.UTF_8), builder);
+        util.digestAsHex(ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)), builder);
+        assertEquals(hex + hex, builder.toString());
+        byte[] out = new byte[33];
+        assertEquals(32, util.digestAsHexInto("hello world", out, 1));
+        assertEquals(hex, new String(out, 1, 32, StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> util.digestAsHexInto("hello world", out, 2));
+        assertEquals(hex, util.digestAsHex("hello world"));
+    }
+
+    @Test
+    public void testDigestPath() throws IOException {
+        byte[] data = new byte[100_000];
+        new Random(2).nextBytes(data);
+        Path path = Files.createTempFile("digest", ".bin");
+        try {
+            Files.write(path, data);
+            assertArrayEquals(DigestUtil.sha1(data), DigestUtil.sha1Instance().digest(path));
+            Files.write(path, new byte[0]);
+            assertArrayEquals(DigestUtil.sha1(new byte[0]), DigestUtil.sha1Instance().digest(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.fmjsjx.libcommons.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class HashUtilTest {
+
+    private static final String FOX = "The quick brown fox jumps over the lazy dog";
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testXxHash64() {
+        assertEquals(0xef46db3751d8e999L, HashUtil.xxHash64(new byte[0]));
+        assertEquals(0xd24ec4f1a98c6e5bL, HashUtil.xxHash64(ascii("a")));
+        assertEquals(0x44bc2cf5ad770999L, HashUtil.xxHash64(ascii("abc")));
+        assertEquals(0x0b242d361fda71bcL, HashUtil.xxHash64(ascii(FOX)));
+        assertEquals(0xaa9f288a8baa3d3fL, HashUtil.xxHash64(ascii(FOX), 0, FOX.length(), 42));
+    }
+
+    @Test
+    public void testMurmur3_32() {
+        assertEquals(0, HashUtil.murmur3_32(new byte[0]));
+        assertEquals(0x3c2569b2, HashUtil.murmur3_32(ascii("a")));
+        assertEquals(0xb3dd93fa, HashUtil.murmur3_32(ascii("abc")));
+        assertEquals(0x2e4ff723, HashUtil.murmur3_32(ascii(FOX)));
+        assertEquals(0x347ca102, HashUtil.murmur3_32(ascii(FOX), 0, FOX.length(), 42));
+    }
+
+    @Test
+    public void testMurmur3_128() {
+        long[] out = new long[2];
+        HashUtil.murmur3_128(new byte[0], out);
+        assertArrayEquals(new long[] { 0, 0 }, out);
+        HashUtil.murmur3_128(ascii(FOX), out);
+        assertArrayEquals(new long[] { 0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L }, out);
+    }
+
+    @Test
+    public void testWyhash() {
+        String[] inputs = { "", "a", "abc", "message digest", "abcdefghijklmnopqrstuvwxyz",
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+                "12345678901234567890123456789012345678901234567890123456789012345678901234567890" };
+        long[] expected = { 0x0409638ee2bde459L, 0xa8412d091b5fe0a9L, 0x32dd92e4b2915153L, 0x8619124089a3a16bL,
+                0x7a43afb61d7f5f40L, 0xff42329b90e50d58L, 0xc39cab13b115aad3L };
+        for (int i = 0; i < inputs.length; i++) {
+            byte[] b = ascii(inputs[i]);
+            assertEquals(expected[i], HashUtil.wyhash(b, 0, b.length, i));
+        }
+    }
+
+    @Test
+    public void testInputsAreConsistent() {
+        Random random = new Random(1);
+        long[] out1 = new long[2];
+        long[] out2 = new long[2];
+        for (int n = 0; n < 200; n++) {
+            char[] chars = new char[n];
+            for (int i = 0; i < n; i++) {
+                chars[i] = (char) random.nextInt(0xd800);
+            }
+            String s = new String(chars);
+            byte[] b = s.getBytes(StandardCharsets.UTF_16LE);
+            // a direct buffer at a non-zero position
+            ByteBuffer buffer = ByteBuffer.allocateDirect(b.length + 3);
+            buffer.position(3);
+            buffer.put(b).position(3);
+            assertEquals(HashUtil.xxHash64(b), HashUtil.xxHash64(s));
+            assertEquals(HashUtil.xxHash64(b), HashUtil.xxHash64(buffer));
+            assertEquals(HashUtil.murmur3_32(b), HashUtil.murmur3_32(s));
+            assertEquals(HashUtil.murmur3_32(b), HashUtil.murmur3_32(buffer));
+            assertEquals(HashUtil.wyhash(b), HashUtil.wyhash(s));
+            assertEquals(HashUtil.wyhash(b), HashUtil.wyhash(buffer));
+            HashUtil.murmur3_128(b, out1);
+            HashUtil.murmur3_128(s, out2);
+            assertArrayEquals(out1, out2);
+            HashUtil.murmur3_128(buffer, out2);
+            assertArrayEquals(out1, out2);
+            assertEquals(3, buffer.position());
+
+            long v = random.nextLong();
+            byte[] lb = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(v).array();
+            assertEquals(HashUtil.xxHash64(lb, 0, 8, n), HashUtil.xxHash64(v, n));
+            assertEquals(HashUtil.murmur3_32(lb, 0, 8, n), HashUtil.murmur3_32(v, n));
+            assertEquals(HashUtil.wyhash(lb, 0, 8, n), HashUtil.wyhash(v, n));
+            HashUtil.murmur3_128(lb, 0, 8, n, out1);
+            HashUtil.murmur3_128(v, n, out2);
+            assertArrayEquals(out1, out2);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> HashUtil.xxHash64(new byte[4], 2, 3, 0));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.fmjsjx.libcommons.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class RandomUtilTest {
+
+    @Test
+    public void testExplicitRandomIsReproducible() {
+        Random a = new Random(2020);
+        Random b = new Random(2020);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(RandomUtil.randomInRange(a, -5, 5), RandomUtil.randomInRange(b, -5, 5));
+            assertEquals(RandomUtil.randomIndex(a, 1, 2, 3), RandomUtil.randomIndex(b, 1, 2, 3));
+            assertEquals(RandomUtil.randomLong(a), RandomUtil.randomLong(b));
+        }
+    }
+
+    @Test
+    public void testDefaultSource() throws InterruptedException {
+        AtomicInteger outOfRange = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    int v = RandomUtil.randomInRange(1, 6);
+                    if (v < 1 || v > 6) {
+                        outOfRange.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, outOfRange.get());
+        assertTrue(RandomUtil.randomOne(3, 4) >= 3);
+    }
+
+    @Test
+    public void testFillInRange() {
+        int[] values = new int[10_000];
+        RandomUtil.fillInRange(new XoshiroRandom(1), values, -3, 3);
+        int[] counts = new int[7];
+        for (int v : values) {
+            counts[v + 3]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 1_200 && count < 1_650, "count: " + count);
+        }
+        RandomUtil.fillInRange(values, 5, 5);
+        assertTrue(Arrays.stream(values).allMatch(v -> v == 5));
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.fillInRange(new int[1], 2, 1));
+    }
+
+    @Test
+    public void testSampleWithoutReplacement() {
+        Random random = new XoshiroRandom(2);
+        // both the bitmap and the hash table paths
+        for (int n : new int[] { 1, 10, 100, 10_000, 1_000_000 }) {
+            for (int k : new int[] { 0, 1, n / 2, n }) {
+                int[] values = RandomUtil.sampleWithoutReplacement(random, n, k);
+                assertEquals(k, values.length);
+                assertEquals(k, Arrays.stream(values).distinct().count());
+                assertTrue(Arrays.stream(values).allMatch(v -> v >= 0 && v < n));
+            }
+            int[] values = RandomUtil.sampleWithoutReplacement(n, Math.min(n, 7));
+            assertEquals(values.length, Arrays.stream(values).distinct().count());
+        }
+        // every pair of 2 out of 4 is equally likely
+        int[] counts = new int[16];
+        for (int i = 0; i < 60_000; i++) {
+            int[] values = RandomUtil.sampleWithoutReplacement(random, 4, 2);
+            counts[1 << values[0] | 1 << values[1]]++;
+        }
+        for (int set : new int[] { 3, 5, 6, 9, 10, 12 }) {
+            assertTrue(counts[set] > 9_400 && counts[set] < 10_600, "count: " + counts[set]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.sampleWithoutReplacement(3, 4));
+    }
+
+    @Test
+    public void testShuffle() {
+        int[] ints = new int[100];
+        long[] longs = new long[100];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i;
+            longs[i] = i;
+        }
+        RandomUtil.shuffle(new XoshiroRandom(3), ints);
+        RandomUtil.shuffle(new XoshiroRandom(3), longs);
+        // same random draws, same permutation
+        assertArrayEquals(Arrays.stream(ints).asLongStream().toArray(), longs);
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(IntStream.range(0, 100).toArray(), sorted);
+        assertNotEquals(0, IntStream.range(0, 100).filter(i -> ints[i] != i).count());
+        RandomUtil.shuffle(new int[0]);
+        RandomUtil.shuffle(new long[1]);
+    }
+
+    @Test
+    public void testRandomWeightedIndices() {
+        int[] indices = RandomUtil.randomWeightedIndices(new XoshiroRandom(4), new int[] { 1, 0, 3 }, 40_000);
+        int[] counts = new int[3];
+        for (int index : indices) {
+            counts[index]++;
+        }
+        assertEquals(0, counts[1]);
+        assertTrue(counts[0] > 9_500 && counts[0] < 10_500, "count: " + counts[0]);
+        int[] dst = new int[5];
+        RandomUtil.randomWeightedIndices(new int[] { 0, 2 }, dst);
+        assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, dst);
+        assertThrows(IllegalArgumentException.class, () -> RandomUtil.randomWeightedIndices(new int[] { 0 }, 1));
+    }
+
+}
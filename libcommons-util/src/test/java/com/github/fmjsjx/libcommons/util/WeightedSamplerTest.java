@@ -0,0 +1,98 @@
+package com.github.fmjsjx.libcommons.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class WeightedSamplerTest {
+
+    private static final class Item implements RandomUtil.Weighted {
+
+        private final String name;
+        private final int weight;
+
+        private Item(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+    }
+
+    /**
+     * A {@link Random} returning {@code 0, 1, 2, ...} modulo the bound from
+     * {@code nextInt(int)}, used to enumerate every outcome exactly once.
+     */
+    private static final class EnumeratingRandom extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        private int column = -1;
+        private int outcome;
+        private boolean columnNext = true;
+
+        @Override
+        public int nextInt(int bound) {
+            if (columnNext) {
+                columnNext = false;
+                return column;
+            }
+            columnNext = true;
+            return outcome;
+        }
+
+    }
+
+    @Test
+    public void testExactProbabilities() {
+        int[] weights = { 5, 0, 1, 13, 7, 7, 2 };
+        WeightedSampler<Integer> sampler = WeightedSampler.ofWeights(weights);
+        assertEquals(35, sampler.totalWeight());
+        int[] counts = new int[weights.length];
+        EnumeratingRandom random = new EnumeratingRandom();
+        for (int column = 0; column < weights.length; column++) {
+            for (int outcome = 0; outcome < sampler.totalWeight(); outcome++) {
+                random.column = column;
+                random.outcome = outcome;
+                counts[sampler.sampleIndex(random)]++;
+            }
+        }
+        // every index is drawn in exactly weight * n of the n * total outcomes
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] * weights.length, counts[i]);
+        }
+    }
+
+    @Test
+    public void testSample() {
+        Item common = new Item("common", 90);
+        Item rare = new Item("rare", 10);
+        Item never = new Item("never", 0);
+        WeightedSampler<Item> sampler = WeightedSampler.of(common, rare, never);
+        assertEquals(3, sampler.size());
+        List<Item> drops = sampler.sample(new Random(1), 10_000);
+        assertEquals(10_000, drops.size());
+        long rares = drops.stream().filter(item -> item == rare).count();
+        assertTrue(rares > 800 && rares < 1_200, "rare drops: " + rares);
+        assertTrue(drops.stream().noneMatch(item -> item == never));
+        assertEquals("common", WeightedSampler.of(List.of(common)).sample().name);
+
+        assertArrayEquals(WeightedSampler.ofWeights(1, 2, 3).sampleIndices(new Random(7), 100),
+                WeightedSampler.ofWeights(1, 2, 3).sampleIndices(new Random(7), 100));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.ofWeights());
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.ofWeights(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.ofWeights(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.ofWeights(Integer.MAX_VALUE, 1));
+    }
+
+}
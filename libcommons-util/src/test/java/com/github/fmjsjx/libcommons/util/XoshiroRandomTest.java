@@ -0,0 +1,108 @@
+package com.github.fmjsjx.libcommons.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class XoshiroRandomTest {
+
+    @Test
+    public void testReferenceValues() {
+        XoshiroRandom random = XoshiroRandom.fromState(new long[] { 1, 2, 3, 4 });
+        assertEquals(11520L, random.nextLong());
+        assertEquals(0L, random.nextLong());
+        assertEquals(1509978240L, random.nextLong());
+        assertEquals(1215971899390074240L, random.nextLong());
+    }
+
+    @Test
+    public void testJump() {
+        XoshiroRandom random = XoshiroRandom.fromState(new long[] { 1, 2, 3, 4 });
+        random.jump();
+        assertArrayEquals(new long[] { 0x8c7a153956b5f3d1L, 0x701f1a713401d85eL, 0x6527f66a65469085L,
+                0x8386b786c4408050L }, random.getState());
+    }
+
+    @Test
+    public void testSplit() {
+        XoshiroRandom root = new XoshiroRandom(2020);
+        long[] state = root.getState();
+        XoshiroRandom first = root.split();
+        XoshiroRandom second = root.split();
+        assertArrayEquals(state, first.getState());
+        XoshiroRandom jumped = XoshiroRandom.fromState(state);
+        jumped.jump();
+        assertArrayEquals(jumped.getState(), second.getState());
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testReplay() {
+        XoshiroRandom random = new XoshiroRandom(2020);
+        random.nextLong();
+        long[] saved = random.getState();
+        int[] rolls = new int[100];
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = RandomUtil.randomInRange(random, 1, 6);
+        }
+        random.setState(saved);
+        for (int roll : rolls) {
+            assertEquals(roll, RandomUtil.randomInRange(random, 1, 6));
+        }
+        assertEquals(new XoshiroRandom(7).nextLong(), new XoshiroRandom(7).nextLong());
+        assertThrows(IllegalArgumentException.class, () -> random.setState(new long[4]));
+        assertThrows(IllegalArgumentException.class, () -> random.setState(new long[] { 1 }));
+    }
+
+    @Test
+    public void testBounds() {
+        XoshiroRandom random = new XoshiroRandom(0);
+        int[] counts = new int[6];
+        for (int i = 0; i < 60_000; i++) {
+            counts[random.nextInt(6)]++;
+            double d = random.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+            float f = random.nextFloat();
+            assertTrue(f >= 0 && f < 1);
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, "count: " + count);
+        }
+        assertTrue(random.nextInt(Integer.MAX_VALUE) >= 0);
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    public void testGaussianReplay() {
+        XoshiroRandom random = new XoshiroRandom(2020);
+        random.nextGaussian();
+        XoshiroRandom copy = random.copy();
+        long[] saved = random.getState();
+        double[] values = new double[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            assertEquals(values[i], copy.nextGaussian());
+        }
+        random.setState(saved);
+        for (double value : values) {
+            assertEquals(value, random.nextGaussian());
+        }
+        // reseeding forgets everything drawn before
+        random.setSeed(7);
+        assertEquals(new XoshiroRandom(7).nextGaussian(), random.nextGaussian());
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double g = random.nextGaussian();
+            sum += g;
+            sumOfSquares += g * g;
+        }
+        assertTrue(Math.abs(sum / 100_000) < 0.02);
+        assertTrue(Math.abs(sumOfSquares / 100_000 - 1) < 0.02);
+    }
+
+}